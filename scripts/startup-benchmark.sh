@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+#
+# Measures the startup of the packaged application, as reported in the README "Startup comparison".
+#
+# usage: scripts/startup-benchmark.sh <jvm|aot|appcds|aot-appcds> [runs]
+#
+# Builds the jar for the mode, then starts it <runs> times (default 3) on port 18080 against the database of
+# application.yaml and reports, per run:
+#   started   - "Started UserManagementApplication in" of the Spring Boot log (context refreshed)
+#   jvm       - "process running for" of the same line (includes JVM startup)
+#   ready     - seconds from launch until /actuator/health/readiness answers 200, i.e. after the warm-up
+#   rss       - resident set size in MB, sampled once readiness is UP
+set -euo pipefail
+
+mode=${1:?usage: $0 <jvm|aot|appcds|aot-appcds> [runs]}
+runs=${2:-3}
+port=18080
+cd "$(dirname "$0")/.."
+
+case "$mode" in
+  jvm)        profiles="";           jvm_args=() ;;
+  aot)        profiles="-Paot";      jvm_args=(-Dspring.aot.enabled=true) ;;
+  appcds)     profiles="-Pappcds";   jvm_args=(-XX:SharedArchiveFile=application.jsa) ;;
+  aot-appcds) profiles="-Paot,appcds"; jvm_args=(-Dspring.aot.enabled=true -XX:SharedArchiveFile=application.jsa) ;;
+  *) echo "unknown mode: $mode" >&2; exit 2 ;;
+esac
+
+mvn -B -q -DskipTests $profiles clean package > /dev/null
+if [[ "$mode" == *appcds ]]; then
+  workdir=target/application
+else
+  workdir=target
+fi
+jar=$(cd "$workdir" && ls user-management-*.jar | head -1)
+
+echo "mode=$mode java=$(java -version 2>&1 | head -1) cpus=$(nproc)"
+printf '%-4s %8s %8s %8s %8s\n' run started jvm ready rss
+for run in $(seq 1 "$runs"); do
+  log=$(mktemp)
+  start=$(date +%s%N)
+  (cd "$workdir" && exec java "${jvm_args[@]}" -jar "$jar" --server.port=$port) > "$log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "http://localhost:$port/actuator/health/readiness"; do
+    kill -0 "$pid" 2> /dev/null || { tail -20 "$log"; exit 1; }
+    sleep 0.1
+  done
+  ready=$(( ($(date +%s%N) - start) / 1000000 ))
+  rss=$(( $(awk '/VmRSS/ {print $2}' "/proc/$pid/status") / 1024 ))
+  line=$(grep -m1 "Started UserManagementApplication" "$log")
+  started=$(sed -E 's/.* in ([0-9.]+) seconds.*/\1/' <<< "$line")
+  jvm=$(sed -E 's/.*process running for ([0-9.]+)\).*/\1/' <<< "$line")
+  printf '%-4s %8s %8s %8s %8s\n' "$run" "$started" "$jvm" "$((ready / 1000)).$(( ready % 1000 / 100 ))" "$rss"
+  kill "$pid"; wait "$pid" 2> /dev/null || true
+  rm -f "$log"
+done
@@ -2,6 +2,7 @@ package com.subash.user.management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Entry point for the User Management Spring Boot application.
@@ -10,9 +11,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * This application provides RESTful APIs for user registration, retrieval,
  * and deletion, with built-in security and logging.
  * </p>
+ * <p>
+ * Scheduling is enabled for the background jobs such as the outbox relay.
+ * </p>
  *
  */
 @SpringBootApplication
+@EnableScheduling
 public class UserManagementApplication {
 
 	/**
@@ -0,0 +1,102 @@
+package com.subash.user.management.config;
+
+import com.subash.user.management.util.BodyLogPolicy;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Actuator endpoint {@code /actuator/bodylogging} to inspect and change the {@link BodyLogPolicy} at runtime.
+ * <ul>
+ *     <li>{@code GET} returns the current settings</li>
+ *     <li>{@code POST} with any of the settings as JSON fields changes them; {@code redactFields} is a
+ *     comma-separated list</li>
+ *     <li>{@code POST /{operationId}} with {@code {"rate": 0.1}} sets the sampling rate of one operation</li>
+ *     <li>{@code DELETE /{operationId}} makes the operation use the default rate again</li>
+ * </ul>
+ * Changes are not persisted; a restart goes back to the {@code print.log.*} properties.
+ */
+@Component
+@Endpoint(id = "bodylogging")
+public class BodyLoggingEndpoint {
+
+    private final BodyLogPolicy policy;
+
+    /**
+     * Constructs the endpoint.
+     *
+     * @param policy the policy exposed by this endpoint
+     */
+    public BodyLoggingEndpoint(BodyLogPolicy policy) {
+        this.policy = policy;
+    }
+
+    @ReadOperation
+    public Settings settings() {
+        return new Settings(policy.isRequestEnabled(), policy.isResponseEnabled(), policy.getDefaultSampleRate(),
+                policy.getSampleRates(), policy.getBudgetBytesPerSecond(), policy.getSlowThreshold().toMillis(),
+                policy.getRedactedFields());
+    }
+
+    @WriteOperation
+    public Settings configure(@Nullable Boolean request, @Nullable Boolean response, @Nullable Double defaultRate,
+                              @Nullable Long budgetBytesPerSecond, @Nullable Long slowThresholdMs,
+                              @Nullable String redactFields) {
+        try {
+            if (defaultRate != null) {
+                policy.setDefaultSampleRate(defaultRate);
+            }
+            if (budgetBytesPerSecond != null) {
+                policy.setBudgetBytesPerSecond(budgetBytesPerSecond);
+            }
+            if (slowThresholdMs != null) {
+                policy.setSlowThreshold(Duration.ofMillis(slowThresholdMs));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        if (request != null) {
+            policy.setRequestEnabled(request);
+        }
+        if (response != null) {
+            policy.setResponseEnabled(response);
+        }
+        if (redactFields != null) {
+            policy.setRedactedFields(StringUtils.commaDelimitedListToSet(redactFields.replace(" ", "")));
+        }
+        return settings();
+    }
+
+    @WriteOperation
+    public Settings sampleRate(@Selector String operationId, double rate) {
+        try {
+            policy.setSampleRate(operationId, rate);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return settings();
+    }
+
+    @DeleteOperation
+    public Settings removeSampleRate(@Selector String operationId) {
+        policy.removeSampleRate(operationId);
+        return settings();
+    }
+
+    /**
+     * Current body logging settings.
+     */
+    public record Settings(boolean request, boolean response, double defaultRate, Map<String, Double> rates,
+                           long budgetBytesPerSecond, long slowThresholdMs, Set<String> redactFields) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.subash.user.management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link HealthIndicator} answering with the latest result of a delegate that is checked in the background.
+ * <p>
+ * Health requests return at once, however often probes and monitoring call, and never wait for the database
+ * or the disk. {@link #refresh()} runs the delegate, scheduled by {@link HealthConfig}. A result older than the
+ * maximum staleness is reported as DOWN, so a check that hangs is not hidden behind its last success.
+ * <p>
+ * Metrics: {@code health.check} timer of the checks, tagged with the indicator and the resulting status.
+ */
+public final class CachedHealthIndicator implements HealthIndicator {
+
+    private static final Logger logger = LogManager.getLogger(CachedHealthIndicator.class);
+
+    private final String name;
+    private final HealthIndicator delegate;
+    private final long maxStalenessNanos;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoTime;
+
+    private volatile Health latest = Health.unknown().withDetail("reason", "Not checked yet").build();
+    private volatile long checkedAt;
+    private volatile boolean checked;
+
+    /**
+     * Constructs the indicator.
+     *
+     * @param name          name of the indicator, used as metric tag
+     * @param delegate      indicator doing the actual check
+     * @param maxStaleness  age after which the latest result is no longer trusted
+     * @param meterRegistry registry for the metrics
+     */
+    public CachedHealthIndicator(String name, HealthIndicator delegate, Duration maxStaleness,
+                                 MeterRegistry meterRegistry) {
+        this(name, delegate, maxStaleness, meterRegistry, System::nanoTime);
+    }
+
+    CachedHealthIndicator(String name, HealthIndicator delegate, Duration maxStaleness, MeterRegistry meterRegistry,
+                          LongSupplier nanoTime) {
+        this.name = name;
+        this.delegate = delegate;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.meterRegistry = meterRegistry;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Returns the latest result of the delegate.
+     *
+     * @return the latest result, DOWN if it is older than the maximum staleness, UNKNOWN before the first check
+     */
+    @Override
+    public Health health() {
+        Health health = latest;
+        if (checked) {
+            long age = nanoTime.getAsLong() - checkedAt;
+            if (age > maxStalenessNanos) {
+                return Health.down()
+                        .withDetail("reason", "Last check is stale")
+                        .withDetail("ageMillis", TimeUnit.NANOSECONDS.toMillis(age))
+                        .withDetail("lastStatus", health.getStatus().getCode())
+                        .build();
+            }
+        }
+        return health;
+    }
+
+    /**
+     * Runs the delegate and keeps its result. A failing delegate is recorded as DOWN.
+     */
+    public void refresh() {
+        long start = nanoTime.getAsLong();
+        Health health;
+        try {
+            health = delegate.health();
+        } catch (RuntimeException e) {
+            health = Health.down(e).build();
+        }
+        long end = nanoTime.getAsLong();
+        if (!Status.UP.equals(health.getStatus()) && Status.UP.equals(latest.getStatus())) {
+            logger.warn("Health check {} changed to {}", name, health.getStatus());
+        }
+        latest = health;
+        checkedAt = end;
+        checked = true;
+        Timer.builder("health.check")
+                .description("Background health checks")
+                .tag("indicator", name)
+                .tag("status", health.getStatus().getCode())
+                .register(meterRegistry)
+                .record(end - start, TimeUnit.NANOSECONDS);
+    }
+}
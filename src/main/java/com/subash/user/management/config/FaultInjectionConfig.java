@@ -0,0 +1,66 @@
+package com.subash.user.management.config;
+
+import com.subash.user.management.repository.FaultInjectingDataSource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Wraps the application data source in a {@link FaultInjectingDataSource}, with the {@code fault-injection}
+ * profile only.
+ * <p>
+ * The faults are read from the {@code fault-injection} properties, see {@code application-fault-injection.yaml},
+ * and take effect once the context has started, so the Flyway migrations run against the plain database while
+ * the warm-up and all requests see the faults. Never activate this profile in production.
+ */
+@Configuration
+@Profile("fault-injection")
+public class FaultInjectionConfig {
+
+    private static final Logger logger = LogManager.getLogger(FaultInjectionConfig.class);
+
+    /**
+     * Wraps every data source bean, injecting no faults until the context has started.
+     *
+     * @return the post processor
+     */
+    @Bean
+    public static BeanPostProcessor faultInjectingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof FaultInjectingDataSource)) {
+                    return new FaultInjectingDataSource(dataSource, FaultInjectingDataSource.Settings.NONE);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Starts injecting the configured faults.
+     *
+     * @param event the started event, giving access to the data source and the environment
+     * @throws SQLException if the data source is not a {@link FaultInjectingDataSource}
+     */
+    @EventListener
+    public void onStarted(ApplicationStartedEvent event) throws SQLException {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        FaultInjectingDataSource.Settings settings = Binder.get(environment)
+                .bind("fault-injection", FaultInjectingDataSource.Settings.class)
+                .orElse(FaultInjectingDataSource.Settings.NONE);
+        event.getApplicationContext().getBean(DataSource.class).unwrap(FaultInjectingDataSource.class)
+                .setSettings(settings);
+        logger.warn("Injecting database faults: {}", settings);
+    }
+}
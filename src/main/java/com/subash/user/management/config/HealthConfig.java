@@ -0,0 +1,112 @@
+package com.subash.user.management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.boot.actuate.system.DiskSpaceHealthIndicator;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Health indicators for the database and the disk, checked in the background, and the metrics of the health
+ * probes.
+ * <p>
+ * Replace the {@code db} and {@code diskSpace} indicators of Spring Boot, which are disabled in
+ * {@code application.yaml}, with {@link CachedHealthIndicator}s refreshed every
+ * {@code health-cache.refresh-interval}. Each indicator is refreshed on its own thread, so a hanging database
+ * check does not hold back the disk check. The executor is not a bean, so it is not picked up for
+ * {@code @Scheduled} tasks.
+ */
+@Configuration
+public class HealthConfig {
+
+    private final ScheduledExecutorService refresher = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "health-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Duration refreshInterval;
+    private final Duration maxStaleness;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs the configuration.
+     *
+     * @param refreshInterval delay between the end of a check and the start of the next one
+     * @param maxStaleness    age after which a result is reported as DOWN
+     * @param meterRegistry   registry for the metrics
+     */
+    public HealthConfig(@Value("${health-cache.refresh-interval:10s}") Duration refreshInterval,
+                        @Value("${health-cache.max-staleness:60s}") Duration maxStaleness,
+                        MeterRegistry meterRegistry) {
+        this.refreshInterval = refreshInterval;
+        this.maxStaleness = maxStaleness;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Creates the cached database indicator, reported as {@code db}.
+     *
+     * @param dataSource the application data source
+     * @return the indicator
+     */
+    @Bean
+    public CachedHealthIndicator dbHealthIndicator(DataSource dataSource) {
+        return scheduled(new CachedHealthIndicator("db", new DataSourceHealthIndicator(dataSource), maxStaleness,
+                meterRegistry));
+    }
+
+    /**
+     * Creates the cached disk space indicator, reported as {@code diskSpace}.
+     *
+     * @param path      directory whose file system is checked
+     * @param threshold free space below which the disk is reported as DOWN
+     * @return the indicator
+     */
+    @Bean
+    public CachedHealthIndicator diskSpaceHealthIndicator(
+            @Value("${health-cache.disk-space.path:.}") File path,
+            @Value("${health-cache.disk-space.threshold:10MB}") DataSize threshold) {
+        return scheduled(new CachedHealthIndicator("diskSpace", new DiskSpaceHealthIndicator(path, threshold),
+                maxStaleness, meterRegistry));
+    }
+
+    /**
+     * Registers the filter recording the latency of health probes, right after the request id filter.
+     *
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<HealthProbeMetricsFilter> healthProbeMetricsFilter() {
+        FilterRegistrationBean<HealthProbeMetricsFilter> registration =
+                new FilterRegistrationBean<>(new HealthProbeMetricsFilter(meterRegistry));
+        registration.addUrlPatterns(HealthProbeMetricsFilter.HEALTH_PATH, HealthProbeMetricsFilter.HEALTH_PATH + "/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    private CachedHealthIndicator scheduled(CachedHealthIndicator indicator) {
+        refresher.scheduleWithFixedDelay(indicator::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        return indicator;
+    }
+
+    /**
+     * Stops the background checks.
+     */
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+}
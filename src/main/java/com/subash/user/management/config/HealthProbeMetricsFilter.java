@@ -0,0 +1,72 @@
+package com.subash.user.management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency of health requests per probe, including the security filters in front of them.
+ * <p>
+ * {@code http.server.requests} reports liveness and readiness probes together under {@code /actuator/health/**}.
+ * This filter records them as {@code health.probe} with a {@code group} tag of {@code liveness},
+ * {@code readiness}, {@code all} for the full health, or {@code other}, and the response status.
+ * Registered by {@link HealthConfig} right after the {@link RequestIdFilter}.
+ */
+public class HealthProbeMetricsFilter extends OncePerRequestFilter {
+
+    static final String HEALTH_PATH = "/actuator/health";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param meterRegistry registry for the probe timers
+     */
+    public HealthProbeMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(HEALTH_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Timer.builder("health.probe")
+                    .description("Health requests, by probe")
+                    .tag("group", group(request.getRequestURI()))
+                    .tag("status", Integer.toString(response.getStatus()))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Maps a health request path to the probe group, keeping the tag values bounded.
+     *
+     * @param uri request path starting with {@code /actuator/health}
+     * @return {@code all}, {@code liveness}, {@code readiness} or {@code other}
+     */
+    static String group(String uri) {
+        return switch (uri.substring(HEALTH_PATH.length())) {
+            case "", "/" -> "all";
+            case "/liveness" -> "liveness";
+            case "/readiness" -> "readiness";
+            default -> "other";
+        };
+    }
+}
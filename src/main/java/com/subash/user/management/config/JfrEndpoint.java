@@ -0,0 +1,175 @@
+package com.subash.user.management.config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/jfr} to record the application with Java Flight Recorder.
+ * <ul>
+ *     <li>{@code GET} lists the recordings of the JVM</li>
+ *     <li>{@code POST} with optional {@code name}, {@code durationSeconds} and {@code settings}
+ *     ({@code default} or {@code profile}) starts a recording</li>
+ *     <li>{@code GET /{id}} dumps what a recording has collected so far as a {@code .jfr} file</li>
+ *     <li>{@code DELETE /{id}} stops and discards a recording</li>
+ * </ul>
+ * Recordings include the request phase events of the {@code jfr} package. They are kept on disk up to
+ * {@code jfr.max-size} and stop by themselves after their duration, at most {@code jfr.max-duration}.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    /**
+     * Constructs the endpoint.
+     *
+     * @param defaultDuration duration of a recording started without one
+     * @param maxDuration     longest duration a recording can be started with
+     * @param maxSize         disk space after which the oldest data of a recording is dropped
+     */
+    public JfrEndpoint(@Value("${jfr.default-duration:60s}") Duration defaultDuration,
+                       @Value("${jfr.max-duration:30m}") Duration maxDuration,
+                       @Value("${jfr.max-size:100MB}") DataSize maxSize) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream().map(RecordingInfo::of).toList();
+    }
+
+    @WriteOperation
+    public RecordingInfo start(@Nullable String name, @Nullable Long durationSeconds, @Nullable String settings) {
+        Duration duration = durationSeconds != null ? Duration.ofSeconds(durationSeconds) : defaultDuration;
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            String message = "durationSeconds must be between 1 and " + maxDuration.toSeconds();
+            throw new InvalidEndpointRequestException(message, message);
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : "default");
+        } catch (IOException | ParseException e) {
+            String message = "settings must be default or profile";
+            throw new InvalidEndpointRequestException(message, message);
+        }
+        Recording recording = new Recording(configuration);
+        recording.setName(name != null ? name : "user-management");
+        recording.setDuration(duration);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setToDisk(true);
+        recording.start();
+        return RecordingInfo.of(recording);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource dump(@Selector long id) throws IOException {
+        Recording recording = find(id);
+        if (recording == null) {
+            return null;
+        }
+        Path file = Files.createTempFile("recording-" + id + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new TemporaryFileResource(file);
+    }
+
+    @DeleteOperation
+    public RecordingInfo close(@Selector long id) {
+        Recording recording = find(id);
+        if (recording == null) {
+            return null;
+        }
+        recording.close();
+        return RecordingInfo.of(recording);
+    }
+
+    private static Recording find(long id) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> recording.getId() == id)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * State of a recording.
+     */
+    public record RecordingInfo(long id, String name, String state, Instant startTime, Long durationSeconds,
+                                long size) {
+
+        static RecordingInfo of(Recording recording) {
+            Duration duration = recording.getDuration();
+            return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                    recording.getStartTime(), duration != null ? duration.toSeconds() : null, recording.getSize());
+        }
+    }
+
+    /**
+     * Dumped recording, deleted once it has been sent. Not reported as a file, so it is streamed and closed.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        delete();
+                    }
+                }
+            };
+        }
+
+        private void delete() {
+            try {
+                Files.deleteIfExists(getFile().toPath());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
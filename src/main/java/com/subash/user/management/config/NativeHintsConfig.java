@@ -0,0 +1,92 @@
+package com.subash.user.management.config;
+
+import com.subash.user.management.jfr.BodyLogEvent;
+import com.subash.user.management.jfr.MappingEvent;
+import com.subash.user.management.jfr.PasswordHashEvent;
+import com.subash.user.management.jfr.RepositoryCallEvent;
+import com.subash.user.management.jfr.RequestPhaseEvent;
+import com.subash.user.management.jfr.UserDetailsLoadEvent;
+import com.subash.user.management.model.AllUserResponse;
+import com.subash.user.management.model.Role;
+import com.subash.user.management.model.User;
+import com.subash.user.management.model.UserChange;
+import com.subash.user.management.model.UserChangeFeedResponse;
+import com.subash.user.management.model.UserImportResponse;
+import com.subash.user.management.model.UserResponse;
+import com.subash.user.management.model.UserView;
+import jdk.jfr.Event;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Registers the runtime hints needed when the application is compiled to a GraalVM native image.
+ *
+ * <p>Most of the reflection is discovered by Spring AOT on its own. The types registered here are
+ * the ones reached reflectively outside of Spring's view:</p>
+ * <ul>
+ *     <li>{@link User} - the JPA entity, instantiated and populated by Hibernate</li>
+ *     <li>The generated OpenAPI models - bound by Jackson data binding: request bodies, the change feed and
+ *     import responses logged by {@code GenericLogger}, and the responses replayed by
+ *     {@code IdempotencyService}. The user models written by {@code UserModelJsonWriter} need no reflection
+ *     for writing.</li>
+ *     <li>The records serialized by Jackson outside of Spring MVC - the warm-up report of {@code /actuator/info}
+ *     and the bodies of the {@code jfr}, {@code querystats} and {@code bodylogging} endpoints</li>
+ *     <li>The Java Flight Recorder events, which JFR instruments and reads by reflection; recording also needs
+ *     {@code --enable-monitoring=jfr}, set by the {@code native} profile</li>
+ *     <li>{@code UserMapperImpl} - instantiated through {@code Mappers.getMapper(UserMapper.class)}</li>
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.UserManagementRuntimeHints.class)
+@RegisterReflectionForBinding({UserView.class, UserResponse.class, AllUserResponse.class, ResponseEntity.class,
+        UserChangeFeedResponse.class, UserChange.class, UserImportResponse.class,
+        WarmUpRunner.Report.class, WarmUpRunner.Step.class, JfrEndpoint.RecordingInfo.class,
+        QueryStatisticsEndpoint.Report.class, QueryStatisticsEndpoint.Hibernate.class,
+        SqlStatementStatistics.EndpointSummary.class, SqlStatementStatistics.StatementSummary.class,
+        BodyLoggingEndpoint.Settings.class})
+public class NativeHintsConfig {
+
+    /**
+     * MapStruct generated implementation, looked up by name from {@code Mappers.getMapper}.
+     */
+    static final String USER_MAPPER_IMPL = "com.subash.user.management.mapper.UserMapperImpl";
+
+    /**
+     * Flight Recorder events committed by the request path.
+     */
+    static final List<Class<? extends Event>> JFR_EVENTS = List.of(RequestPhaseEvent.class,
+            UserDetailsLoadEvent.class, PasswordHashEvent.class, RepositoryCallEvent.class, MappingEvent.class,
+            BodyLogEvent.class);
+
+    /**
+     * {@link RuntimeHintsRegistrar} for the entity, the Flight Recorder events and the MapStruct implementation.
+     */
+    static class UserManagementRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(User.class,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+            hints.reflection().registerType(Role.class, MemberCategory.DECLARED_FIELDS);
+            for (Class<? extends Event> event : JFR_EVENTS) {
+                hints.reflection().registerType(event,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+            hints.reflection().registerType(TypeReference.of(USER_MAPPER_IMPL),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.subash.user.management.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint {@code /actuator/querystats} reporting the SQL issued by the application.
+ * <ul>
+ *     <li>{@code GET} returns the Hibernate statistics of all sessions, including background jobs, the
+ *     statements per endpoint and the statements with the highest total execution time</li>
+ *     <li>{@code DELETE} starts over</li>
+ * </ul>
+ * The per endpoint and per statement totals come from {@link SqlStatementStatistics}.
+ */
+@Component
+@Endpoint(id = "querystats")
+public class QueryStatisticsEndpoint {
+
+    private static final int SLOWEST_STATEMENTS = 20;
+
+    private final Statistics hibernateStatistics;
+    private final SqlStatementStatistics statementStatistics;
+
+    /**
+     * Constructs the endpoint.
+     *
+     * @param entityManagerFactory factory whose Hibernate statistics are reported
+     * @param statementStatistics  statements per endpoint and per statement text
+     */
+    public QueryStatisticsEndpoint(EntityManagerFactory entityManagerFactory,
+                                   SqlStatementStatistics statementStatistics) {
+        this.hibernateStatistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statementStatistics = statementStatistics;
+    }
+
+    @ReadOperation
+    public Report report() {
+        Statistics stats = hibernateStatistics;
+        Hibernate hibernate = new Hibernate(Instant.ofEpochMilli(stats.getStartTime()),
+                stats.getPrepareStatementCount(), stats.getQueryExecutionCount(), stats.getQueryExecutionMaxTime(),
+                stats.getQueryExecutionMaxTimeQueryString(), stats.getEntityLoadCount(),
+                stats.getEntityFetchCount(), stats.getCollectionFetchCount(), stats.getSecondLevelCacheHitCount(),
+                stats.getSecondLevelCacheMissCount(), stats.getTransactionCount());
+        return new Report(hibernate, statementStatistics.endpoints(),
+                statementStatistics.slowestStatements(SLOWEST_STATEMENTS), statementStatistics.untrackedStatements());
+    }
+
+    @DeleteOperation
+    public Report reset() {
+        hibernateStatistics.clear();
+        statementStatistics.reset();
+        return report();
+    }
+
+    /**
+     * Query statistics of the application.
+     */
+    public record Report(Hibernate hibernate, Map<String, SqlStatementStatistics.EndpointSummary> endpoints,
+                         List<SqlStatementStatistics.StatementSummary> slowestStatements,
+                         long untrackedStatements) {
+    }
+
+    /**
+     * Hibernate statistics since {@code since}.
+     */
+    public record Hibernate(Instant since, long preparedStatements, long queryExecutions, long queryMaxTimeMs,
+                            String slowestQuery, long entityLoads, long entityFetches, long collectionFetches,
+                            long secondLevelCacheHits, long secondLevelCacheMisses, long transactions) {
+    }
+}
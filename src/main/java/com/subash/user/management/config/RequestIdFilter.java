@@ -0,0 +1,80 @@
+package com.subash.user.management.config;
+
+import com.subash.user.management.util.RequestIdGenerator;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.subash.user.management.util.Constants.OPERATION_ID_KEY;
+import static com.subash.user.management.util.Constants.REQUEST_ID_KEY;
+
+/**
+ * Assigns every request its id before any other filter runs, including Spring Security.
+ * <p>
+ * An id sent by the caller in the {@code request-id.header} header is reused. Otherwise the trace id of
+ * a W3C {@code traceparent} header is used, so the logs line up with the caller's trace. If neither is
+ * present or valid, a new id is generated with {@link RequestIdGenerator}. The id is put in the logging
+ * context under {@code requestId} for the duration of the request and returned in the same response header.
+ * The {@code operationId} put in the logging context by {@code GenericLogger} is removed with it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    static final String TRACEPARENT_HEADER = "traceparent";
+
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._:-]{1,128}");
+    private static final Pattern TRACEPARENT = Pattern.compile("[0-9a-f]{2}-([0-9a-f]{32})-[0-9a-f]{16}-[0-9a-f]{2}");
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+
+    private final String header;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param header name of the header carrying the request id in both directions
+     */
+    public RequestIdFilter(@Value("${request-id.header:X-Request-ID}") String header) {
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = resolveRequestId(request);
+        ThreadContext.put(REQUEST_ID_KEY, requestId);
+        response.setHeader(header, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ThreadContext.remove(REQUEST_ID_KEY);
+            ThreadContext.remove(OPERATION_ID_KEY);
+        }
+    }
+
+    private String resolveRequestId(HttpServletRequest request) {
+        String inbound = request.getHeader(header);
+        if (inbound != null && VALID_REQUEST_ID.matcher(inbound).matches()) {
+            return inbound;
+        }
+        String traceparent = request.getHeader(TRACEPARENT_HEADER);
+        if (traceparent != null) {
+            Matcher matcher = TRACEPARENT.matcher(traceparent);
+            if (matcher.matches() && !INVALID_TRACE_ID.equals(matcher.group(1))) {
+                return matcher.group(1);
+            }
+        }
+        return RequestIdGenerator.next();
+    }
+}
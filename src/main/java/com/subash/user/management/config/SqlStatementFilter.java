@@ -0,0 +1,64 @@
+package com.subash.user.management.config;
+
+import com.subash.user.management.repository.SqlStatementCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements of each request, including the ones issued by the security filters, and hands them
+ * to {@link SqlStatementStatistics}.
+ * <p>
+ * The statements are also left in the request attribute {@link #STATEMENTS_ATTRIBUTE}, so tests can assert
+ * how many statements an endpoint issues. Registered by {@link SqlStatisticsConfig} right after the
+ * {@link RequestIdFilter}, so warnings carry the request id.
+ */
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute holding the {@link SqlStatementCounter.Scope} of the request once it is processed.
+     */
+    public static final String STATEMENTS_ATTRIBUTE = SqlStatementFilter.class.getName() + ".statements";
+
+    private final SqlStatementStatistics statistics;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param statistics aggregate of the statements per endpoint
+     */
+    public SqlStatementFilter(SqlStatementStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.Scope scope = SqlStatementCounter.end();
+            if (scope != null) {
+                request.setAttribute(STATEMENTS_ATTRIBUTE, scope);
+                statistics.record(endpoint(request), scope);
+            }
+        }
+    }
+
+    /**
+     * Names the endpoint of a request after its path pattern, keeping the metric tags bounded.
+     *
+     * @param request the processed request
+     * @return HTTP method and path pattern, or {@code UNMAPPED} for requests no handler matched
+     */
+    static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+    }
+}
@@ -0,0 +1,233 @@
+package com.subash.user.management.config;
+
+import com.subash.user.management.repository.SqlStatementCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the SQL statements of each request, counted by {@link SqlStatementCounter}, and flags the ones
+ * worth a look.
+ * <ul>
+ *     <li>a request issuing more than {@code sql-statements.request-budget} statements is logged with its
+ *     statements</li>
+ *     <li>a statement issued at least {@code sql-statements.repeat-threshold} times in one request is logged as
+ *     a suspected N+1 query</li>
+ *     <li>a statement taking longer than {@code sql-statements.slow-threshold} is logged with its duration</li>
+ * </ul>
+ * Totals are kept per endpoint and per statement text, up to {@code sql-statements.max-tracked} distinct
+ * statements, and exposed by {@link QueryStatisticsEndpoint}.
+ * <p>
+ * Metrics: {@code sql.request.statements} summary per endpoint, {@code sql.statements.slow},
+ * {@code sql.requests.over_budget} and {@code sql.requests.repeated_statement} counters.
+ */
+@Component
+public class SqlStatementStatistics {
+
+    private static final Logger logger = LogManager.getLogger(SqlStatementStatistics.class);
+
+    private final int requestBudget;
+    private final int repeatThreshold;
+    private final long slowThresholdNanos;
+    private final int maxTracked;
+    private final MeterRegistry meterRegistry;
+    private final Counter slowStatements;
+    private final Counter overBudgetRequests;
+    private final Counter repeatedStatementRequests;
+
+    private final Map<String, EndpointTotals> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, StatementTotals> statements = new ConcurrentHashMap<>();
+    private final LongAdder untrackedStatements = new LongAdder();
+
+    /**
+     * Constructs the statistics.
+     *
+     * @param requestBudget   statements a request may issue before it is flagged
+     * @param repeatThreshold executions of the same statement in one request flagged as N+1
+     * @param slowThreshold   execution time above which a statement is flagged
+     * @param maxTracked      distinct statements kept in the totals
+     * @param meterRegistry   registry for the metrics
+     */
+    public SqlStatementStatistics(@Value("${sql-statements.request-budget:10}") int requestBudget,
+                                  @Value("${sql-statements.repeat-threshold:3}") int repeatThreshold,
+                                  @Value("${sql-statements.slow-threshold:200ms}") Duration slowThreshold,
+                                  @Value("${sql-statements.max-tracked:500}") int maxTracked,
+                                  MeterRegistry meterRegistry) {
+        this.requestBudget = requestBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxTracked = maxTracked;
+        this.meterRegistry = meterRegistry;
+        this.slowStatements = meterRegistry.counter("sql.statements.slow");
+        this.overBudgetRequests = meterRegistry.counter("sql.requests.over_budget");
+        this.repeatedStatementRequests = meterRegistry.counter("sql.requests.repeated_statement");
+    }
+
+    /**
+     * Adds the statements of a finished request.
+     *
+     * @param endpoint HTTP method and path pattern of the request
+     * @param scope    the statements of the request
+     */
+    public void record(String endpoint, SqlStatementCounter.Scope scope) {
+        int count = scope.getCount();
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointTotals()).add(count, scope.getTotalNanos());
+        DistributionSummary.builder("sql.request.statements")
+                .description("SQL statements issued per request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(count);
+        if (count == 0) {
+            return;
+        }
+
+        Map<String, Integer> repeats = new HashMap<>();
+        for (SqlStatementCounter.Statement statement : scope.getStatements()) {
+            repeats.merge(statement.sql(), 1, Integer::sum);
+            StatementTotals totals = statements.get(statement.sql());
+            if (totals == null && statements.size() < maxTracked) {
+                totals = statements.computeIfAbsent(statement.sql(), key -> new StatementTotals());
+            }
+            if (totals != null) {
+                totals.add(statement.nanos());
+            } else {
+                untrackedStatements.increment();
+            }
+            if (statement.nanos() > slowThresholdNanos) {
+                slowStatements.increment();
+                logger.warn("Slow SQL statement in {} took {} ms: {}", endpoint,
+                        TimeUnit.NANOSECONDS.toMillis(statement.nanos()), statement.sql());
+            }
+        }
+
+        if (count > requestBudget) {
+            overBudgetRequests.increment();
+            endpoints.get(endpoint).overBudget.increment();
+            logger.warn("Request {} issued {} SQL statements, budget is {}: {}", endpoint, count, requestBudget,
+                    repeats);
+        }
+        boolean repeated = false;
+        for (Map.Entry<String, Integer> entry : repeats.entrySet()) {
+            if (entry.getValue() >= repeatThreshold) {
+                repeated = true;
+                logger.warn("Possible N+1 query in {}, statement issued {} times: {}", endpoint, entry.getValue(),
+                        entry.getKey());
+            }
+        }
+        if (repeated) {
+            repeatedStatementRequests.increment();
+        }
+    }
+
+    /**
+     * Returns the totals per endpoint.
+     *
+     * @return totals keyed by HTTP method and path pattern
+     */
+    public Map<String, EndpointSummary> endpoints() {
+        Map<String, EndpointSummary> summaries = new HashMap<>();
+        endpoints.forEach((endpoint, totals) -> summaries.put(endpoint, totals.summary()));
+        return summaries;
+    }
+
+    /**
+     * Returns the statements with the highest total execution time.
+     *
+     * @param limit number of statements to return
+     * @return the statements, slowest total first
+     */
+    public List<StatementSummary> slowestStatements(int limit) {
+        return statements.entrySet().stream()
+                .map(entry -> entry.getValue().summary(entry.getKey()))
+                .sorted(Comparator.comparingDouble(StatementSummary::totalMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * @return statements not added to the per statement totals because {@code max-tracked} was reached
+     */
+    public long untrackedStatements() {
+        return untrackedStatements.sum();
+    }
+
+    /**
+     * Drops all totals.
+     */
+    public void reset() {
+        endpoints.clear();
+        statements.clear();
+        untrackedStatements.reset();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Totals of one endpoint.
+     */
+    public record EndpointSummary(long requests, long statements, long maxStatements, long overBudget,
+                                  double totalMillis) {
+    }
+
+    /**
+     * Totals of one statement text. Executions without a measured time only add to the count.
+     */
+    public record StatementSummary(String sql, long count, double totalMillis, double maxMillis) {
+    }
+
+    private static final class EndpointTotals {
+
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final AtomicLong maxStatements = new AtomicLong();
+        final LongAdder overBudget = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        void add(int count, long totalNanos) {
+            requests.increment();
+            statements.add(count);
+            maxStatements.accumulateAndGet(count, Math::max);
+            nanos.add(totalNanos);
+        }
+
+        EndpointSummary summary() {
+            return new EndpointSummary(requests.sum(), statements.sum(), maxStatements.get(), overBudget.sum(),
+                    millis(nanos.sum()));
+        }
+    }
+
+    private static final class StatementTotals {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long executionNanos) {
+            count.increment();
+            if (executionNanos >= 0) {
+                nanos.add(executionNanos);
+                maxNanos.accumulateAndGet(executionNanos, Math::max);
+            }
+        }
+
+        StatementSummary summary(String sql) {
+            return new StatementSummary(sql, count.sum(), millis(nanos.sum()), millis(maxNanos.get()));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.subash.user.management.config;
+
+import com.subash.user.management.repository.SqlStatementInspector;
+import com.subash.user.management.repository.SqlStatementTimingListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Counting and timing of the SQL statements of each request.
+ * <p>
+ * Hibernate reports the statements it prepares to {@link SqlStatementInspector} and their execution times to
+ * {@link SqlStatementTimingListener}; {@link SqlStatementFilter} collects them per request. Statement logging
+ * ({@code show-sql}) stays off.
+ */
+@Configuration
+public class SqlStatisticsConfig {
+
+    /**
+     * Registers the statement inspector and the session listener with Hibernate.
+     *
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatementTimingListener.class.getName());
+        };
+    }
+
+    /**
+     * Registers the filter counting the statements of each request, after the request id filter and the
+     * health probe metrics filter, and before Spring Security.
+     *
+     * @param statistics aggregate of the statements per endpoint
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatementFilter> sqlStatementFilter(SqlStatementStatistics statistics) {
+        FilterRegistrationBean<SqlStatementFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementFilter(statistics));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.models.info.Info;
 import org.springdoc.core.models.GroupedOpenApi;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 /**
  * Swagger configuration class for enabling OpenAPI documentation
@@ -17,10 +18,12 @@ import org.springframework.context.annotation.Configuration;
  * <p>It also defines a {@link GroupedOpenApi} bean to group and filter
  * the documented APIs under the base path <code>/v1/api/**</code>.</p>
  *
- * <p>Once configured, Swagger UI will be available at:
- * <code>http://localhost:8080/swagger-ui.html</code></p>
+ * <p>springdoc and Swagger UI are only enabled with the {@code swagger} profile; without it the checked-in
+ * document is served by {@code ApiDocsController} and no controllers are scanned. With the profile, Swagger UI
+ * will be available at: <code>http://localhost:8080/swagger-ui.html</code></p>
  */
 @Configuration
+@Profile("swagger")
 public class SwaggerConfig {
 
     /**
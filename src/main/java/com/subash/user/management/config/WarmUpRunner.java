@@ -0,0 +1,303 @@
+package com.subash.user.management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.mapper.UserMapper;
+import com.subash.user.management.model.AllUserResponse;
+import com.subash.user.management.model.Role;
+import com.subash.user.management.model.User;
+import com.subash.user.management.model.UserResponse;
+import com.subash.user.management.model.UserView;
+import com.subash.user.management.repository.UserFallbackCache;
+import com.subash.user.management.repository.UserRepository;
+import com.subash.user.management.repository.UserSpecifications;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Warms the application up before it accepts traffic.
+ * <p>
+ * Spring Boot reports the readiness state {@code ACCEPTING_TRAFFIC} only once all application runners are done,
+ * so the readiness probe stays DOWN while this runner makes synthetic calls through the code every request
+ * takes: the connection pool is filled, {@link UserMapper}, the password encoder and the JSON serialization of
+ * the request and response models are run {@code warm-up.iterations} times, representative {@link UserRepository}
+ * queries are issued, and the most recently registered users are loaded into the second-level cache and the
+ * {@link UserFallbackCache}.
+ * <p>
+ * A step that fails, e.g. because the database is unavailable, is logged and skipped; warm-up never prevents the
+ * application from becoming ready. Steps stop early once {@code warm-up.timeout} has passed. The duration and
+ * coverage of each step are logged and reported under {@code warmUp} in {@code /actuator/info}.
+ */
+@Component
+@ConditionalOnProperty(name = "warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner, InfoContributor {
+
+    private static final Logger logger = LogManager.getLogger(WarmUpRunner.class);
+
+    private static final String PASSWORD = "warm-up-password";
+
+    private final UserRepository userRepository;
+    private final UserFallbackCache userFallbackCache;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final DataSource dataSource;
+    private final int iterations;
+    private final int hashIterations;
+    private final int queryIterations;
+    private final int connections;
+    private final int cachedUsers;
+    private final long timeoutNanos;
+    private final LongSupplier nanoTime;
+
+    private volatile Report report;
+
+    /**
+     * Constructs the runner.
+     *
+     * @param userRepository    repository queried during warm-up
+     * @param userFallbackCache cache filled with the most recently registered users
+     * @param passwordEncoder   encoder hashing and verifying a synthetic password
+     * @param objectMapper      the application object mapper
+     * @param dataSource        pool whose connections are opened
+     * @param iterations        calls of the mapper and of the serialization
+     * @param hashIterations    password hashes and verifications, each taking tens of milliseconds
+     * @param queryIterations   calls of each representative query
+     * @param connections       connections opened at once, 0 for the minimum idle connections of the pool
+     * @param cachedUsers       most recently registered users loaded into the caches
+     * @param timeout           time after which the remaining iterations are skipped
+     */
+    @Autowired
+    public WarmUpRunner(UserRepository userRepository, UserFallbackCache userFallbackCache,
+                        PasswordEncoder passwordEncoder, ObjectMapper objectMapper, DataSource dataSource,
+                        @Value("${warm-up.iterations:500}") int iterations,
+                        @Value("${warm-up.hash-iterations:5}") int hashIterations,
+                        @Value("${warm-up.query-iterations:20}") int queryIterations,
+                        @Value("${warm-up.connections:0}") int connections,
+                        @Value("${warm-up.cached-users:1000}") int cachedUsers,
+                        @Value("${warm-up.timeout:30s}") Duration timeout) {
+        this(userRepository, userFallbackCache, passwordEncoder, objectMapper, dataSource, iterations, hashIterations,
+                queryIterations, connections, cachedUsers, timeout, System::nanoTime);
+    }
+
+    WarmUpRunner(UserRepository userRepository, UserFallbackCache userFallbackCache, PasswordEncoder passwordEncoder,
+                 ObjectMapper objectMapper, DataSource dataSource, int iterations, int hashIterations,
+                 int queryIterations, int connections, int cachedUsers, Duration timeout, LongSupplier nanoTime) {
+        this.userRepository = userRepository;
+        this.userFallbackCache = userFallbackCache;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.dataSource = dataSource;
+        this.iterations = iterations;
+        this.hashIterations = hashIterations;
+        this.queryIterations = queryIterations;
+        this.connections = connections;
+        this.cachedUsers = cachedUsers;
+        this.timeoutNanos = timeout.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = nanoTime.getAsLong();
+        long deadline = start + timeoutNanos;
+        List<Step> steps = new ArrayList<>();
+        steps.add(once("connections", this::fillConnectionPool));
+        steps.add(step("mapper", iterations, deadline, this::map));
+        steps.add(step("serialization", iterations, deadline, this::serialize));
+        steps.add(step("passwordEncoder", hashIterations, deadline, this::hash));
+        steps.add(step("queries", queryIterations, deadline, this::query));
+        steps.add(once("userCaches", this::fillUserCaches));
+        report = new Report(Instant.now(), TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - start), steps);
+        logger.info("Warm-up took {} ms: {}", report.durationMs(), steps);
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Report current = report;
+        if (current != null) {
+            builder.withDetail("warmUp", current);
+        }
+    }
+
+    /**
+     * @return the outcome of the warm-up, null while it has not finished
+     */
+    public Report getReport() {
+        return report;
+    }
+
+    private Step step(String name, int count, long deadline, Iteration iteration) {
+        long start = nanoTime.getAsLong();
+        int done = 0;
+        String error = null;
+        try {
+            while (done < count && nanoTime.getAsLong() < deadline) {
+                iteration.run(done);
+                done++;
+            }
+        } catch (Exception e) {
+            error = failed(name, e);
+        }
+        return new Step(name, done, TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - start), error);
+    }
+
+    private Step once(String name, Callable<Integer> task) {
+        long start = nanoTime.getAsLong();
+        int covered = 0;
+        String error = null;
+        try {
+            covered = task.call();
+        } catch (Exception e) {
+            error = failed(name, e);
+        }
+        return new Step(name, covered, TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - start), error);
+    }
+
+    private static String failed(String name, Exception e) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        logger.warn("Warm-up step {} failed: {}", name, error);
+        return error;
+    }
+
+    private int fillConnectionPool() throws SQLException {
+        int count = connections;
+        if (count <= 0) {
+            count = dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getMinimumIdle() : 1;
+        }
+        List<Connection> opened = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                Connection connection = dataSource.getConnection();
+                opened.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : opened) {
+                connection.close();
+            }
+        }
+        return count;
+    }
+
+    private void map(int i) {
+        User user = syntheticUser(i);
+        UserView view = UserMapper.INSTANCE.userToUserView(user);
+        view.setPassword(PASSWORD);
+        UserMapper.INSTANCE.userViewToUser(view);
+        UserMapper.INSTANCE.userListToUserViewList(List.of(user, user));
+    }
+
+    private void serialize(int i) throws Exception {
+        UserView view = UserMapper.INSTANCE.userToUserView(syntheticUser(i));
+        UserResponse userResponse = new UserResponse();
+        userResponse.setUser(view);
+        userResponse.setCode(0);
+        userResponse.setMessage("warm-up");
+        AllUserResponse allUserResponse = new AllUserResponse();
+        allUserResponse.setUsers(List.of(view, view));
+        allUserResponse.setPage(0);
+        allUserResponse.setSize(2);
+        allUserResponse.setHasMore(false);
+        view.setPassword(PASSWORD);
+        objectMapper.readValue(objectMapper.writeValueAsBytes(view), UserView.class);
+        objectMapper.writeValueAsBytes(userResponse);
+        objectMapper.writeValueAsBytes(allUserResponse);
+    }
+
+    private void hash(int i) {
+        passwordEncoder.matches(PASSWORD, passwordEncoder.encode(PASSWORD));
+    }
+
+    private void query(int i) {
+        userRepository.findByUsername("warm-up-" + i);
+        userRepository.findBy(Specification.allOf(UserSpecifications.hasRole(Role.ROLE_USER),
+                        UserSpecifications.hasEmail(true)),
+                query -> query.slice(PageRequest.of(0, 1, Sort.by("username"))));
+        userRepository.findBy(UserSpecifications.registeredFrom(Instant.EPOCH),
+                query -> query.slice(PageRequest.of(0, 1, Sort.by("registeredAt", "id"))));
+    }
+
+    private int fillUserCaches() {
+        if (cachedUsers <= 0) {
+            return 0;
+        }
+        Slice<User> users = userRepository.findBy(Specification.allOf(),
+                query -> query.slice(PageRequest.of(0, cachedUsers,
+                        Sort.by(Sort.Direction.DESC, "registeredAt", "id"))));
+        users.forEach(userFallbackCache::put);
+        return users.getNumberOfElements();
+    }
+
+    private static User syntheticUser(int i) {
+        User user = new User();
+        user.setId((long) i);
+        user.setUsername("warm-up-" + i);
+        user.setPasswordHash(PASSWORD);
+        user.setRole(i % 2 == 0 ? Role.ROLE_USER : Role.ROLE_ADMIN);
+        user.setEmailId("warm-up-" + i + "@example.com");
+        user.setPhoneNumber("9876543210");
+        user.setLastLoginAt(Instant.now());
+        user.setLoginCount(i);
+        user.setRegisteredAt(Instant.now());
+        return user;
+    }
+
+    /**
+     * One iteration of a step.
+     */
+    @FunctionalInterface
+    private interface Iteration {
+
+        /**
+         * @param i number of the iteration, starting at 0
+         */
+        void run(int i) throws Exception;
+    }
+
+    /**
+     * Outcome of one warm-up step.
+     *
+     * @param name       name of the step
+     * @param count      iterations run, or for the connections and user caches the connections opened and the
+     *                   users cached
+     * @param durationMs time spent in the step
+     * @param error      why the step stopped early, null if it completed or ran out of time
+     */
+    public record Step(String name, int count, long durationMs, String error) {
+    }
+
+    /**
+     * Outcome of the warm-up.
+     *
+     * @param finishedAt when the warm-up finished
+     * @param durationMs time spent warming up
+     * @param steps      the steps, in the order they ran
+     */
+    public record Report(Instant finishedAt, long durationMs, List<Step> steps) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.subash.user.management.controller;
+
+import com.subash.user.management.model.UserChangeFeedResponse;
+import com.subash.user.management.model.UserImportResponse;
+import com.subash.user.management.service.UserChangeBroadcaster;
+import com.subash.user.management.service.UserChangeFeedService;
+import com.subash.user.management.service.UserImportService;
+import com.subash.user.management.util.Constants;
+import com.subash.user.management.util.GenericLogger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static com.subash.user.management.util.Constants.*;
+
+/**
+ * REST controller for administrative user operations used by other systems, such as
+ * syncing user changes. All endpoints require the ADMIN role.
+ */
+@RestController
+@RequestMapping("/v1/api/admin")
+public class AdminUserController {
+
+    private static final Logger logger = LogManager.getLogger(AdminUserController.class);
+    private final UserChangeFeedService userChangeFeedService;
+    private final UserChangeBroadcaster userChangeBroadcaster;
+    private final UserImportService userImportService;
+    private final GenericLogger genericLogger;
+
+    /**
+     * Constructs an AdminUserController with required dependencies.
+     *
+     * @param userChangeFeedService service to read the user change feed
+     * @param userChangeBroadcaster service pushing user changes to stream subscribers
+     * @param userImportService     service running bulk user imports
+     * @param genericLogger         logger utility for structured logging
+     */
+    public AdminUserController(UserChangeFeedService userChangeFeedService,
+                               UserChangeBroadcaster userChangeBroadcaster, UserImportService userImportService,
+                               GenericLogger genericLogger) {
+        this.userChangeFeedService = userChangeFeedService;
+        this.userChangeBroadcaster = userChangeBroadcaster;
+        this.userImportService = userImportService;
+        this.genericLogger = genericLogger;
+    }
+
+    /**
+     * Endpoint to fetch the user changes after a change sequence, in sequence order.
+     *
+     * @param since last change sequence applied by the caller, 0 to start from the beginning
+     * @param limit maximum number of changes to return
+     * @return ResponseEntity containing the changes and the cursor for the next call
+     * @throws Exception if fetching fails
+     */
+    @GetMapping("/users/changes")
+    public ResponseEntity<UserChangeFeedResponse> getUserChanges(
+            @RequestParam(name = "since", defaultValue = "0") long since,
+            @RequestParam(name = "limit", defaultValue = "${change-feed.page-size:500}") int limit) throws Exception {
+        logger.info(LOG_MESSAGE + "Request received to fetch user changes");
+        //Log request
+        genericLogger.logRequest(logger, Constants.GET_USER_CHANGES, Constants.GET_METHOD, since);
+        ResponseEntity<UserChangeFeedResponse> feedResponse = userChangeFeedService.getChanges(since, limit);
+        //Log response
+        genericLogger.logResponse(logger, HttpStatus.OK.name(), feedResponse);
+        logger.info(LOG_MESSAGE + "Fetch user changes request completed");
+        return feedResponse;
+    }
+
+    /**
+     * Endpoint to stream user changes as Server-Sent Events while they are committed.
+     * Each event carries the change sequence as its id, so reconnecting clients resume where they left off.
+     *
+     * @param lastEventId last change sequence received before a reconnect, sent by SSE clients automatically
+     * @return the emitter streaming the changes
+     * @throws Exception if the stream cannot be opened
+     */
+    @GetMapping(path = "/users/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUserChanges(
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) throws Exception {
+        logger.info(LOG_MESSAGE + "Request received to stream user changes");
+        genericLogger.logRequest(logger, Constants.STREAM_USER_CHANGES, Constants.GET_METHOD, lastEventId);
+        return userChangeBroadcaster.subscribe(lastEventId);
+    }
+
+    /**
+     * Endpoint to start a bulk import of users from an uploaded file, or from a file in the import directory.
+     *
+     * @param file   uploaded CSV or NDJSON file
+     * @param path   file name relative to the import directory, used when no file is uploaded
+     * @param format {@code csv} or {@code ndjson}, derived from the file extension when omitted
+     * @return ResponseEntity containing the id and progress of the started import job
+     * @throws Exception if the import cannot be started
+     */
+    @PostMapping("/users/import")
+    public ResponseEntity<UserImportResponse> importUsers(
+            @RequestPart(name = "file", required = false) MultipartFile file,
+            @RequestParam(name = "path", required = false) String path,
+            @RequestParam(name = "format", required = false) String format) throws Exception {
+        logger.info(LOG_MESSAGE + "Request received to import users");
+        //Log request
+        genericLogger.logRequest(logger, Constants.IMPORT_USERS, Constants.POST_METHOD,
+                file != null ? file.getOriginalFilename() : path);
+        ResponseEntity<UserImportResponse> importResponse = userImportService.startImport(file, path, format);
+        //Log response
+        genericLogger.logResponse(logger, HttpStatus.ACCEPTED.name(), importResponse);
+        logger.info(LOG_MESSAGE + "Import users request completed");
+        return importResponse;
+    }
+
+    /**
+     * Endpoint to fetch the progress of a bulk import job.
+     *
+     * @param jobId id of the import job
+     * @return ResponseEntity containing the job progress
+     * @throws Exception if fetching fails
+     */
+    @GetMapping("/users/import/{jobId}")
+    public ResponseEntity<UserImportResponse> getImportStatus(@PathVariable("jobId") String jobId) throws Exception {
+        logger.info(LOG_MESSAGE + "Request received to fetch import status");
+        //Log request
+        genericLogger.logRequest(logger, Constants.GET_IMPORT_STATUS, Constants.GET_METHOD, jobId);
+        ResponseEntity<UserImportResponse> importResponse = userImportService.getImportStatus(jobId);
+        //Log response
+        genericLogger.logResponse(logger, HttpStatus.OK.name(), importResponse);
+        logger.info(LOG_MESSAGE + "Fetch import status request completed");
+        return importResponse;
+    }
+}
@@ -0,0 +1,117 @@
+package com.subash.user.management.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller serving the checked-in OpenAPI document, {@code openapi.yaml}, which also drives the
+ * generated models.
+ * <p>
+ * The document is read and gzip-compressed once at startup, so requests are answered from memory instead of
+ * scanning the controllers as springdoc does. Clients accepting gzip get the compressed copy. Both copies carry
+ * an ETag for revalidation and may be cached for {@code api-docs.static.max-age}. springdoc and Swagger UI only
+ * run with the {@code swagger} profile, where Swagger UI shows this document.
+ */
+@RestController
+public class ApiDocsController {
+
+    /**
+     * Path of the document.
+     */
+    public static final String API_DOCS_PATH = "/openapi.yaml";
+
+    private static final MediaType APPLICATION_YAML = MediaType.parseMediaType("application/yaml");
+
+    private final byte[] document;
+    private final byte[] compressed;
+    private final String etag;
+    private final CacheControl cacheControl;
+
+    /**
+     * Constructs an ApiDocsController, reading and compressing the document.
+     *
+     * @param location location of the document
+     * @param maxAge   how long clients may cache the document before revalidating it
+     * @throws IOException if the document cannot be read
+     */
+    public ApiDocsController(@Value("${api-docs.static.location:classpath:openapi.yaml}") Resource location,
+                             @Value("${api-docs.static.max-age:1h}") Duration maxAge) throws IOException {
+        try (InputStream in = location.getInputStream()) {
+            this.document = in.readAllBytes();
+        }
+        this.compressed = gzip(document);
+        this.etag = "\"" + DigestUtils.md5DigestAsHex(document) + "\"";
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * Endpoint to fetch the OpenAPI document. A request whose {@code If-None-Match} matches the ETag is answered
+     * with 304 and no body.
+     *
+     * @param acceptEncoding content codings accepted by the client
+     * @return ResponseEntity containing the document, gzip-compressed if the client accepts it
+     */
+    @GetMapping(API_DOCS_PATH)
+    public ResponseEntity<byte[]> getApiDocs(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(APPLICATION_YAML)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            // A distinct ETag per representation, so caches do not mix up the compressed and plain copies
+            return response.eTag(etag.substring(0, etag.length() - 1) + "-gzip\"")
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(compressed);
+        }
+        return response.eTag(etag).body(document);
+    }
+
+    /**
+     * Tells whether an {@code Accept-Encoding} header accepts gzip.
+     *
+     * @param acceptEncoding the header value, may be null
+     * @return true if gzip or any coding is listed without {@code q=0}
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals("gzip") || name.equals("*")) {
+                return parts.length < 2 || !parts[1].trim().matches("q\\s*=\\s*0(\\.0{0,3})?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -3,18 +3,21 @@ package com.subash.user.management.controller;
 import com.subash.user.management.model.AllUserResponse;
 import com.subash.user.management.model.UserResponse;
 import com.subash.user.management.model.UserView;
+import com.subash.user.management.service.IdempotencyService;
 import com.subash.user.management.service.UserService;
 import com.subash.user.management.util.Constants;
 import com.subash.user.management.util.GenericLogger;
 import jakarta.validation.Valid;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.OffsetDateTime;
 import java.util.Collection;
 
 import static com.subash.user.management.util.Constants.*;
@@ -30,37 +33,47 @@ public class UserController {
 
     private static final Logger logger = LogManager.getLogger(UserController.class);
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
     private final GenericLogger genericLogger;
 
     /**
      * Constructs a UserController with required dependencies.
      *
-     * @param userService     service to handle user-related operations
-     * @param genericLogger   logger utility for structured logging
+     * @param userService        service to handle user-related operations
+     * @param idempotencyService service answering retried registrations with their first response
+     * @param genericLogger      logger utility for structured logging
      */
-    public UserController(UserService userService, GenericLogger genericLogger) {
+    public UserController(UserService userService, IdempotencyService idempotencyService,
+                          GenericLogger genericLogger) {
 
         this.userService = userService;
+        this.idempotencyService = idempotencyService;
         this.genericLogger = genericLogger;
     }
 
     /**
      * Endpoint to register a new user.
+     * <p>
+     * With an {@code Idempotency-Key} header, a retry of a registration that succeeded is answered with the
+     * original response instead of 409.
      *
-     * @param userView the user details to be registered
+     * @param userView       the user details to be registered
+     * @param idempotencyKey optional key identifying retries of the same registration
      * @return ResponseEntity containing user registration response
      * @throws Exception if any exception occurs during registration
      */
     @PostMapping("/users/register")
-    public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserView userView) throws Exception {
-        String uuid = GenericLogger.getUUID();
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Request received to user registration");
+    public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserView userView,
+                                                   @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false)
+                                                   String idempotencyKey) throws Exception {
+        logger.info(LOG_MESSAGE + "Request received to user registration");
         //Log request
-        genericLogger.logRequest(logger, uuid, Constants.CREATE_USER, Constants.POST_METHOD, userView);
-        ResponseEntity<UserResponse> userResponse = userService.createUser(uuid, userView);
+        genericLogger.logRequest(logger, Constants.CREATE_USER, Constants.POST_METHOD, userView);
+        ResponseEntity<UserResponse> userResponse = idempotencyService.execute(Constants.CREATE_USER,
+                idempotencyKey, userView, UserResponse.class, () -> userService.createUser(userView));
         //Log response
-        genericLogger.logResponse(logger, uuid, HttpStatus.OK.name(), userResponse);
-        logger.info(uuid + COMMA + LOG_MESSAGE + "User registration request completed");
+        genericLogger.logResponse(logger, HttpStatus.OK.name(), userResponse);
+        logger.info(LOG_MESSAGE + "User registration request completed");
         return userResponse;
     }
 
@@ -87,34 +100,50 @@ public class UserController {
             return new ResponseEntity<>(userResponse, HttpStatus.FORBIDDEN);
         }
 
-        String uuid = GenericLogger.getUUID();
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Request received to fetch user");
+        logger.info(LOG_MESSAGE + "Request received to fetch user");
         //Log request
-        genericLogger.logRequest(logger, uuid, Constants.GET_USER, Constants.GET_METHOD, username);
-        ResponseEntity<UserResponse> userResponse = userService.getUser(uuid, username);
+        genericLogger.logRequest(logger, Constants.GET_USER, Constants.GET_METHOD, username);
+        ResponseEntity<UserResponse> userResponse = userService.getUser(username);
         //Log response
-        genericLogger.logResponse(logger, uuid, HttpStatus.OK.name(), userResponse);
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Fetch user request completed");
+        genericLogger.logResponse(logger, HttpStatus.OK.name(), userResponse);
+        logger.info(LOG_MESSAGE + "Fetch user request completed");
         return userResponse;
     }
 
 
     /**
-     * Endpoint to fetch all users in the system.
+     * Endpoint to fetch a page of the users matching all given filters.
      *
-     * @return ResponseEntity containing all user details
+     * @param role             only users with this role
+     * @param hasEmail         only users with (true) or without (false) an email address
+     * @param registeredFrom   only users registered at or after this ISO-8601 date-time
+     * @param registeredBefore only users registered before this ISO-8601 date-time
+     * @param sort             {@code username} or {@code registeredAt}, optionally followed by {@code ,asc} or
+     *                         {@code ,desc}
+     * @param page             zero-based page number
+     * @param size             users per page
+     * @return ResponseEntity containing the page of user details
      * @throws Exception if fetching fails
      */
     @GetMapping("/users")
-    public ResponseEntity<AllUserResponse> getUser() throws Exception {
-        String uuid = GenericLogger.getUUID();
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Request received to fetch all user");
+    public ResponseEntity<AllUserResponse> getUser(
+            @RequestParam(name = "role", required = false) UserView.RoleEnum role,
+            @RequestParam(name = "hasEmail", required = false) Boolean hasEmail,
+            @RequestParam(name = "registeredFrom", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime registeredFrom,
+            @RequestParam(name = "registeredBefore", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime registeredBefore,
+            @RequestParam(name = "sort", defaultValue = "username") String sort,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "${user-listing.page-size:100}") int size) throws Exception {
+        logger.info(LOG_MESSAGE + "Request received to fetch all user");
         //Log request
-        genericLogger.logRequest(logger, uuid, Constants.GET_ALL_USER, Constants.GET_METHOD, null);
-        ResponseEntity<AllUserResponse> allUserResponse = userService.getAllUser(uuid);
+        genericLogger.logRequest(logger, Constants.GET_ALL_USER, Constants.GET_METHOD, null);
+        ResponseEntity<AllUserResponse> allUserResponse =
+                userService.getAllUser(role, hasEmail, registeredFrom, registeredBefore, sort, page, size);
         //Log response
-        genericLogger.logResponse(logger, uuid, HttpStatus.OK.name(), allUserResponse);
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Fetch all user request completed");
+        genericLogger.logResponse(logger, HttpStatus.OK.name(), allUserResponse);
+        logger.info(LOG_MESSAGE + "Fetch all user request completed");
         return allUserResponse;
     }
 
@@ -128,14 +157,13 @@ public class UserController {
      */
     @DeleteMapping("/users/{username}")
     public ResponseEntity<UserResponse> removeUser(@Valid @PathVariable("username") String username) throws Exception {
-        String uuid = GenericLogger.getUUID();
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Request received to remove user");
+        logger.info(LOG_MESSAGE + "Request received to remove user");
         //Log request
-        genericLogger.logRequest(logger, uuid, Constants.REMOVE_USER, Constants.DELETE_METHOD, username);
-        ResponseEntity<UserResponse> userResponse = userService.removeUser(uuid, username);
+        genericLogger.logRequest(logger, Constants.REMOVE_USER, Constants.DELETE_METHOD, username);
+        ResponseEntity<UserResponse> userResponse = userService.removeUser(username);
         //Log response
-        genericLogger.logResponse(logger, uuid, HttpStatus.OK.name(), userResponse);
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Remove user request completed");
+        genericLogger.logResponse(logger, HttpStatus.OK.name(), userResponse);
+        logger.info(LOG_MESSAGE + "Remove user request completed");
         return userResponse;
     }
 
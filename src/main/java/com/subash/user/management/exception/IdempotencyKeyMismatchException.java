@@ -0,0 +1,21 @@
+package com.subash.user.management.exception;
+
+import org.springframework.http.HttpStatus;
+
+import static com.subash.user.management.util.Constants.IDEMPOTENCY_KEY_MISMATCH;
+import static com.subash.user.management.util.Constants.IDEMPOTENCY_KEY_MISMATCH_CODE;
+
+/**
+ * Thrown when an idempotency key is sent again with a request that differs from the one it was first used for.
+ */
+public final class IdempotencyKeyMismatchException extends UserManagementException {
+
+    /**
+     * Shared instance; the exception carries no request specific state.
+     */
+    public static final IdempotencyKeyMismatchException INSTANCE = new IdempotencyKeyMismatchException();
+
+    private IdempotencyKeyMismatchException() {
+        super(IDEMPOTENCY_KEY_MISMATCH, HttpStatus.UNPROCESSABLE_ENTITY, IDEMPOTENCY_KEY_MISMATCH_CODE);
+    }
+}
@@ -0,0 +1,21 @@
+package com.subash.user.management.exception;
+
+import org.springframework.http.HttpStatus;
+
+import static com.subash.user.management.util.Constants.INVALID_IDEMPOTENCY_KEY;
+import static com.subash.user.management.util.Constants.INVALID_IDEMPOTENCY_KEY_CODE;
+
+/**
+ * Thrown when an {@code Idempotency-Key} header is empty, too long or contains characters other than visible ASCII.
+ */
+public final class InvalidIdempotencyKeyException extends UserManagementException {
+
+    /**
+     * Shared instance; the exception carries no request specific state.
+     */
+    public static final InvalidIdempotencyKeyException INSTANCE = new InvalidIdempotencyKeyException();
+
+    private InvalidIdempotencyKeyException() {
+        super(INVALID_IDEMPOTENCY_KEY, HttpStatus.BAD_REQUEST, INVALID_IDEMPOTENCY_KEY_CODE);
+    }
+}
@@ -0,0 +1,21 @@
+package com.subash.user.management.exception;
+
+import org.springframework.http.HttpStatus;
+
+import static com.subash.user.management.util.Constants.SERVICE_OVERLOADED;
+import static com.subash.user.management.util.Constants.SERVICE_OVERLOADED_CODE;
+
+/**
+ * Thrown when a request is shed because the concurrency limit of its operation is reached.
+ */
+public final class ServiceOverloadedException extends UserManagementException {
+
+    /**
+     * Shared instance; the exception carries no request specific state.
+     */
+    public static final ServiceOverloadedException INSTANCE = new ServiceOverloadedException();
+
+    private ServiceOverloadedException() {
+        super(SERVICE_OVERLOADED, HttpStatus.SERVICE_UNAVAILABLE, SERVICE_OVERLOADED_CODE);
+    }
+}
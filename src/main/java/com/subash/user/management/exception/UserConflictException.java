@@ -0,0 +1,22 @@
+package com.subash.user.management.exception;
+
+import org.springframework.http.HttpStatus;
+
+import static com.subash.user.management.util.Constants.RECORD_CONFLICT;
+import static com.subash.user.management.util.Constants.RECORD_CONFLICT_CODE;
+
+/**
+ * Thrown when a write violates a unique constraint, for example a username registered concurrently
+ * or an email address already used by another user.
+ */
+public final class UserConflictException extends UserManagementException {
+
+    /**
+     * Shared instance; the exception carries no request specific state.
+     */
+    public static final UserConflictException INSTANCE = new UserConflictException();
+
+    private UserConflictException() {
+        super(RECORD_CONFLICT, HttpStatus.CONFLICT, RECORD_CONFLICT_CODE);
+    }
+}
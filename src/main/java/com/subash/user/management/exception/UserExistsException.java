@@ -0,0 +1,21 @@
+package com.subash.user.management.exception;
+
+import org.springframework.http.HttpStatus;
+
+import static com.subash.user.management.util.Constants.RECORD_EXIST;
+import static com.subash.user.management.util.Constants.RECORD_EXIST_CODE;
+
+/**
+ * Thrown when a user is registered with a username that is already taken.
+ */
+public final class UserExistsException extends UserManagementException {
+
+    /**
+     * Shared instance; the exception carries no request specific state.
+     */
+    public static final UserExistsException INSTANCE = new UserExistsException();
+
+    private UserExistsException() {
+        super(RECORD_EXIST, HttpStatus.CONFLICT, RECORD_EXIST_CODE);
+    }
+}
@@ -0,0 +1,47 @@
+package com.subash.user.management.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class for the expected failure outcomes of user operations, such as a missing or duplicate user.
+ * <p>
+ * These outcomes are part of normal traffic, so the exceptions are stackless and each subclass exposes a
+ * single pre-allocated instance. Throwing one costs no stack walk and no allocation.
+ * {@code GlobalExceptionHandler} maps them to the status and error code they carry.
+ */
+public abstract class UserManagementException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final Integer code;
+
+    /**
+     * Creates a stackless exception without cause or suppression support.
+     *
+     * @param message message returned in the error body
+     * @param status  HTTP status of the error response
+     * @param code    application error code returned in the error body
+     */
+    protected UserManagementException(String message, HttpStatus status, Integer code) {
+        super(message, null, false, false);
+        this.status = status;
+        this.code = code;
+    }
+
+    /**
+     * Returns the HTTP status of the error response.
+     *
+     * @return the HTTP status
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the application error code of the error response.
+     *
+     * @return the error code
+     */
+    public Integer getCode() {
+        return code;
+    }
+}
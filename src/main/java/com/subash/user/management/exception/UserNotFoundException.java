@@ -0,0 +1,21 @@
+package com.subash.user.management.exception;
+
+import org.springframework.http.HttpStatus;
+
+import static com.subash.user.management.util.Constants.RECORD_NOT_FOUND;
+import static com.subash.user.management.util.Constants.RECORD_NOT_FOUND_CODE;
+
+/**
+ * Thrown when no user exists for the requested username.
+ */
+public final class UserNotFoundException extends UserManagementException {
+
+    /**
+     * Shared instance; the exception carries no request specific state.
+     */
+    public static final UserNotFoundException INSTANCE = new UserNotFoundException();
+
+    private UserNotFoundException() {
+        super(RECORD_NOT_FOUND, HttpStatus.NOT_FOUND, RECORD_NOT_FOUND_CODE);
+    }
+}
@@ -0,0 +1,40 @@
+package com.subash.user.management.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Logging of a request or response by {@code GenericLogger}, including sampling, serialization and redaction.
+ */
+@Name("com.subash.user.management.BodyLog")
+@Label("Body Log")
+@Description("Logging of a request or response body")
+public final class BodyLogEvent extends RequestPhaseEvent {
+
+    @Label("Phase")
+    @Description("request or response")
+    String phase;
+
+    /**
+     * Starts timing the logging of a request or response.
+     *
+     * @param phase {@code request} or {@code response}
+     * @return the started event, to be passed to {@link #end(BodyLogEvent)}
+     */
+    public static BodyLogEvent begin(String phase) {
+        BodyLogEvent event = new BodyLogEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends timing the logging and commits the event if it is recorded.
+     *
+     * @param event the event returned by {@link #begin(String)}
+     */
+    public static void end(BodyLogEvent event) {
+        event.finish();
+    }
+}
@@ -0,0 +1,38 @@
+package com.subash.user.management.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.function.Supplier;
+
+/**
+ * Mapping between entities and views through {@code UserMapper}.
+ */
+@Name("com.subash.user.management.Mapping")
+@Label("Mapping")
+@Description("Mapping between entities and views through UserMapper")
+public final class MappingEvent extends RequestPhaseEvent {
+
+    @Label("Method")
+    String method;
+
+    /**
+     * Times a mapping.
+     *
+     * @param method name of the mapper method
+     * @param mapping the mapping
+     * @param <T>     result type
+     * @return the mapped object
+     */
+    public static <T> T record(String method, Supplier<T> mapping) {
+        MappingEvent event = new MappingEvent();
+        event.begin();
+        try {
+            return mapping.get();
+        } finally {
+            event.method = method;
+            event.finish();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.subash.user.management.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.function.Supplier;
+
+/**
+ * Hashing of a password, or verification of a password against its hash.
+ */
+@Name("com.subash.user.management.PasswordHash")
+@Label("Password Hash")
+@Description("BCrypt hashing or verification of a password")
+public final class PasswordHashEvent extends RequestPhaseEvent {
+
+    @Label("Operation")
+    @Description("encode or matches")
+    String operation;
+
+    /**
+     * Times a hash operation.
+     *
+     * @param operation {@code encode} or {@code matches}
+     * @param hash      the operation
+     * @param <T>       result type
+     * @return the result of the operation
+     */
+    public static <T> T record(String operation, Supplier<T> hash) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        try {
+            return hash.get();
+        } finally {
+            event.operation = operation;
+            event.finish();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.subash.user.management.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.function.Supplier;
+
+/**
+ * Call of a {@code UserRepository} method by the user service.
+ */
+@Name("com.subash.user.management.RepositoryCall")
+@Label("Repository Call")
+@Description("Call of a UserRepository method by the user service")
+public final class RepositoryCallEvent extends RequestPhaseEvent {
+
+    @Label("Method")
+    String method;
+
+    /**
+     * Times a repository call.
+     *
+     * @param method name of the repository method
+     * @param call   the call
+     * @param <T>    result type
+     * @return the result of the call
+     */
+    public static <T> T record(String method, Supplier<T> call) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        try {
+            return call.get();
+        } finally {
+            event.method = method;
+            event.finish();
+        }
+    }
+
+    /**
+     * Times a repository call without result.
+     *
+     * @param method name of the repository method
+     * @param call   the call
+     */
+    public static void record(String method, Runnable call) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        try {
+            call.run();
+        } finally {
+            event.method = method;
+            event.finish();
+        }
+    }
+}
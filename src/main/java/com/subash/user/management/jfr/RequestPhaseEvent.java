@@ -0,0 +1,41 @@
+package com.subash.user.management.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.apache.logging.log4j.ThreadContext;
+
+import static com.subash.user.management.util.Constants.OPERATION_ID_KEY;
+import static com.subash.user.management.util.Constants.REQUEST_ID_KEY;
+
+/**
+ * Base of the Java Flight Recorder events timing one phase of a request.
+ * <p>
+ * Every event carries the request id and the operation id of the request it belongs to, taken from the logging
+ * context when the event is committed. The operation id is known once the controller has been reached, so
+ * events of the authentication, which runs before, carry only the request id. Stack traces are not recorded,
+ * and nothing is read or allocated for events that are not enabled in a running recording.
+ */
+@Category({"User Management", "Request"})
+@StackTrace(false)
+public abstract class RequestPhaseEvent extends Event {
+
+    @Label("Request Id")
+    String requestId;
+
+    @Label("Operation Id")
+    String operationId;
+
+    /**
+     * Ends the event and commits it with the ids of the current request, if it is recorded.
+     */
+    final void finish() {
+        end();
+        if (shouldCommit()) {
+            requestId = ThreadContext.get(REQUEST_ID_KEY);
+            operationId = ThreadContext.get(OPERATION_ID_KEY);
+            commit();
+        }
+    }
+}
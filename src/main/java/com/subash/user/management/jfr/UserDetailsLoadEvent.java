@@ -0,0 +1,40 @@
+package com.subash.user.management.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Loading of the user to authenticate by {@code CustomUserDetailsService}.
+ */
+@Name("com.subash.user.management.UserDetailsLoad")
+@Label("User Details Load")
+@Description("Load of the user to authenticate")
+public final class UserDetailsLoadEvent extends RequestPhaseEvent {
+
+    @Label("Found")
+    boolean found;
+
+    /**
+     * Times a user details load.
+     *
+     * @param load the load, empty if the user does not exist
+     * @param <T>  type of the loaded user
+     * @return the loaded user
+     */
+    public static <T> Optional<T> record(Supplier<Optional<T>> load) {
+        UserDetailsLoadEvent event = new UserDetailsLoadEvent();
+        event.begin();
+        Optional<T> user = Optional.empty();
+        try {
+            user = load.get();
+            return user;
+        } finally {
+            event.found = user.isPresent();
+            event.finish();
+        }
+    }
+}
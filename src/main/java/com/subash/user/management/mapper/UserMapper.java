@@ -7,6 +7,9 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 
 /**
@@ -26,12 +29,16 @@ public interface UserMapper {
      * <p>
      * - Converts role enum to entity role.
      * - Ignores the password hash to avoid overwriting sensitive fields.
+     * - Ignores the read-only login statistics and registration time.
      *
      * @param userView the user DTO received from the client
      * @return User entity to be persisted
      */
     @Mapping(target = "role", expression = "java(mapToEntityRole(userView.getRole()))")
     @Mapping(target = "passwordHash", ignore = true)
+    @Mapping(target = "lastLoginAt", ignore = true)
+    @Mapping(target = "loginCount", ignore = true)
+    @Mapping(target = "registeredAt", ignore = true)
     User userViewToUser(UserView userView);
 
     /**
@@ -79,4 +86,14 @@ public interface UserMapper {
     default UserView.RoleEnum mapToViewRole(Role role) {
         return role.name().equals("ROLE_ADMIN") ? UserView.RoleEnum.ADMIN : UserView.RoleEnum.USER;
     }
+
+    /**
+     * Converts an entity timestamp to the UTC date-time of the view.
+     *
+     * @param instant timestamp from entity, may be null
+     * @return OffsetDateTime for view
+     */
+    default OffsetDateTime mapToViewTime(Instant instant) {
+        return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+    }
 }
@@ -0,0 +1,50 @@
+package com.subash.user.management.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing a pending user lifecycle event in the {@code user_outbox} table.
+ * <p>
+ * Rows are written in the same transaction as the user change they describe and are removed
+ * by the outbox relay once they have been handed over to the configured sink.
+ */
+@Entity
+@Table(name = "user_outbox")
+@Data
+public class OutboxEvent {
+
+    /**
+     * Primary key identifier, also used as the relay ordering key.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    /**
+     * Username of the user the event belongs to.
+     */
+    @Column(name = "aggregate_id", nullable = false, updatable = false)
+    private String aggregateId;
+
+    /**
+     * Type of the event (e.g., USER_CREATED or USER_REMOVED).
+     */
+    @Column(name = "event_type", nullable = false, updatable = false)
+    private String eventType;
+
+    /**
+     * JSON representation of the user at the time of the event, without credentials.
+     */
+    @Column(name = "payload", nullable = false, updatable = false, columnDefinition = "text")
+    private String payload;
+
+    /**
+     * Time at which the event was recorded.
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
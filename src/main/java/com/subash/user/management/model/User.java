@@ -2,14 +2,27 @@ package com.subash.user.management.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import java.time.Instant;
 
 /**
  * Entity class representing a user record in the {@code users} table.
  * <p>
  * This class is used to persist user details such as credentials and contact information.
+ * <p>
+ * The entity and its natural id (the username) are held in the second-level cache, so repeated
+ * lookups by username are resolved without a query. Region sizes and TTLs are set in {@code ehcache.xml}.
  */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-natural-id")
 @Data
 public class User {
 
@@ -24,8 +37,9 @@ public class User {
 
     /**
      * Unique username for the user.
-     * Used for login and identification.
+     * Used for login and identification, and mapped as the natural id of the entity.
      */
+    @NaturalId
     @Column(name = "username", unique = true, nullable = false)
     private String username;
 
@@ -58,4 +72,26 @@ public class User {
     @Column(name = "phone_number")
     private String phoneNumber;
 
+    /**
+     * Time of the last successful authentication, or null if the user never authenticated.
+     * Written in batches by {@code LastLoginRecorder}, so never updated through the entity.
+     */
+    @Column(name = "last_login_at", updatable = false)
+    private Instant lastLoginAt;
+
+    /**
+     * Number of successful authentications. With HTTP Basic every authenticated request counts.
+     * Written in batches by {@code LastLoginRecorder}, so never updated through the entity.
+     */
+    @Column(name = "login_count", nullable = false, updatable = false)
+    private long loginCount;
+
+    /**
+     * Time the user was registered.
+     * Set on insert; rows inserted by SQL, such as bulk imports, get the database default.
+     */
+    @CreationTimestamp
+    @Column(name = "registered_at", nullable = false, updatable = false)
+    private Instant registeredAt;
+
 }
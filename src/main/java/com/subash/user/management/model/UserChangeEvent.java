@@ -0,0 +1,14 @@
+package com.subash.user.management.model;
+
+/**
+ * Application event published when a user change has been appended to the change log.
+ * <p>
+ * Listeners interested in committed changes only should use a
+ * {@code @TransactionalEventListener}, since the event is published inside the writing transaction.
+ *
+ * @param seq        change sequence of the appended entry
+ * @param changeType {@code CREATED} or {@code REMOVED}
+ * @param username   username of the changed user
+ */
+public record UserChangeEvent(long seq, String changeType, String username) {
+}
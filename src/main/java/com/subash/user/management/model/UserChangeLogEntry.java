@@ -0,0 +1,53 @@
+package com.subash.user.management.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing one entry of the user change log in the {@code user_change_log} table.
+ * <p>
+ * Entries are appended by {@code createUser} and {@code removeUser} in the same transaction as the change.
+ * Removals are stored as tombstones without a payload. The sequence is assigned under a transaction
+ * scoped lock, so sequences become visible in commit order and consumers can safely resume from the
+ * last sequence they have applied.
+ */
+@Entity
+@Table(name = "user_change_log",
+        indexes = @Index(name = "idx_user_change_log_username_seq", columnList = "username, seq"))
+@Data
+public class UserChangeLogEntry {
+
+    /**
+     * Monotonically increasing change sequence.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq", updatable = false, nullable = false)
+    private Long seq;
+
+    /**
+     * Username of the changed user.
+     */
+    @Column(name = "username", nullable = false, updatable = false)
+    private String username;
+
+    /**
+     * Kind of change (CREATED or REMOVED).
+     */
+    @Column(name = "change_type", nullable = false, updatable = false)
+    private String changeType;
+
+    /**
+     * JSON representation of the user after the change; {@code null} for tombstones.
+     */
+    @Column(name = "payload", updatable = false, columnDefinition = "text")
+    private String payload;
+
+    /**
+     * Time at which the change was recorded.
+     */
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,42 @@
+package com.subash.user.management.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Entity class holding the single row of the {@code user_change_log_horizon} table.
+ * <p>
+ * Records the highest change sequence whose tombstone has been purged by compaction. Consumers
+ * resuming from an older sequence could have missed a removal and have to resync from scratch.
+ */
+@Entity
+@Table(name = "user_change_log_horizon")
+@Data
+public class UserChangeLogHorizon {
+
+    /**
+     * Identifier of the single horizon row.
+     */
+    public static final Integer SINGLETON_ID = 1;
+
+    /**
+     * Primary key, always {@link #SINGLETON_ID}.
+     */
+    @Id
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    /**
+     * Highest sequence of a purged tombstone.
+     */
+    @Column(name = "purged_through_seq", nullable = false)
+    private Long purgedThroughSeq;
+
+    /**
+     * Time of the last compaction that purged tombstones.
+     */
+    @Column(name = "compacted_at", nullable = false)
+    private Instant compactedAt;
+}
@@ -0,0 +1,117 @@
+package com.subash.user.management.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calls to a failing dependency for a while instead of letting every caller wait for it to fail.
+ * <p>
+ * The breaker is {@link State#CLOSED} while calls succeed. After {@code failureThreshold} consecutive failures it
+ * opens and {@link #tryAcquire()} refuses all calls for {@code openDuration}. Then a single probe call is let
+ * through ({@link State#HALF_OPEN}): if it succeeds the breaker closes, otherwise it opens again for another
+ * {@code openDuration}.
+ * <p>
+ * The state is published as the gauge {@code <name>.circuit.state} (0 closed, 1 half open, 2 open), and refused
+ * calls are counted in {@code <name>.circuit.rejections}.
+ */
+public final class CircuitBreaker {
+
+    /**
+     * State of the breaker.
+     */
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoTime;
+    private final Counter rejections;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    /**
+     * Creates a closed breaker and registers its metrics.
+     *
+     * @param name             metric name prefix
+     * @param failureThreshold consecutive failures that open the breaker
+     * @param openDuration     time the breaker stays open before a probe call is let through
+     * @param meterRegistry    registry for the metrics
+     */
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+        this(name, failureThreshold, openDuration, meterRegistry, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureThreshold, Duration openDuration, MeterRegistry meterRegistry,
+                   LongSupplier nanoTime) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be at least 1, got " + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoTime = nanoTime;
+        Gauge.builder(name + ".circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 half open, 2 open").register(meterRegistry);
+        this.rejections = Counter.builder(name + ".circuit.rejections")
+                .description("Calls refused while the circuit was open").register(meterRegistry);
+    }
+
+    /**
+     * Admits a call unless the breaker is open. Every admitted call must be completed with
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     *
+     * @return {@code true} if the call may go ahead
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && nanoTime.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        rejections.increment();
+        return false;
+    }
+
+    /**
+     * Records a successful call.
+     *
+     * @return {@code true} if the call was the probe that closed the breaker
+     */
+    public synchronized boolean onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a failed call, opening the breaker when the threshold is reached or the probe failed.
+     */
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = nanoTime.getAsLong();
+        }
+    }
+
+    /**
+     * Returns the current state.
+     *
+     * @return the state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,305 @@
+package com.subash.user.management.repository;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link DataSource} slowing down and failing the connections and statements of its delegate, to reproduce a
+ * slow or failing database locally. Only used with the {@code fault-injection} profile, see
+ * {@code FaultInjectionConfig}.
+ * <p>
+ * Borrowing a connection is delayed by the {@code connection} fault, which stands for a pool that has to wait for
+ * a connection. Executing a prepared statement is delayed by the fault of its {@link StatementType}. Each fault can
+ * also fail the call: borrowing with a {@link SQLTransientConnectionException}, executing with an
+ * {@link SQLException} of state {@code 08006} (connection failure), both translated by Spring into a
+ * {@code DataAccessResourceFailureException}.
+ * <p>
+ * The settings can be replaced at any time, e.g. by tests running several scenarios. The executions of each
+ * statement type since the last replacement are counted, so that tests can tell how many calls reached a fault.
+ */
+public class FaultInjectingDataSource extends DelegatingDataSource {
+
+    /**
+     * Kind of a statement, derived from its SQL.
+     */
+    public enum StatementType {
+        /**
+         * Lookup of a user by username, as issued by {@link UserRepository#findByUsername}.
+         */
+        SELECT_BY_USERNAME,
+        /**
+         * Any other query.
+         */
+        SELECT,
+        INSERT,
+        UPDATE,
+        DELETE,
+        /**
+         * Anything else, e.g. locks.
+         */
+        OTHER;
+
+        /**
+         * Classifies a statement.
+         *
+         * @param sql the SQL of the statement
+         * @return the kind of the statement
+         */
+        public static StatementType of(String sql) {
+            String normalized = sql.stripLeading().toLowerCase(Locale.ROOT);
+            if (normalized.startsWith("select")) {
+                return normalized.contains(" from users ") && normalized.contains(".username=?")
+                        ? SELECT_BY_USERNAME : SELECT;
+            }
+            if (normalized.startsWith("insert")) {
+                return INSERT;
+            }
+            if (normalized.startsWith("update")) {
+                return UPDATE;
+            }
+            if (normalized.startsWith("delete")) {
+                return DELETE;
+            }
+            return OTHER;
+        }
+    }
+
+    /**
+     * Latency and failures injected into a call. The latency follows a log-normal distribution with the given
+     * median and 99th percentile; equal values give a fixed latency.
+     *
+     * @param median    median of the added latency, null or zero for none
+     * @param p99       99th percentile of the added latency, null for the median
+     * @param errorRate fraction of the calls that fail after the latency
+     */
+    public record Fault(Duration median, Duration p99, double errorRate) {
+
+        /**
+         * No latency and no failures.
+         */
+        public static final Fault NONE = new Fault(Duration.ZERO, Duration.ZERO, 0.0);
+
+        /**
+         * z-score of the 99th percentile of the standard normal distribution.
+         */
+        private static final double Z_99 = 2.3263;
+
+        public Fault {
+            median = median != null ? median : Duration.ZERO;
+            p99 = p99 != null ? p99 : median;
+            if (median.isNegative() || p99.compareTo(median) < 0) {
+                throw new IllegalArgumentException("Latency must satisfy 0 <= median <= p99, got " + median
+                        + " and " + p99);
+            }
+            if (errorRate < 0.0 || errorRate > 1.0) {
+                throw new IllegalArgumentException("Error rate must be between 0 and 1, got " + errorRate);
+            }
+        }
+
+        /**
+         * Draws a latency.
+         *
+         * @param random source of randomness
+         * @return the latency in nanoseconds
+         */
+        long sampleNanos(Random random) {
+            long medianNanos = median.toNanos();
+            if (medianNanos == 0 || p99.equals(median)) {
+                return medianNanos;
+            }
+            double sigma = Math.log((double) p99.toNanos() / medianNanos) / Z_99;
+            return (long) (medianNanos * Math.exp(sigma * random.nextGaussian()));
+        }
+
+        boolean fails(Random random) {
+            return errorRate > 0.0 && random.nextDouble() < errorRate;
+        }
+    }
+
+    /**
+     * Faults injected by the data source.
+     *
+     * @param connection fault of borrowing a connection
+     * @param statements faults of executing statements, by kind; kinds without an entry are left alone
+     * @param seed       seed of the random draws, null for a random seed
+     */
+    public record Settings(Fault connection, Map<StatementType, Fault> statements, Long seed) {
+
+        /**
+         * Injects nothing.
+         */
+        public static final Settings NONE = new Settings(Fault.NONE, Map.of(), null);
+
+        public Settings {
+            connection = connection != null ? connection : Fault.NONE;
+            statements = statements != null && !statements.isEmpty()
+                    ? new EnumMap<>(statements) : new EnumMap<>(StatementType.class);
+        }
+
+        Fault statement(StatementType type) {
+            return statements.getOrDefault(type, Fault.NONE);
+        }
+    }
+
+    private volatile Settings settings;
+    private volatile Random random;
+    private volatile AtomicLongArray executions;
+
+    /**
+     * Constructs the data source.
+     *
+     * @param delegate the actual data source
+     * @param settings the faults to inject
+     */
+    public FaultInjectingDataSource(DataSource delegate, Settings settings) {
+        super(delegate);
+        setSettings(settings);
+    }
+
+    /**
+     * @return the faults currently injected
+     */
+    public Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Replaces the faults to inject, taking effect for the next connection borrowed or statement executed.
+     *
+     * @param settings the faults to inject
+     */
+    public void setSettings(Settings settings) {
+        this.executions = new AtomicLongArray(StatementType.values().length);
+        this.random = settings.seed() != null ? new Random(settings.seed()) : new Random();
+        this.settings = settings;
+    }
+
+    /**
+     * Returns the number of executions of statements of a kind since the settings were last replaced, including
+     * the failed ones.
+     *
+     * @param type kind of statement
+     * @return the number of executions
+     */
+    public long getExecutions(StatementType type) {
+        return executions.get(type.ordinal());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        inject(settings.connection(), "connection");
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        inject(settings.connection(), "connection");
+        return wrap(super.getConnection(username, password));
+    }
+
+    private void inject(Fault fault, String target) throws SQLException {
+        Random current = random;
+        long nanos = fault.sampleNanos(current);
+        boolean fails = fault.fails(current);
+        if (nanos > 0) {
+            sleep(nanos);
+        }
+        if (fails) {
+            if ("connection".equals(target)) {
+                throw new SQLTransientConnectionException("Injected failure borrowing a connection");
+            }
+            throw new SQLException("Injected failure executing " + target, "08006");
+        }
+    }
+
+    private static void sleep(long nanos) throws SQLException {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while injecting latency", "57014", e);
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Wraps the prepared statements of a connection.
+     */
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = FaultInjectingDataSource.invoke(target, method, args);
+            if (result instanceof PreparedStatement statement && args != null && args[0] instanceof String sql) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[]{method.getReturnType()},
+                        new StatementHandler(statement, StatementType.of(sql)));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Injects the fault of its statement type into the executions of a prepared statement.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final PreparedStatement target;
+        private final StatementType type;
+
+        StatementHandler(PreparedStatement target, StatementType type) {
+            this.target = target;
+            this.type = type;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().startsWith("execute")) {
+                executions.incrementAndGet(type.ordinal());
+                inject(settings.statement(type), type.name());
+            }
+            return FaultInjectingDataSource.invoke(target, method, args);
+        }
+    }
+}
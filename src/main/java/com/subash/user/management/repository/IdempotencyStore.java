@@ -0,0 +1,40 @@
+package com.subash.user.management.repository;
+
+import java.util.Optional;
+
+/**
+ * Responses of completed idempotent requests, kept by idempotency key until they expire.
+ * <p>
+ * Only the first response stored for a key is kept; saving an unexpired key again leaves it unchanged, so an
+ * instance that executed a retry concurrently cannot overwrite the response other retries were given.
+ * <p>
+ * The active store is selected with the {@code idempotency.store.type} property.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Returns the stored response for a key if it has not expired.
+     *
+     * @param key idempotency key, prefixed with the operation id
+     * @return the stored response, or empty
+     */
+    Optional<Entry> find(String key);
+
+    /**
+     * Stores the response for a key unless an unexpired response is already stored for it.
+     *
+     * @param key   idempotency key, prefixed with the operation id
+     * @param entry the response
+     */
+    void save(String key, Entry entry);
+
+    /**
+     * A stored response.
+     *
+     * @param fingerprint hash of the request the response was produced for
+     * @param status      HTTP status code of the response
+     * @param body        JSON body of the response
+     */
+    record Entry(String fingerprint, int status, String body) {
+    }
+}
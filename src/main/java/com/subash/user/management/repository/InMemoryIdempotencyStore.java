@@ -0,0 +1,97 @@
+package com.subash.user.management.repository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link IdempotencyStore} holding the responses in the heap of this instance.
+ * <p>
+ * Keeps at most {@code idempotency.max-entries} responses for {@code idempotency.ttl}; beyond that, the least
+ * recently used are dropped first, so that keys still being retried outlive keys whose clients have moved on. Responses are lost on restart and not shared between instances, so a retry routed to
+ * another instance is executed again and answered by the usual conflict checks of the operation.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final Map<String, StoredEntry> entries;
+
+    /**
+     * Constructs the store.
+     *
+     * @param maxEntries    maximum number of responses kept
+     * @param ttl           time a response is kept
+     * @param meterRegistry registry for the size gauge
+     */
+    @Autowired
+    public InMemoryIdempotencyStore(@Value("${idempotency.max-entries:10000}") int maxEntries,
+                                    @Value("${idempotency.ttl:24h}") Duration ttl,
+                                    MeterRegistry meterRegistry) {
+        this(maxEntries, ttl, meterRegistry, System::nanoTime);
+    }
+
+    InMemoryIdempotencyStore(int maxEntries, Duration ttl, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredEntry> eldest) {
+                return size() > InMemoryIdempotencyStore.this.maxEntries;
+            }
+        };
+        Gauge.builder("idempotency.store.size", this, InMemoryIdempotencyStore::size)
+                .description("Responses kept for idempotent retries").register(meterRegistry);
+    }
+
+    @Override
+    public synchronized Optional<Entry> find(String key) {
+        StoredEntry stored = entries.get(key);
+        if (stored == null) {
+            return Optional.empty();
+        }
+        if (expired(stored)) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(stored.entry());
+    }
+
+    @Override
+    public synchronized void save(String key, Entry entry) {
+        StoredEntry stored = entries.get(key);
+        if (stored != null && !expired(stored)) {
+            return;
+        }
+        entries.put(key, new StoredEntry(entry, nanoTime.getAsLong()));
+    }
+
+    /**
+     * Returns the number of responses held, including expired ones not yet looked up again.
+     *
+     * @return the size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean expired(StoredEntry stored) {
+        return nanoTime.getAsLong() - stored.storedAt() > ttlNanos;
+    }
+
+    private record StoredEntry(Entry entry, long storedAt) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.subash.user.management.repository;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} keeping the responses in the {@code idempotency_keys} table, shared by all instances.
+ * <p>
+ * A response is kept for {@code idempotency.ttl}; expiry is evaluated with the database clock. Expired rows
+ * are ignored by {@link #find(String)}, may be overwritten by {@link #save(String, Entry)} and are deleted
+ * every {@code idempotency.purge-interval-ms}.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store.type", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger logger = LogManager.getLogger(JdbcIdempotencyStore.class);
+
+    private static final String SELECT_ENTRY = "SELECT fingerprint, status, body FROM idempotency_keys "
+            + "WHERE idempotency_key = ? AND expires_at > now()";
+    private static final String INSERT_ENTRY = "INSERT INTO idempotency_keys "
+            + "(idempotency_key, fingerprint, status, body, created_at, expires_at) "
+            + "VALUES (?, ?, ?, ?, now(), now() + ? * INTERVAL '1 millisecond') "
+            + "ON CONFLICT (idempotency_key) DO UPDATE SET fingerprint = EXCLUDED.fingerprint, "
+            + "status = EXCLUDED.status, body = EXCLUDED.body, created_at = EXCLUDED.created_at, "
+            + "expires_at = EXCLUDED.expires_at WHERE idempotency_keys.expires_at <= now()";
+    private static final String DELETE_EXPIRED = "DELETE FROM idempotency_keys WHERE expires_at <= now()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+
+    /**
+     * Constructs the store.
+     *
+     * @param jdbcTemplate template for the statements
+     * @param ttl          time a response is kept
+     */
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, @Value("${idempotency.ttl:24h}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    @Override
+    public Optional<Entry> find(String key) {
+        List<Entry> entries = jdbcTemplate.query(SELECT_ENTRY,
+                (rs, rowNum) -> new Entry(rs.getString("fingerprint"), rs.getInt("status"), rs.getString("body")),
+                key);
+        return entries.stream().findFirst();
+    }
+
+    @Override
+    public void save(String key, Entry entry) {
+        jdbcTemplate.update(INSERT_ENTRY, key, entry.fingerprint(), entry.status(), entry.body(), ttlMillis);
+    }
+
+    /**
+     * Deletes the expired responses.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update(DELETE_EXPIRED);
+        if (purged > 0) {
+            logger.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
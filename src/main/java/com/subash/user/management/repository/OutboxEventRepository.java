@@ -0,0 +1,47 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the {@link OutboxEvent} entities written alongside user changes.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Claims the oldest pending events, skipping rows already locked by another relay instance.
+     * Must be called inside a transaction; the locks are held until it completes.
+     *
+     * @param batchSize maximum number of events to claim
+     * @return the claimed events ordered by id
+     */
+    @Query(value = "SELECT * FROM user_outbox ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("batchSize") int batchSize);
+
+    /**
+     * Removes the given events in a single statement once they have been published.
+     *
+     * @param ids identifiers of the published events
+     * @return number of removed rows
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns the creation time of the oldest pending event.
+     *
+     * @return the oldest creation time, or {@code null} if the outbox is empty
+     */
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e")
+    Instant findOldestCreatedAt();
+}
@@ -0,0 +1,127 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Username lookup that keeps serving known users while the database is unavailable.
+ * <p>
+ * Lookups go through a {@link CircuitBreaker}. Every user read successfully is stored in the
+ * {@link UserFallbackCache}. When a lookup fails, or the breaker is open and the database is not tried at all,
+ * the last known good copy is returned if it is within the staleness limit. Otherwise the lookup fails with a
+ * {@link DataAccessResourceFailureException}, which is answered with 503.
+ * <p>
+ * When a probe call closes the breaker again, the cached users are re-read in the background, so copies that
+ * changed or were removed during the outage are corrected before they are needed.
+ */
+public final class ResilientUserLookup {
+
+    private static final Logger logger = LogManager.getLogger(ResilientUserLookup.class);
+
+    private final CircuitBreaker circuitBreaker;
+    private final UserFallbackCache fallbackCache;
+    private final Function<String, Optional<User>> loader;
+    private final Executor refreshExecutor;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final Counter fallbackServed;
+    private final Counter fallbackMissed;
+
+    /**
+     * Creates the lookup.
+     *
+     * @param circuitBreaker  breaker guarding the database
+     * @param fallbackCache   last known good users
+     * @param loader          reads a user from the database
+     * @param refreshExecutor runs the refresh after the database recovers
+     * @param meterRegistry   registry for the fallback metrics
+     */
+    public ResilientUserLookup(CircuitBreaker circuitBreaker, UserFallbackCache fallbackCache,
+                               Function<String, Optional<User>> loader, Executor refreshExecutor,
+                               MeterRegistry meterRegistry) {
+        this.circuitBreaker = circuitBreaker;
+        this.fallbackCache = fallbackCache;
+        this.loader = loader;
+        this.refreshExecutor = refreshExecutor;
+        this.fallbackServed = Counter.builder("user.lookup.fallback.calls").tag("outcome", "served")
+                .description("Lookups answered from the last known good copy").register(meterRegistry);
+        this.fallbackMissed = Counter.builder("user.lookup.fallback.calls").tag("outcome", "missed")
+                .description("Lookups that failed without a usable last known good copy").register(meterRegistry);
+    }
+
+    /**
+     * Looks up a user, falling back to the last known good copy if the database is unavailable.
+     *
+     * @param username the username
+     * @return the user, or empty if the database has no such user
+     * @throws DataAccessResourceFailureException if the breaker is open and there is no usable copy
+     * @throws RuntimeException                   the failure of the database call if there is no usable copy
+     */
+    public Optional<User> find(String username) {
+        if (!circuitBreaker.tryAcquire()) {
+            return Optional.of(fallback(username).orElseThrow(() -> new DataAccessResourceFailureException(
+                    "User lookups are suspended after repeated database failures")));
+        }
+        Optional<User> user;
+        try {
+            user = loader.apply(username);
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            return Optional.of(fallback(username).orElseThrow(() -> e));
+        }
+        if (circuitBreaker.onSuccess()) {
+            logger.info("User lookups recovered, refreshing {} last known good users", fallbackCache.size());
+            refreshExecutor.execute(this::refresh);
+        }
+        store(username, user);
+        return user;
+    }
+
+    private Optional<User> fallback(String username) {
+        Optional<User> user = fallbackCache.get(username);
+        (user.isPresent() ? fallbackServed : fallbackMissed).increment();
+        return user;
+    }
+
+    private void store(String username, Optional<User> user) {
+        if (user.isPresent()) {
+            fallbackCache.put(user.get());
+        } else {
+            fallbackCache.remove(username);
+        }
+    }
+
+    /**
+     * Re-reads every cached user, stopping at the first failure.
+     */
+    private void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (String username : fallbackCache.usernames()) {
+                if (!circuitBreaker.tryAcquire()) {
+                    return;
+                }
+                try {
+                    store(username, loader.apply(username));
+                    circuitBreaker.onSuccess();
+                } catch (RuntimeException e) {
+                    circuitBreaker.onFailure();
+                    logger.warn("Refresh of last known good users stopped: {}", e.getMessage());
+                    return;
+                }
+            }
+        } finally {
+            refreshing.set(false);
+        }
+    }
+}
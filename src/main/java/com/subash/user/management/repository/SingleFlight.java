@@ -0,0 +1,108 @@
+package com.subash.user.management.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into one call.
+ * <p>
+ * The first caller for a key (the leader) runs the load on its own thread; callers arriving while it is in
+ * flight wait for its result instead of issuing the same query again. A failure of the load is rethrown to
+ * every waiter. Waiters give up after the configured timeout with a {@link QueryTimeoutException}, while the
+ * leader keeps running and completes for the others. Nothing is cached: once the load completes, the next
+ * caller starts a new one.
+ * <p>
+ * Waiters receive the same instance as the leader, so loaded values must be treated as read-only.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timeouts;
+
+    /**
+     * Creates a single-flight group and registers its metrics under {@code <name>.single.flight.*}.
+     *
+     * @param name          metric name prefix
+     * @param timeout       maximum time a waiter waits for the in-flight load
+     * @param meterRegistry registry for the metrics
+     */
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.timeout = timeout;
+        this.leaders = Counter.builder(name + ".single.flight.calls").tag("role", "leader")
+                .description("Loads executed against the database").register(meterRegistry);
+        this.coalesced = Counter.builder(name + ".single.flight.calls").tag("role", "coalesced")
+                .description("Calls served by joining a load already in flight").register(meterRegistry);
+        this.timeouts = Counter.builder(name + ".single.flight.timeouts")
+                .description("Waiters that gave up on the in-flight load").register(meterRegistry);
+        Gauge.builder(name + ".single.flight.in.flight", inFlight, ConcurrentHashMap::size)
+                .description("Keys with a load in flight").register(meterRegistry);
+    }
+
+    /**
+     * Returns the result of {@code loader} for the key, sharing a load already in flight for it.
+     *
+     * @param key    key to load
+     * @param loader load to run when no load for the key is in flight
+     * @return the loaded value
+     * @throws QueryTimeoutException if the in-flight load does not complete within the timeout
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new QueryTimeoutException("Timed out after " + timeout.toMillis()
+                    + " ms waiting for an in-flight load", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted while waiting for an in-flight load", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new DataAccessResourceFailureException("In-flight load failed", cause);
+        }
+    }
+}
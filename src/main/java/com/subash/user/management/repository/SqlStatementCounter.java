@@ -0,0 +1,129 @@
+package com.subash.user.management.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts and times the SQL statements Hibernate issues on the current thread between {@link #begin()} and
+ * {@link #end()}, usually for one HTTP request.
+ * <p>
+ * {@link SqlStatementInspector} reports each statement as it is prepared and {@link SqlStatementTimingListener}
+ * reports how long its execution took. Statements issued outside of a scope, e.g. by background jobs, are not
+ * counted here; they show in the Hibernate statistics only.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Starts counting the statements of the current thread, replacing a scope that was not ended.
+     *
+     * @return the new scope
+     */
+    public static Scope begin() {
+        Scope scope = new Scope();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Stops counting the statements of the current thread.
+     *
+     * @return the ended scope, null if none was started
+     */
+    public static Scope end() {
+        Scope scope = CURRENT.get();
+        CURRENT.remove();
+        return scope;
+    }
+
+    static void prepared(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.prepared(sql);
+        }
+    }
+
+    static void executed(long nanos) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.executed(nanos);
+        }
+    }
+
+    /**
+     * A statement issued in a scope, with its execution time. The time is -1 if the statement was prepared but
+     * not executed through Hibernate, or for the statements of a batch but its last.
+     */
+    public record Statement(String sql, long nanos) {
+    }
+
+    /**
+     * Statements of one scope. Only used by the thread that started it.
+     */
+    public static final class Scope {
+
+        /**
+         * Statements kept with their text; later ones are only counted.
+         */
+        static final int MAX_KEPT_STATEMENTS = 1000;
+
+        private final List<Statement> statements = new ArrayList<>();
+        private int count;
+        private long totalNanos;
+        private String pendingSql;
+
+        private void prepared(String sql) {
+            flushPending();
+            count++;
+            pendingSql = sql;
+        }
+
+        private void executed(long nanos) {
+            totalNanos += nanos;
+            if (pendingSql != null) {
+                keep(new Statement(pendingSql, nanos));
+                pendingSql = null;
+            }
+        }
+
+        private void flushPending() {
+            if (pendingSql != null) {
+                keep(new Statement(pendingSql, -1));
+                pendingSql = null;
+            }
+        }
+
+        private void keep(Statement statement) {
+            if (statements.size() < MAX_KEPT_STATEMENTS) {
+                statements.add(statement);
+            }
+        }
+
+        /**
+         * @return number of statements prepared in this scope
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return total execution time of the statements in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return the statements in the order they were issued, at most {@link #MAX_KEPT_STATEMENTS}
+         */
+        public List<Statement> getStatements() {
+            flushPending();
+            return Collections.unmodifiableList(statements);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.subash.user.management.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Reports every SQL statement Hibernate prepares to the {@link SqlStatementCounter}, leaving it unchanged.
+ * Registered as {@code hibernate.session_factory.statement_inspector} by {@code SqlStatisticsConfig}.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.prepared(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,34 @@
+package com.subash.user.management.repository;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Reports the execution time of the statements and batches of a session to the {@link SqlStatementCounter}.
+ * <p>
+ * Hibernate creates one listener per session from its class name, registered as
+ * {@code hibernate.session.events.auto} by {@code SqlStatisticsConfig}. A session is used by one thread at a time.
+ */
+public class SqlStatementTimingListener implements SessionEventListener {
+
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementCounter.executed(System.nanoTime() - start);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementCounter.executed(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,186 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.model.Role;
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.subash.user.management.util.Constants.*;
+
+/**
+ * Set based loader for bulk user imports.
+ * <p>
+ * Every call of {@link #load(List)} loads one chunk of rows in its own short transaction on a connection taken
+ * from the pool for that chunk only. On PostgreSQL the rows are streamed into a temporary staging table with the
+ * {@code COPY} protocol and merged into {@code users} with a single
+ * {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING}. The same statement appends the change log entries and
+ * outbox events of the inserted users, so bulk imported users show up in the change feed and downstream systems
+ * like any other registration.
+ * <p>
+ * Imports are PostgreSQL-only, like the other change log writers: a connection that does not expose the
+ * {@code COPY} API is refused. The merge inserts the users and appends their change log entries while holding
+ * the change log write lock, like {@code UserChangeLogService}, so change sequences stay in commit order. The lock is held for the merge of one
+ * chunk only; registrations and removals wait for at most one chunk, never for the whole file.
+ */
+@Repository
+public class UserBulkLoader {
+
+    private static final String LOCK_CHANGE_LOG = "SELECT pg_advisory_xact_lock(?)";
+
+    private static final String CREATE_STAGE = "CREATE TEMPORARY TABLE users_import_stage ("
+            + "line_no bigint NOT NULL, username text NOT NULL, password_hash text NOT NULL, role text NOT NULL, "
+            + "email_id text, phone_number text) ON COMMIT DROP";
+
+    private static final String COPY_STAGE = "COPY users_import_stage "
+            + "(line_no, username, password_hash, role, email_id, phone_number) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String USER_JSON = "json_strip_nulls(json_build_object('username', i.username, "
+            + "'role', CASE i.role WHEN 'ROLE_ADMIN' THEN 'ADMIN' ELSE 'USER' END, "
+            + "'emailId', i.email_id, 'phoneNumber', i.phone_number))::text";
+
+    private static final String MERGE_STAGE = "WITH firsts AS ("
+            + "  SELECT DISTINCT ON (username) line_no, username, password_hash, role, email_id, phone_number"
+            + "  FROM users_import_stage ORDER BY username, line_no), "
+            + "ins AS ("
+            + "  INSERT INTO users (username, password_hash, role, email_id, phone_number)"
+            + "  SELECT username, password_hash, role, email_id, phone_number FROM firsts ORDER BY line_no"
+            + "  ON CONFLICT DO NOTHING"
+            + "  RETURNING id, username, role, email_id, phone_number), "
+            + "change_log AS ("
+            + "  INSERT INTO user_change_log (username, change_type, payload, changed_at)"
+            + "  SELECT i.username, '" + CHANGE_CREATED + "', " + USER_JSON + ", now() FROM ins i ORDER BY i.id), "
+            + "outbox AS ("
+            + "  INSERT INTO user_outbox (aggregate_id, event_type, payload, created_at)"
+            + "  SELECT i.username, '" + USER_CREATED_EVENT + "', " + USER_JSON + ", now() FROM ins i ORDER BY i.id) "
+            + "SELECT s.line_no, s.username FROM users_import_stage s WHERE NOT EXISTS ("
+            + "  SELECT 1 FROM ins JOIN firsts f ON f.username = ins.username WHERE f.line_no = s.line_no) "
+            + "ORDER BY s.line_no";
+
+    private final DataSource dataSource;
+
+    /**
+     * Constructs the loader with its required dependencies.
+     *
+     * @param dataSource data source the users are loaded into
+     */
+    public UserBulkLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Inserts the rows that do not conflict with existing users, including users of earlier chunks, and commits.
+     *
+     * @param users rows of one chunk
+     * @return the rows that were skipped because their username or email already exists, or repeats an earlier
+     * row of the chunk
+     * @throws SQLFeatureNotSupportedException if the connection is not a PostgreSQL connection
+     * @throws Exception                        if the chunk cannot be loaded; nothing of it is committed then
+     */
+    public List<Conflict> load(List<StagedUser> users) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                throw new SQLFeatureNotSupportedException("Bulk import requires a PostgreSQL connection");
+            }
+            connection.setAutoCommit(false);
+            try {
+                List<Conflict> conflicts = copyLoad(connection, users);
+                connection.commit();
+                return conflicts;
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * A validated user row with its already hashed password.
+     *
+     * @param lineNo       line number of the row in the source file
+     * @param username     username
+     * @param passwordHash BCrypt hash of the password
+     * @param role         entity role
+     * @param emailId      email address, may be {@code null}
+     * @param phoneNumber  phone number, may be {@code null}
+     */
+    public record StagedUser(long lineNo, String username, String passwordHash, Role role, String emailId,
+                             String phoneNumber) {
+    }
+
+    /**
+     * A row that was valid but could not be inserted, because the username or email already exists.
+     *
+     * @param lineNo   line number of the row in the source file
+     * @param username username of the row
+     */
+    public record Conflict(long lineNo, String username) {
+    }
+
+    private static void lockChangeLog(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_CHANGE_LOG)) {
+            statement.setLong(1, UserChangeLogRepository.WRITE_LOCK_KEY);
+            statement.execute();
+        }
+    }
+
+    /**
+     * PostgreSQL load through {@code COPY} into a staging table. Only the merge runs under the change log lock.
+     */
+    private static List<Conflict> copyLoad(Connection connection, List<StagedUser> users) throws SQLException,
+            IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGE);
+        }
+        StringBuilder csv = new StringBuilder(users.size() * 128);
+        for (StagedUser user : users) {
+            csv.append(user.lineNo()).append(',');
+            appendCsv(csv, user.username()).append(',');
+            appendCsv(csv, user.passwordHash()).append(',');
+            appendCsv(csv, user.role().name()).append(',');
+            appendCsv(csv, user.emailId()).append(',');
+            appendCsv(csv, user.phoneNumber()).append('\n');
+        }
+        connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGE, new StringReader(csv.toString()));
+
+        lockChangeLog(connection);
+        List<Conflict> conflicts = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(MERGE_STAGE)) {
+            while (resultSet.next()) {
+                conflicts.add(new Conflict(resultSet.getLong(1), resultSet.getString(2)));
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Appends a quoted CSV field; {@code null} is written as an unquoted empty field, which COPY reads as NULL.
+     */
+    private static StringBuilder appendCsv(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv;
+        }
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+}
@@ -0,0 +1,12 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.model.UserChangeLogHorizon;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the single {@link UserChangeLogHorizon} row.
+ */
+@Repository
+public interface UserChangeLogHorizonRepository extends JpaRepository<UserChangeLogHorizon, Integer> {
+}
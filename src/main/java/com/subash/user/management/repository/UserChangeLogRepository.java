@@ -0,0 +1,81 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.model.UserChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for the {@link UserChangeLogEntry} entities backing the user change feed.
+ */
+@Repository
+public interface UserChangeLogRepository extends JpaRepository<UserChangeLogEntry, Long> {
+
+    /**
+     * Advisory lock key serializing change log writers ("UCL" in ASCII).
+     */
+    long WRITE_LOCK_KEY = 0x55434CL;
+
+    /**
+     * Takes the transaction scoped lock that serializes change log writers, so that change
+     * sequences are committed in the order they are allocated.
+     *
+     * @param key advisory lock key
+     * @return always {@code 1}
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    Integer acquireWriteLock(@Param("key") long key);
+
+    /**
+     * Retrieves the changes after the given sequence, in sequence order.
+     *
+     * @param since last sequence already seen by the consumer
+     * @param limit maximum number of changes to return
+     * @return the next changes
+     */
+    List<UserChangeLogEntry> findBySeqGreaterThanOrderBySeqAsc(long since, Limit limit);
+
+    /**
+     * Removes entries that are superseded by a later entry for the same username.
+     *
+     * @param upTo highest sequence considered for removal
+     * @return number of removed entries
+     */
+    @Modifying
+    @Query(value = "DELETE FROM user_change_log c WHERE c.seq <= :upTo AND EXISTS "
+            + "(SELECT 1 FROM user_change_log n WHERE n.username = c.username AND n.seq > c.seq)", nativeQuery = true)
+    int deleteSuperseded(@Param("upTo") long upTo);
+
+    /**
+     * Returns the highest sequence of the tombstones recorded before the cutoff.
+     *
+     * @param cutoff tombstones older than this are eligible for purging
+     * @return highest eligible sequence, or {@code null} if there is none
+     */
+    @Query("SELECT MAX(c.seq) FROM UserChangeLogEntry c WHERE c.changeType = 'REMOVED' AND c.changedAt < :cutoff")
+    Long findMaxTombstoneSeqBefore(@Param("cutoff") Instant cutoff);
+
+    /**
+     * Purges the tombstones up to the given sequence.
+     *
+     * @param upTo highest sequence to purge
+     * @return number of purged tombstones
+     */
+    @Modifying
+    @Query("DELETE FROM UserChangeLogEntry c WHERE c.changeType = 'REMOVED' AND c.seq <= :upTo")
+    int deleteTombstonesUpTo(@Param("upTo") long upTo);
+
+    /**
+     * Returns the latest change sequence.
+     *
+     * @return the latest sequence, or {@code null} if the log is empty
+     */
+    @Query("SELECT MAX(c.seq) FROM UserChangeLogEntry c")
+    Long findMaxSeq();
+}
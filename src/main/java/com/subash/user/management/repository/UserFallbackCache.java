@@ -0,0 +1,158 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.model.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+
+/**
+ * Last known good copies of users, served by {@link ResilientUserLookup} while the database is unavailable.
+ * <p>
+ * Holds the users most recently looked up, up to {@code user-lookup.fallback.max-entries}, and drops the least
+ * recently used ones beyond that. An entry is only served while it is younger than
+ * {@code user-lookup.fallback.max-staleness}, measured from when it was last read from the database, so an
+ * outage cannot keep outdated credentials alive indefinitely. Removed users are evicted once their removal
+ * has been committed.
+ * <p>
+ * Entries are shared between requests and must be treated as read-only.
+ */
+@Component
+public class UserFallbackCache {
+
+    private final int maxEntries;
+    private final long maxStalenessNanos;
+    private final LongSupplier nanoTime;
+    private final Map<String, Entry> entries;
+    private final ExecutorService refreshExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("user-fallback-refresh").factory());
+
+    /**
+     * Constructs the cache.
+     *
+     * @param maxEntries    maximum number of users kept
+     * @param maxStaleness  maximum age of an entry that is still served
+     * @param meterRegistry registry for the size gauge
+     */
+    @Autowired
+    public UserFallbackCache(@Value("${user-lookup.fallback.max-entries:10000}") int maxEntries,
+                             @Value("${user-lookup.fallback.max-staleness:15m}") Duration maxStaleness,
+                             MeterRegistry meterRegistry) {
+        this(maxEntries, maxStaleness, meterRegistry, System::nanoTime);
+    }
+
+    UserFallbackCache(int maxEntries, Duration maxStaleness, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.maxEntries = maxEntries;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.nanoTime = nanoTime;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > UserFallbackCache.this.maxEntries;
+            }
+        };
+        Gauge.builder("user.lookup.fallback.size", this, UserFallbackCache::size)
+                .description("Users held as last known good copies").register(meterRegistry);
+    }
+
+    /**
+     * Stores a user just read from the database.
+     *
+     * @param user the user
+     */
+    public synchronized void put(User user) {
+        entries.put(user.getUsername(), new Entry(user, nanoTime.getAsLong()));
+    }
+
+    /**
+     * Returns the last known good copy of a user if it is within the staleness limit.
+     *
+     * @param username the username
+     * @return the user, or empty if there is no copy or it is too old
+     */
+    public synchronized Optional<User> get(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (nanoTime.getAsLong() - entry.loadedAt() > maxStalenessNanos) {
+            entries.remove(username);
+            return Optional.empty();
+        }
+        return Optional.of(entry.user());
+    }
+
+    /**
+     * Removes a user, after the current transaction commits if there is one.
+     *
+     * @param username the username
+     */
+    public void evict(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(username);
+                }
+            });
+        } else {
+            remove(username);
+        }
+    }
+
+    /**
+     * Returns the usernames currently held, least recently used first.
+     *
+     * @return a snapshot of the usernames
+     */
+    public synchronized List<String> usernames() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    /**
+     * Returns the number of users held.
+     *
+     * @return the size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Runs a task on the background refresh thread.
+     *
+     * @param task the task
+     */
+    void refreshInBackground(Runnable task) {
+        refreshExecutor.execute(task);
+    }
+
+    synchronized void remove(String username) {
+        entries.remove(username);
+    }
+
+    /**
+     * Stops the refresh thread on shutdown.
+     */
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private record Entry(User user, long loadedAt) {
+    }
+}
@@ -2,23 +2,17 @@ package com.subash.user.management.repository;
 
 import com.subash.user.management.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 /**
  * Repository interface for performing CRUD operations on {@link User} entities.
  * <p>
  * Extends {@link JpaRepository} to provide default implementations for common persistence methods.
+ * Username lookups come from {@link UserRepositoryCustom} and are served by the second-level cache.
+ * The admin listing is filtered with the {@link UserSpecifications}.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    /**
-     * Retrieves a user by their unique username.
-     *
-     * @param username the username to search for
-     * @return an {@link Optional} containing the {@link User} if found, or empty if not found
-     */
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>,
+        UserRepositoryCustom {
 }
@@ -0,0 +1,20 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.model.User;
+
+import java.util.Optional;
+
+/**
+ * Custom repository fragment for {@link User} lookups that go through the Hibernate natural-id API
+ * instead of a derived JPQL query.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Retrieves a user by their unique username.
+     *
+     * @param username the username to search for
+     * @return an {@link Optional} containing the {@link User} if found, or empty if not found
+     */
+    Optional<User> findByUsername(String username);
+}
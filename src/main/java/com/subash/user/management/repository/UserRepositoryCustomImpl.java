@@ -0,0 +1,75 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Implementation of {@link UserRepositoryCustom}.
+ * <p>
+ * Resolves the username through {@code Session#bySimpleNaturalId}, which consults the natural-id and
+ * entity regions of the second-level cache before falling back to a primary key query.
+ * <p>
+ * Inside a transaction the transactional entity manager is used, so the lookup sees the current
+ * persistence context. Outside of one a short-lived entity manager is opened instead of starting a
+ * transaction, so a cache hit does not even borrow a connection from the pool. These non-transactional
+ * lookups, made by authentication and user reads, go through a {@link SingleFlight}: concurrent misses
+ * for the same username share one query instead of each taking a connection. They are also guarded by a
+ * {@link ResilientUserLookup}, which serves last known good users while the database is unavailable.
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    private final SingleFlight<String, Optional<User>> lookups;
+    private final ResilientUserLookup resilientLookup;
+
+    /**
+     * Constructs the repository fragment.
+     *
+     * @param meterRegistry    registry for the single-flight and circuit breaker metrics
+     * @param fallbackCache    last known good users served while the database is unavailable
+     * @param timeout          maximum time a coalesced lookup waits for the in-flight query
+     * @param failureThreshold consecutive failed lookups that open the circuit
+     * @param openDuration     time the circuit stays open before a lookup is tried again
+     */
+    public UserRepositoryCustomImpl(MeterRegistry meterRegistry, UserFallbackCache fallbackCache,
+                                    @Value("${user-lookup.single-flight.timeout:2s}") Duration timeout,
+                                    @Value("${user-lookup.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                    @Value("${user-lookup.circuit-breaker.open-duration:10s}") Duration openDuration) {
+        this.lookups = new SingleFlight<>("user.lookup", timeout, meterRegistry);
+        CircuitBreaker circuitBreaker = new CircuitBreaker("user.lookup", failureThreshold, openDuration, meterRegistry);
+        this.resilientLookup = new ResilientUserLookup(circuitBreaker, fallbackCache, this::loadDetached,
+                fallbackCache::refreshInBackground, meterRegistry);
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        EntityManager transactional = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (transactional != null) {
+            return loadByNaturalId(transactional, username);
+        }
+        return lookups.execute(username, () -> resilientLookup.find(username));
+    }
+
+    private Optional<User> loadDetached(String username) {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            return loadByNaturalId(entityManager, username);
+        }
+    }
+
+    private static Optional<User> loadByNaturalId(EntityManager entityManager, String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
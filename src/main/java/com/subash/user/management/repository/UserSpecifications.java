@@ -0,0 +1,66 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.model.Role;
+import com.subash.user.management.model.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+
+/**
+ * {@link Specification}s for filtering {@link User}s in the admin listing.
+ * <p>
+ * Each method returns {@code null} when its filter is not given; {@link Specification#allOf} skips those, so
+ * only the given filters end up in the query. The role and registration time filters are served by the indexes
+ * on {@code (role, registered_at, id)} and {@code (registered_at, id)}. Email presence is checked on the rows
+ * read through them, as most users either have an address or most do not, and an index would rarely help.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * Matches users with the given role.
+     *
+     * @param role role to match, or null for any
+     * @return the specification, or null if no role is given
+     */
+    public static Specification<User> hasRole(Role role) {
+        return role == null ? null : (root, query, cb) -> cb.equal(root.get("role"), role);
+    }
+
+    /**
+     * Matches users with or without an email address.
+     *
+     * @param hasEmail true for users with an address, false for users without one, null for any
+     * @return the specification, or null if no preference is given
+     */
+    public static Specification<User> hasEmail(Boolean hasEmail) {
+        if (hasEmail == null) {
+            return null;
+        }
+        return (root, query, cb) -> hasEmail ? cb.isNotNull(root.get("emailId")) : cb.isNull(root.get("emailId"));
+    }
+
+    /**
+     * Matches users registered at or after a time.
+     *
+     * @param from inclusive lower bound, or null for none
+     * @return the specification, or null if no bound is given
+     */
+    public static Specification<User> registeredFrom(Instant from) {
+        return from == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.<Instant>get("registeredAt"), from);
+    }
+
+    /**
+     * Matches users registered before a time.
+     *
+     * @param before exclusive upper bound, or null for none
+     * @return the specification, or null if no bound is given
+     */
+    public static Specification<User> registeredBefore(Instant before) {
+        return before == null ? null
+                : (root, query, cb) -> cb.lessThan(root.<Instant>get("registeredAt"), before);
+    }
+}
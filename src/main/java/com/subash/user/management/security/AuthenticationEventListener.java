@@ -0,0 +1,67 @@
+package com.subash.user.management.security;
+
+import com.subash.user.management.service.LastLoginRecorder;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Feeds the authentication events published by Spring Security into the {@link LoginAttemptTracker} and the
+ * {@link LastLoginRecorder}.
+ * <p>
+ * Bad credentials count as a failure of the username and of the client address; unknown usernames are
+ * reported as bad credentials too. A successful authentication clears the failures of the username and is
+ * recorded as the user's last login.
+ */
+@Component
+public class AuthenticationEventListener {
+
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final LastLoginRecorder lastLoginRecorder;
+
+    /**
+     * Constructs the listener.
+     *
+     * @param loginAttemptTracker tracker of failed logins
+     * @param lastLoginRecorder   recorder of successful logins
+     */
+    public AuthenticationEventListener(LoginAttemptTracker loginAttemptTracker, LastLoginRecorder lastLoginRecorder) {
+        this.loginAttemptTracker = loginAttemptTracker;
+        this.lastLoginRecorder = lastLoginRecorder;
+    }
+
+    /**
+     * Records a login with a wrong password or an unknown username.
+     *
+     * @param event the failure event
+     */
+    @EventListener
+    public void onFailure(AuthenticationFailureBadCredentialsEvent event) {
+        Authentication authentication = event.getAuthentication();
+        loginAttemptTracker.recordFailure(authentication.getName(), remoteAddress(authentication));
+    }
+
+    /**
+     * Records a successful login.
+     *
+     * @param event the success event
+     */
+    @EventListener
+    public void onSuccess(AuthenticationSuccessEvent event) {
+        Authentication authentication = event.getAuthentication();
+        loginAttemptTracker.recordSuccess(authentication.getName());
+        if (authentication.getPrincipal() instanceof CustomUserDetails details && details.getUser().getId() != null) {
+            lastLoginRecorder.record(details.getUser().getId(), Instant.ofEpochMilli(event.getTimestamp()));
+        }
+    }
+
+    private static String remoteAddress(Authentication authentication) {
+        return authentication.getDetails() instanceof WebAuthenticationDetails details
+                ? details.getRemoteAddress() : null;
+    }
+}
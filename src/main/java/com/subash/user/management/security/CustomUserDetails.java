@@ -11,7 +11,9 @@ import java.util.List;
 /**
  * Custom implementation of {@link UserDetails} that wraps the {@link User} entity.
  * <p>
- * This is used by Spring Security for authentication and authorization.
+ * This is used by Spring Security for authentication and authorization. The wrapped entity stays
+ * available as the principal of the request through {@link #getUser()}, so the authenticated user's
+ * own record can be served without loading it again.
  */
 public class CustomUserDetails implements UserDetails {
 
@@ -55,4 +57,15 @@ public class CustomUserDetails implements UserDetails {
     public String getUsername() {
         return user.getUsername();
     }
+
+    /**
+     * Returns the user entity loaded when the request was authenticated.
+     * <p>
+     * The entity is detached and may be shared with concurrent requests, so it must not be modified.
+     *
+     * @return the authenticated user entity
+     */
+    public User getUser() {
+        return user;
+    }
 }
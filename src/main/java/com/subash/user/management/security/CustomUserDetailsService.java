@@ -1,5 +1,6 @@
 package com.subash.user.management.security;
 
+import com.subash.user.management.jfr.UserDetailsLoadEvent;
 import com.subash.user.management.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -11,7 +12,7 @@ import org.springframework.stereotype.Service;
  * to load user-specific data during authentication.
  * <p>
  * This service fetches a user from the database and wraps it in {@link CustomUserDetails}
- * to be used by the Spring Security context.
+ * to be used by the Spring Security context. Each load is recorded as a {@link UserDetailsLoadEvent}.
  */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -38,7 +39,7 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
+        return UserDetailsLoadEvent.record(() -> userRepository.findByUsername(username))
                 .map(CustomUserDetails::new)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
@@ -0,0 +1,141 @@
+package com.subash.user.management.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks failed logins per username and per client address to stop credential stuffing.
+ * <p>
+ * Failures are counted in two {@link StripedFailureCounter}s. A username is locked out after
+ * {@code login-throttle.username.max-failures} recent failures, an address after
+ * {@code login-throttle.ip.max-failures}, each for {@code login-throttle.lockout}. Failures count half after
+ * {@code login-throttle.half-life}. {@link LoginThrottleFilter} rejects locked out logins before the user is
+ * loaded or the password hashed. A successful login clears the failures of the username, but not of the
+ * address, so one valid account does not let an attacker keep trying others.
+ * <p>
+ * Usernames are compared case-insensitively, like the unique index on {@code users}. Metrics:
+ * {@code auth.login.failures}, {@code auth.login.lockouts{key}}, {@code auth.login.blocked{key}} and
+ * {@code auth.login.tracked{key}}, with {@code key=username|ip}.
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private static final Logger logger = LogManager.getLogger(LoginAttemptTracker.class);
+
+    private final StripedFailureCounter usernames;
+    private final StripedFailureCounter addresses;
+    private final Counter failures;
+    private final Counter usernameLockouts;
+    private final Counter addressLockouts;
+    private final Counter usernameBlocked;
+    private final Counter addressBlocked;
+
+    /**
+     * Constructs the tracker.
+     *
+     * @param usernameMaxFailures recent failures that lock a username out
+     * @param ipMaxFailures       recent failures that lock a client address out
+     * @param halfLife            time after which a failure counts half
+     * @param lockout             time a username or address stays locked out
+     * @param stripes             number of independently locked stripes per counter
+     * @param maxKeysPerStripe    usernames or addresses kept per stripe
+     * @param meterRegistry       registry for the metrics
+     */
+    @Autowired
+    public LoginAttemptTracker(@Value("${login-throttle.username.max-failures:5}") int usernameMaxFailures,
+                               @Value("${login-throttle.ip.max-failures:50}") int ipMaxFailures,
+                               @Value("${login-throttle.half-life:10m}") Duration halfLife,
+                               @Value("${login-throttle.lockout:5m}") Duration lockout,
+                               @Value("${login-throttle.stripes:64}") int stripes,
+                               @Value("${login-throttle.max-keys-per-stripe:4096}") int maxKeysPerStripe,
+                               MeterRegistry meterRegistry) {
+        this(usernameMaxFailures, ipMaxFailures, halfLife, lockout, stripes, maxKeysPerStripe, meterRegistry,
+                System::nanoTime);
+    }
+
+    LoginAttemptTracker(int usernameMaxFailures, int ipMaxFailures, Duration halfLife, Duration lockout, int stripes,
+                        int maxKeysPerStripe, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.usernames = new StripedFailureCounter(stripes, maxKeysPerStripe, usernameMaxFailures, halfLife, lockout,
+                nanoTime);
+        this.addresses = new StripedFailureCounter(stripes, maxKeysPerStripe, ipMaxFailures, halfLife, lockout,
+                nanoTime);
+        this.failures = Counter.builder("auth.login.failures")
+                .description("Failed logins").register(meterRegistry);
+        this.usernameLockouts = Counter.builder("auth.login.lockouts").tag("key", "username")
+                .description("Usernames locked out after repeated failures").register(meterRegistry);
+        this.addressLockouts = Counter.builder("auth.login.lockouts").tag("key", "ip")
+                .description("Client addresses locked out after repeated failures").register(meterRegistry);
+        this.usernameBlocked = Counter.builder("auth.login.blocked").tag("key", "username")
+                .description("Logins rejected because the username is locked out").register(meterRegistry);
+        this.addressBlocked = Counter.builder("auth.login.blocked").tag("key", "ip")
+                .description("Logins rejected because the client address is locked out").register(meterRegistry);
+        Gauge.builder("auth.login.tracked", usernames, StripedFailureCounter::size).tag("key", "username")
+                .description("Usernames with recent failures").register(meterRegistry);
+        Gauge.builder("auth.login.tracked", addresses, StripedFailureCounter::size).tag("key", "ip")
+                .description("Client addresses with recent failures").register(meterRegistry);
+    }
+
+    /**
+     * Returns how much longer a login attempt is locked out, counting it as blocked if it is.
+     *
+     * @param username the username of the attempt, or {@code null} if unknown
+     * @param address  the client address of the attempt
+     * @return the remaining lockout, or {@link Duration#ZERO} if the attempt may go ahead
+     */
+    public Duration lockedOutFor(String username, String address) {
+        long addressNanos = addresses.lockedOutFor(address);
+        if (addressNanos > 0) {
+            addressBlocked.increment();
+            return Duration.ofNanos(addressNanos);
+        }
+        if (username != null) {
+            long usernameNanos = usernames.lockedOutFor(key(username));
+            if (usernameNanos > 0) {
+                usernameBlocked.increment();
+                return Duration.ofNanos(usernameNanos);
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    /**
+     * Records a failed login.
+     *
+     * @param username the username tried
+     * @param address  the client address
+     */
+    public void recordFailure(String username, String address) {
+        failures.increment();
+        if (username != null && usernames.recordFailure(key(username))) {
+            usernameLockouts.increment();
+            logger.warn("Login locked out for username {} after repeated failures", username);
+        }
+        if (address != null && addresses.recordFailure(address)) {
+            addressLockouts.increment();
+            logger.warn("Login locked out for address {} after repeated failures", address);
+        }
+    }
+
+    /**
+     * Records a successful login, clearing the failures of the username.
+     *
+     * @param username the username
+     */
+    public void recordSuccess(String username) {
+        usernames.reset(key(username));
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
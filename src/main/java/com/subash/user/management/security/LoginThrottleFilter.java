@@ -0,0 +1,89 @@
+package com.subash.user.management.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.model.UserResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static com.subash.user.management.util.Constants.LOGIN_LOCKED_OUT;
+import static com.subash.user.management.util.Constants.LOGIN_LOCKED_OUT_CODE;
+
+/**
+ * Rejects HTTP Basic logins that the {@link LoginAttemptTracker} has locked out, before Spring Security loads
+ * the user or verifies the password.
+ * <p>
+ * Runs in the security filter chain ahead of the {@code BasicAuthenticationFilter}. Only the username is read
+ * from the {@code Authorization} header; requests without Basic credentials pass through. A locked out login
+ * is answered with 429, a {@code Retry-After} header and a body serialized once at startup.
+ */
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final byte[] lockedOutBody;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param loginAttemptTracker tracker of failed logins
+     * @param objectMapper        mapper used to serialize the error body once
+     */
+    public LoginThrottleFilter(LoginAttemptTracker loginAttemptTracker, ObjectMapper objectMapper) {
+        this.loginAttemptTracker = loginAttemptTracker;
+        UserResponse userResponse = new UserResponse();
+        userResponse.setCode(LOGIN_LOCKED_OUT_CODE);
+        userResponse.setMessage(LOGIN_LOCKED_OUT);
+        try {
+            this.lockedOutBody = objectMapper.writeValueAsBytes(userResponse);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize error body for code " + LOGIN_LOCKED_OUT_CODE, e);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Duration lockedOutFor = loginAttemptTracker.lockedOutFor(basicUsername(header), request.getRemoteAddr());
+        if (lockedOutFor.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(lockedOutFor.toSeconds() + 1));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(lockedOutBody.length);
+        response.getOutputStream().write(lockedOutBody);
+    }
+
+    /**
+     * Returns the username of a Basic {@code Authorization} header, or {@code null} if it cannot be decoded.
+     */
+    static String basicUsername(String header) {
+        try {
+            String credentials = new String(Base64.getDecoder().decode(header.substring(BASIC_PREFIX.length()).trim()),
+                    StandardCharsets.UTF_8);
+            int colon = credentials.indexOf(':');
+            return colon < 0 ? null : credentials.substring(0, colon);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
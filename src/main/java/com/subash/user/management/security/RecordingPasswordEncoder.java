@@ -0,0 +1,39 @@
+package com.subash.user.management.security;
+
+import com.subash.user.management.jfr.PasswordHashEvent;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} recording every hash and verification of its delegate as a {@link PasswordHashEvent}.
+ * <p>
+ * Hashing is deliberately slow and runs on every authenticated request, so it is timed separately from the
+ * loading of the user.
+ */
+public class RecordingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    /**
+     * Constructs the encoder.
+     *
+     * @param delegate encoder doing the actual hashing
+     */
+    public RecordingPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return PasswordHashEvent.record("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return PasswordHashEvent.record("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
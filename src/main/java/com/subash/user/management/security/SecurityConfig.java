@@ -1,6 +1,12 @@
 package com.subash.user.management.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.config.BodyLoggingEndpoint;
+import com.subash.user.management.config.JfrEndpoint;
+import com.subash.user.management.config.QueryStatisticsEndpoint;
+import com.subash.user.management.controller.ApiDocsController;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,6 +18,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 /**
  * Security configuration class for the application.
@@ -27,42 +34,57 @@ public class SecurityConfig {
     private CustomUserDetailsService customUserDetailsService;
 
     /**
-     * Defines the password encoder bean using BCrypt.
+     * Defines the password encoder bean using BCrypt, recorded for Java Flight Recorder.
      *
      * @return the password encoder instance
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new RecordingPasswordEncoder(new BCryptPasswordEncoder());
     }
 
     /**
      * Configures HTTP security for the application.
      * <ul>
      *     <li>Allows user registration without authentication</li>
-     *     <li>Restricts DELETE and GET (all users) access to ADMIN role only</li>
+     *     <li>Restricts DELETE, GET (all users), the admin endpoints and the body logging actuator endpoint
+     *     to ADMIN role only</li>
      *     <li>Requires authentication for all other endpoints</li>
      * </ul>
      * Uses HTTP Basic for authentication and disables CSRF for simplicity (typically used for stateless APIs).
+     * Logins locked out after repeated failures are rejected by the {@link LoginThrottleFilter} before
+     * authentication.
      *
-     * @param http the HTTP security configuration
+     * @param http                the HTTP security configuration
+     * @param loginAttemptTracker tracker of failed logins
+     * @param objectMapper        mapper for the lockout error body
      * @return configured security filter chain
      * @throws Exception if the configuration fails
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, LoginAttemptTracker loginAttemptTracker,
+                                                   ObjectMapper objectMapper) throws Exception {
         http.csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
-                                "/swagger-ui.html").permitAll()
+                                "/swagger-ui.html",
+                                ApiDocsController.API_DOCS_PATH,
+                                "/actuator/health/liveness",
+                                "/actuator/health/readiness").permitAll()
                         .requestMatchers(HttpMethod.POST, "/v1/api/users/register").permitAll()
                         .requestMatchers(HttpMethod.DELETE, "/v1/api/users/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/v1/api/users").hasRole("ADMIN")
+                        .requestMatchers("/v1/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers(EndpointRequest.to(BodyLoggingEndpoint.class)).hasRole("ADMIN")
+                        .requestMatchers(EndpointRequest.to(JfrEndpoint.class)).hasRole("ADMIN")
+                        .requestMatchers(EndpointRequest.to(QueryStatisticsEndpoint.class)).hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .httpBasic(Customizer.withDefaults());
+                .httpBasic(Customizer.withDefaults())
+                .addFilterBefore(new LoginThrottleFilter(loginAttemptTracker, objectMapper),
+                        BasicAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,151 @@
+package com.subash.user.management.security;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts failures per key with time decay, locking a key out once it has failed too often.
+ * <p>
+ * Each key has a failure score that halves every {@code halfLife}. A failure adds one to the decayed score, and
+ * once the score, rounded, reaches {@code maxFailures} the key is locked out for {@code lockout}. Rounding lets
+ * {@code maxFailures} failures in quick succession lock a key out although the earlier ones have decayed a
+ * little. Because the score only decays, a key that failed just before its lockout ended is locked out again
+ * after fewer failures.
+ * <p>
+ * The keys are spread over independently locked stripes, so concurrent logins rarely contend for a lock. Each
+ * stripe keeps at most {@code maxKeysPerStripe} keys and forgets the least recently used ones beyond that.
+ */
+public final class StripedFailureCounter {
+
+    private final Stripe[] stripes;
+    private final int maxFailures;
+    private final long halfLifeNanos;
+    private final long lockoutNanos;
+    private final LongSupplier nanoTime;
+
+    /**
+     * Creates a counter.
+     *
+     * @param stripes          number of stripes, rounded up to a power of two
+     * @param maxKeysPerStripe keys kept per stripe
+     * @param maxFailures      failures in quick succession that lock a key out
+     * @param halfLife         time after which a failure counts half
+     * @param lockout          time a key stays locked out
+     * @param nanoTime         clock
+     */
+    public StripedFailureCounter(int stripes, int maxKeysPerStripe, int maxFailures, Duration halfLife,
+                                 Duration lockout, LongSupplier nanoTime) {
+        if (stripes < 1 || maxKeysPerStripe < 1 || maxFailures < 1) {
+            throw new IllegalArgumentException("Stripes, keys per stripe and max failures must be at least 1");
+        }
+        this.stripes = new Stripe[stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe(maxKeysPerStripe);
+        }
+        this.maxFailures = maxFailures;
+        this.halfLifeNanos = halfLife.toNanos();
+        this.lockoutNanos = lockout.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Returns how much longer a key is locked out.
+     *
+     * @param key the key
+     * @return the remaining lockout in nanoseconds, or 0 if the key is not locked out
+     */
+    public long lockedOutFor(String key) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Score score = stripe.scores.get(key);
+            if (score == null || !score.locked) {
+                return 0;
+            }
+            return Math.max(0, lockoutNanos - (nanoTime.getAsLong() - score.lockedAt));
+        }
+    }
+
+    /**
+     * Records a failure of a key.
+     *
+     * @param key the key
+     * @return {@code true} if the failure locked the key out
+     */
+    public boolean recordFailure(String key) {
+        long now = nanoTime.getAsLong();
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Score score = stripe.scores.computeIfAbsent(key, k -> new Score());
+            score.value = decayed(score, now) + 1;
+            score.updatedAt = now;
+            if (Math.round(score.value) >= maxFailures && (!score.locked || now - score.lockedAt >= lockoutNanos)) {
+                score.locked = true;
+                score.lockedAt = now;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Forgets the failures of a key.
+     *
+     * @param key the key
+     */
+    public void reset(String key) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.scores.remove(key);
+        }
+    }
+
+    /**
+     * Returns the number of keys tracked over all stripes.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.scores.size();
+            }
+        }
+        return size;
+    }
+
+    private double decayed(Score score, long now) {
+        if (score.value == 0) {
+            return 0;
+        }
+        return score.value * Math.pow(0.5, (double) (now - score.updatedAt) / halfLifeNanos);
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+
+        private final Map<String, Score> scores;
+
+        Stripe(int maxKeys) {
+            this.scores = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Score> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    private static final class Score {
+        private double value;
+        private long updatedAt;
+        private boolean locked;
+        private long lockedAt;
+    }
+}
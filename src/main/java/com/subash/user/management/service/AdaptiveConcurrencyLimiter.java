@@ -0,0 +1,158 @@
+package com.subash.user.management.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of concurrent calls, adapting the limit to the observed latency.
+ * <p>
+ * The limit follows a gradient in the style of TCP Vegas: a short-term average of the call latency is
+ * compared with a long-term baseline. While the short-term latency stays within {@code tolerance} times
+ * the baseline, the limit grows by about its square root, leaving room for a small queue. When calls slow
+ * down, the limit shrinks in proportion, by at most half per adjustment, so calls are turned away instead
+ * of piling up on the connection pool. A dropped call, such as a query timeout, cuts the limit by 10%.
+ * The limit is only adjusted while at least half of it is in use, since the latency of a lightly loaded
+ * service says nothing about its capacity.
+ * <p>
+ * Calls over the limit are rejected at once. The metrics are registered under
+ * {@code <name>.concurrency.limit}, {@code <name>.concurrency.in.flight} and
+ * {@code <name>.concurrency.rejections}, tagged with the operation group.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejections;
+
+    private volatile double limit;
+    // Latency averages in nanoseconds, guarded by this
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * Creates a limiter and registers its metrics.
+     *
+     * @param name          metric name prefix
+     * @param group         operation group, used as the {@code operation} tag
+     * @param initialLimit  limit to start with
+     * @param minLimit      lowest limit the latency can push the limit down to
+     * @param maxLimit      highest limit
+     * @param tolerance     how many times the baseline latency is accepted before the limit shrinks
+     * @param meterRegistry registry for the metrics
+     */
+    public AdaptiveConcurrencyLimiter(String name, String group, int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, MeterRegistry meterRegistry) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max, got "
+                    + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        if (tolerance < 1.0) {
+            throw new IllegalArgumentException("Tolerance must be at least 1, got " + tolerance);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = initialLimit;
+        Gauge.builder(name + ".concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit).tag("operation", group)
+                .description("Current concurrency limit").register(meterRegistry);
+        Gauge.builder(name + ".concurrency.in.flight", inFlight, AtomicInteger::get).tag("operation", group)
+                .description("Calls currently admitted").register(meterRegistry);
+        this.rejections = Counter.builder(name + ".concurrency.rejections").tag("operation", group)
+                .description("Calls rejected because the limit was reached").register(meterRegistry);
+    }
+
+    /**
+     * Admits a call if the limit allows it. Every admitted call must be completed with exactly one of
+     * {@link #onSuccess}, {@link #onDropped} or {@link #onIgnore}.
+     *
+     * @return {@code true} if the call is admitted, {@code false} if it must be rejected
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejections.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Completes a call that finished normally, including expected failures such as a missing user.
+     *
+     * @param rttNanos duration of the call
+     */
+    public void onSuccess(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        update(rttNanos, current);
+    }
+
+    /**
+     * Completes a call that failed because the service is overloaded, for example a query timeout.
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        }
+    }
+
+    /**
+     * Completes a call whose outcome says nothing about the load, such as an unexpected error.
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of calls currently admitted.
+     *
+     * @return the calls in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtCompletion) {
+        if (shortRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+        } else {
+            shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+            longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+        }
+        // After a period of high latency, let the baseline come back down quickly
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        double current = limit;
+        if (inFlightAtCompletion < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        limit = Math.max(minLimit, Math.min(maxLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+}
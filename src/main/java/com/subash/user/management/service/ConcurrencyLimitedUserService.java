@@ -0,0 +1,112 @@
+package com.subash.user.management.service;
+
+import com.subash.user.management.exception.ServiceOverloadedException;
+import com.subash.user.management.exception.UserManagementException;
+import com.subash.user.management.model.AllUserResponse;
+import com.subash.user.management.model.UserResponse;
+import com.subash.user.management.model.UserView;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.Callable;
+
+/**
+ * {@link UserService} guarding {@link UserServiceImpl} with adaptive concurrency limits.
+ * <p>
+ * Reads ({@code getUser}, {@code getAllUser}) and writes ({@code createUser}, {@code removeUser}) have their own
+ * {@link AdaptiveConcurrencyLimiter}, so slow writes do not starve reads. A call over the limit fails at once
+ * with {@link ServiceOverloadedException} (503) instead of waiting for a database connection. Data access
+ * failures that signal overload, such as timeouts and an exhausted pool, shrink the limit.
+ * The metrics are published as {@code user.service.concurrency.*} with {@code operation=read|write}.
+ * Disabled with {@code concurrency-limit.enabled=false}.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitedUserService implements UserService {
+
+    private final UserService delegate;
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+
+    /**
+     * Constructs the service with one limiter for reads and one for writes.
+     *
+     * @param delegate      the service doing the work
+     * @param meterRegistry registry for the limiter metrics
+     * @param readInitial   initial read limit
+     * @param readMin       minimum read limit
+     * @param readMax       maximum read limit
+     * @param writeInitial  initial write limit
+     * @param writeMin      minimum write limit
+     * @param writeMax      maximum write limit
+     * @param tolerance     latency increase over the baseline accepted before a limit shrinks
+     */
+    public ConcurrencyLimitedUserService(@Qualifier("userServiceImpl") UserService delegate, MeterRegistry meterRegistry,
+                                         @Value("${concurrency-limit.read.initial:20}") int readInitial,
+                                         @Value("${concurrency-limit.read.min:4}") int readMin,
+                                         @Value("${concurrency-limit.read.max:200}") int readMax,
+                                         @Value("${concurrency-limit.write.initial:10}") int writeInitial,
+                                         @Value("${concurrency-limit.write.min:2}") int writeMin,
+                                         @Value("${concurrency-limit.write.max:50}") int writeMax,
+                                         @Value("${concurrency-limit.rtt-tolerance:2.0}") double tolerance) {
+        this.delegate = delegate;
+        this.readLimiter = new AdaptiveConcurrencyLimiter("user.service", "read", readInitial, readMin, readMax,
+                tolerance, meterRegistry);
+        this.writeLimiter = new AdaptiveConcurrencyLimiter("user.service", "write", writeInitial, writeMin, writeMax,
+                tolerance, meterRegistry);
+    }
+
+    @Override
+    public ResponseEntity<UserResponse> createUser(UserView userView) throws Exception {
+        return limited(writeLimiter, () -> delegate.createUser(userView));
+    }
+
+    @Override
+    public ResponseEntity<UserResponse> getUser(String userName) throws Exception {
+        return limited(readLimiter, () -> delegate.getUser(userName));
+    }
+
+    @Override
+    public ResponseEntity<AllUserResponse> getAllUser(UserView.RoleEnum role, Boolean hasEmail,
+                                                      OffsetDateTime registeredFrom, OffsetDateTime registeredBefore,
+                                                      String sort, int page, int size) throws Exception {
+        return limited(readLimiter,
+                () -> delegate.getAllUser(role, hasEmail, registeredFrom, registeredBefore, sort, page, size));
+    }
+
+    @Override
+    public ResponseEntity<UserResponse> removeUser(String userName) throws Exception {
+        return limited(writeLimiter, () -> delegate.removeUser(userName));
+    }
+
+    private static <T> T limited(AdaptiveConcurrencyLimiter limiter, Callable<T> call) throws Exception {
+        if (!limiter.tryAcquire()) {
+            throw ServiceOverloadedException.INSTANCE;
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            limiter.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (UserManagementException e) {
+            limiter.onSuccess(System.nanoTime() - start);
+            throw e;
+        } catch (TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            limiter.onDropped();
+            throw e;
+        } catch (Exception | Error e) {
+            limiter.onIgnore();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.subash.user.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * {@link OutboxSink} that appends every event as one JSON line to a local file.
+ * Intended for local use and for feeding file based tooling during development.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink.type", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs the sink for the configured file.
+     *
+     * @param file         path of the NDJSON file events are appended to
+     * @param objectMapper mapper used to serialize the events
+     */
+    public FileOutboxSink(@Value("${outbox.sink.file}") String file, ObjectMapper objectMapper) {
+        this.file = Path.of(file);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends the batch to the file and flushes it before returning.
+     *
+     * @param events the events to publish
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            for (OutboxEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        }
+    }
+}
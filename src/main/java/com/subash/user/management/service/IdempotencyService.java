@@ -0,0 +1,236 @@
+package com.subash.user.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.exception.IdempotencyKeyMismatchException;
+import com.subash.user.management.exception.InvalidIdempotencyKeyException;
+import com.subash.user.management.repository.IdempotencyStore;
+import com.subash.user.management.repository.SingleFlight;
+import com.subash.user.management.util.JsonRedactor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+import static com.subash.user.management.util.Constants.*;
+
+/**
+ * Executes a request at most once per {@code Idempotency-Key}, so that clients can retry it safely.
+ * <p>
+ * The first successful (2xx) response for a key is kept in the {@link IdempotencyStore} for
+ * {@code idempotency.ttl}. A retry with the same key is answered with that response, marked with an
+ * {@code Idempotent-Replayed: true} header, without running the operation again. A retry arriving while the
+ * original is still running waits for it, up to {@code idempotency.wait-timeout}, and gets the same response;
+ * waiting is per instance. Failed responses are not kept, so a retry after a failure runs the operation again.
+ * <p>
+ * A key may only be reused with the same request. Requests are compared by a SHA-256 fingerprint of their JSON
+ * with the password left out, so that no derivative of a password is stored; a retry that differs in any
+ * other field is rejected with 422, code 5015.
+ * <p>
+ * Metrics: {@code idempotency.requests} tagged with the outcome, {@code executed} or {@code replayed}, and
+ * the {@code idempotency.single.flight.*} metrics of the concurrent retries.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LogManager.getLogger(IdempotencyService.class);
+
+    private static final Pattern VALID_KEY = Pattern.compile("[\\x21-\\x7E]{1,255}");
+    private static final Set<String> UNFINGERPRINTED_FIELDS = Set.of("password");
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final SingleFlight<String, Outcome> inFlight;
+    private final Counter executed;
+    private final Counter replayed;
+
+    /**
+     * Constructs the service.
+     *
+     * @param store         store of the responses
+     * @param objectMapper  mapper serializing requests and responses
+     * @param waitTimeout   maximum time a retry waits for the original request still running
+     * @param meterRegistry registry for the metrics
+     */
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper,
+                              @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout,
+                              MeterRegistry meterRegistry) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.inFlight = new SingleFlight<>("idempotency", waitTimeout, meterRegistry);
+        this.executed = Counter.builder("idempotency.requests").tag("outcome", "executed")
+                .description("Idempotent requests executed").register(meterRegistry);
+        this.replayed = Counter.builder("idempotency.requests").tag("outcome", "replayed")
+                .description("Idempotent requests answered with the response of an earlier request")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the response of the operation for the request, executing it only if no response is known for the
+     * idempotency key.
+     *
+     * @param operationId    operation the key is scoped to
+     * @param idempotencyKey value of the {@code Idempotency-Key} header, or {@code null} to always execute
+     * @param request        request body, used to detect a key reused for another request
+     * @param responseType   type of the response body
+     * @param operation      the operation
+     * @param <T>            response body type
+     * @return the response of the operation, or the stored response of an earlier request with the same key
+     * @throws InvalidIdempotencyKeyException   if the key is not 1 to 255 visible ASCII characters
+     * @throws IdempotencyKeyMismatchException  if the key was used for a different request
+     * @throws Exception                        the failure of the operation, also for retries waiting on it
+     */
+    public <T> ResponseEntity<T> execute(String operationId, String idempotencyKey, Object request,
+                                         Class<T> responseType, Callable<ResponseEntity<T>> operation)
+            throws Exception {
+        if (idempotencyKey == null) {
+            return operation.call();
+        }
+        if (!VALID_KEY.matcher(idempotencyKey).matches()) {
+            throw InvalidIdempotencyKeyException.INSTANCE;
+        }
+        String key = operationId + ':' + idempotencyKey;
+        String fingerprint = fingerprint(request);
+
+        Optional<IdempotencyStore.Entry> stored = store.find(key);
+        if (stored.isPresent()) {
+            return replay(stored.get(), fingerprint, responseType);
+        }
+
+        Leader leader = new Leader();
+        Outcome outcome;
+        try {
+            outcome = inFlight.execute(key, () -> {
+                leader.running = true;
+                return executeFirst(key, fingerprint, operation);
+            });
+        } catch (OperationFailedException e) {
+            throw e.getCause();
+        }
+        if (outcome.stored() != null) {
+            return replay(outcome.stored(), fingerprint, responseType);
+        }
+        if (!leader.running) {
+            if (!outcome.fingerprint().equals(fingerprint)) {
+                throw IdempotencyKeyMismatchException.INSTANCE;
+            }
+            replayed.increment();
+            return replayed(outcome.response());
+        }
+        @SuppressWarnings("unchecked")
+        ResponseEntity<T> response = (ResponseEntity<T>) outcome.response();
+        return response;
+    }
+
+    /**
+     * Runs the operation as the first request for the key and stores a successful response. The store is read
+     * again first, since another request may have completed between the first read and joining the flight.
+     */
+    private Outcome executeFirst(String key, String fingerprint, Callable<? extends ResponseEntity<?>> operation) {
+        Optional<IdempotencyStore.Entry> stored = store.find(key);
+        if (stored.isPresent()) {
+            return new Outcome(fingerprint, null, stored.get());
+        }
+        ResponseEntity<?> response;
+        try {
+            response = operation.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new OperationFailedException(e);
+        }
+        executed.increment();
+        if (response.getStatusCode().is2xxSuccessful()) {
+            try {
+                store.save(key, new IdempotencyStore.Entry(fingerprint, response.getStatusCode().value(),
+                        objectMapper.writeValueAsString(response.getBody())));
+            } catch (RuntimeException | JsonProcessingException e) {
+                // The operation succeeded; a retry not finding its response is executed again
+                logger.warn(LOG_MESSAGE + "Response for idempotency key not stored: {}", e.toString());
+            }
+        }
+        return new Outcome(fingerprint, response, null);
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyStore.Entry entry, String fingerprint, Class<T> responseType) {
+        if (!entry.fingerprint().equals(fingerprint)) {
+            throw IdempotencyKeyMismatchException.INSTANCE;
+        }
+        T body;
+        try {
+            body = objectMapper.readValue(entry.body(), responseType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        replayed.increment();
+        return ResponseEntity.status(entry.status()).header(IDEMPOTENT_REPLAYED_HEADER, "true").body(body);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ResponseEntity<T> replayed(ResponseEntity<?> response) {
+        return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders())
+                .header(IDEMPOTENT_REPLAYED_HEADER, "true").body((T) response.getBody());
+    }
+
+    /**
+     * Returns the hex SHA-256 of the request JSON, with the password masked.
+     *
+     * @param request the request body
+     * @return the fingerprint
+     */
+    String fingerprint(Object request) {
+        try {
+            String json = JsonRedactor.redact(objectMapper.getFactory(), objectMapper.writeValueAsBytes(request),
+                    UNFINGERPRINTED_FIELDS);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Result of the first execution for a key, shared with the retries waiting for it. Either the response of
+     * the operation, or the response found in the store when the operation was not executed.
+     */
+    private record Outcome(String fingerprint, ResponseEntity<?> response, IdempotencyStore.Entry stored) {
+    }
+
+    /**
+     * Set when the operation runs on the calling thread, i.e. the caller did not wait for another request.
+     */
+    private static final class Leader {
+        private boolean running;
+    }
+
+    /**
+     * Carries a checked failure of the operation through {@link SingleFlight}, to the leader and the waiters.
+     */
+    private static final class OperationFailedException extends RuntimeException {
+
+        OperationFailedException(Exception cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized Exception getCause() {
+            return (Exception) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.subash.user.management.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records successful authentications in {@code users.last_login_at} and {@code users.login_count} with
+ * write-behind.
+ * <p>
+ * With HTTP Basic every request authenticates, so writing each login would add a row update to every request.
+ * Instead, logins are merged per user in memory, keeping the latest time and the number of logins, and written
+ * every {@code last-login.flush-interval-ms} in JDBC batches of {@code last-login.batch-size} updates, one
+ * transaction per batch. The update only moves {@code last_login_at} forward and adds to {@code login_count},
+ * so several instances may flush the same users. Pending logins are flushed on shutdown; the batches a flush
+ * failed to write are kept for the next one.
+ * <p>
+ * The update bypasses Hibernate and the flushed users are deliberately left in the second-level cache: every
+ * request of an active user is a login, so evicting them would reload exactly the hot users from the database
+ * after every flush. Users read through the cache show their login statistics as of when they were cached, at
+ * most the cache TTL ago; the admin listing reads them from the rows of its query.
+ * Metrics: {@code user.last.login.pending} and {@code user.last.login.flushed}.
+ */
+@Component
+public class LastLoginRecorder {
+
+    private static final Logger logger = LogManager.getLogger(LastLoginRecorder.class);
+
+    private static final String UPDATE_LOGINS = "UPDATE users SET last_login_at = GREATEST(last_login_at, ?), "
+            + "login_count = login_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ConcurrentHashMap<Long, PendingLogins> pending = new ConcurrentHashMap<>();
+    private final Counter flushedCounter;
+
+    /**
+     * Constructs the recorder.
+     *
+     * @param jdbcTemplate       template for the batched updates
+     * @param transactionManager transaction manager for the batches
+     * @param meterRegistry      registry for the metrics
+     * @param batchSize          updates per JDBC batch
+     */
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry, @Value("${last-login.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        Gauge.builder("user.last.login.pending", pending, Map::size)
+                .description("Users with logins not yet written").register(meterRegistry);
+        this.flushedCounter = Counter.builder("user.last.login.flushed")
+                .description("User rows updated with their logins").register(meterRegistry);
+    }
+
+    /**
+     * Records a successful login.
+     *
+     * @param userId id of the user
+     * @param at     time of the login
+     */
+    public void record(Long userId, Instant at) {
+        pending.merge(userId, new PendingLogins(at, 1), PendingLogins::plus);
+    }
+
+    /**
+     * Writes the pending logins. Logins recorded while the flush runs are kept for the next one.
+     */
+    @Scheduled(fixedDelayString = "${last-login.flush-interval-ms:10000}")
+    public void flush() {
+        // Sorted by id, so concurrent flushes of several instances lock the rows in the same order
+        Map<Long, PendingLogins> batch = new TreeMap<>();
+        for (Long userId : pending.keySet()) {
+            PendingLogins logins = pending.remove(userId);
+            if (logins != null) {
+                batch.put(userId, logins);
+            }
+        }
+        List<Long> userIds = new ArrayList<>(batch.keySet());
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + batchSize, userIds.size()));
+            try {
+                write(chunk, batch);
+            } catch (RuntimeException e) {
+                List<Long> unwritten = userIds.subList(from, userIds.size());
+                unwritten.forEach(userId -> pending.merge(userId, batch.get(userId), PendingLogins::plus));
+                logger.warn("Writing the logins of {} users failed, retrying with the next flush: {}",
+                        unwritten.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void write(List<Long> userIds, Map<Long, PendingLogins> batch) {
+        List<Object[]> args = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            PendingLogins logins = batch.get(userId);
+            args.add(new Object[]{Timestamp.from(logins.lastAt()), logins.count(), userId});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_LOGINS, args));
+        flushedCounter.increment(userIds.size());
+    }
+
+    /**
+     * Writes the pending logins on shutdown.
+     */
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    /**
+     * Logins of one user not yet written.
+     *
+     * @param lastAt time of the latest login
+     * @param count  number of logins
+     */
+    private record PendingLogins(Instant lastAt, long count) {
+
+        PendingLogins plus(PendingLogins other) {
+            return new PendingLogins(lastAt.isAfter(other.lastAt) ? lastAt : other.lastAt, count + other.count);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.subash.user.management.service;
+
+import com.subash.user.management.model.OutboxEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.subash.user.management.util.Constants.*;
+
+/**
+ * {@link OutboxSink} that writes every event to the application log. Intended for local use.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink.type", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    private static final Logger logger = LogManager.getLogger(LoggingOutboxSink.class);
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            logger.info(LOG_EVENT_ID + "{}" + COMMA + LOG_EVENT_TYPE + "{}" + COMMA + LOG_EVENT_PAYLOAD + "{}",
+                    event.getId(), event.getEventType(), event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.subash.user.management.service;
+
+import com.subash.user.management.model.OutboxEvent;
+import com.subash.user.management.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.subash.user.management.util.Constants.*;
+
+/**
+ * Background relay that moves user lifecycle events from the outbox table to the configured {@link OutboxSink}.
+ * <p>
+ * Each batch is claimed with {@code FOR UPDATE SKIP LOCKED}, published and deleted in one transaction, so
+ * several application instances can relay concurrently without handing out the same event twice. While
+ * batches come back full the relay keeps draining without waiting for the next poll, which keeps the
+ * throughput bound by the sink rather than by the poll interval.
+ * <p>
+ * Metrics published:
+ * <ul>
+ *     <li>{@code outbox.relay.events} - number of events published</li>
+ *     <li>{@code outbox.relay.batch.size} - distribution of claimed batch sizes</li>
+ *     <li>{@code outbox.relay.batch.duration} - time to claim, publish and delete a batch</li>
+ *     <li>{@code outbox.relay.failures} - number of batches the sink rejected</li>
+ *     <li>{@code outbox.relay.lag} - age in seconds of the oldest pending event</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LogManager.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+
+    private final Counter eventsCounter;
+    private final Counter failureCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    /**
+     * Constructs the relay with its required dependencies.
+     *
+     * @param outboxEventRepository repository for outbox events
+     * @param outboxSink            destination of the relayed events
+     * @param transactionManager    transaction manager used for each batch
+     * @param meterRegistry         registry for the relay metrics
+     * @param batchSize             maximum number of events claimed per batch
+     * @param maxBatchesPerPoll     maximum number of full batches drained per poll
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink outboxSink,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-poll:20}") int maxBatchesPerPoll) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+
+        this.eventsCounter = meterRegistry.counter("outbox.relay.events");
+        this.failureCounter = meterRegistry.counter("outbox.relay.failures");
+        this.batchSizeSummary = DistributionSummary.builder("outbox.relay.batch.size")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch.duration")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", lagMillis, value -> value.get() / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains the outbox until a batch comes back partially filled or the per poll limit is reached.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public void poll() {
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                if (relayBatch() < batchSize) {
+                    break;
+                }
+            }
+            updateLag();
+        } catch (Exception e) {
+            failureCounter.increment();
+            logger.error(LOG_MESSAGE + "Outbox relay failed, batch will be retried", e);
+        }
+    }
+
+    /**
+     * Claims, publishes and deletes one batch of events in a single transaction.
+     *
+     * @return number of events relayed
+     */
+    int relayBatch() {
+        Integer relayed = batchTimer.record(() -> transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.claimBatch(batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            try {
+                outboxSink.publish(events);
+            } catch (Exception e) {
+                throw new IllegalStateException("Outbox sink rejected batch", e);
+            }
+            outboxEventRepository.deleteByIdIn(events.stream().map(OutboxEvent::getId).toList());
+            return events.size();
+        }));
+        int count = relayed == null ? 0 : relayed;
+        if (count > 0) {
+            batchSizeSummary.record(count);
+            eventsCounter.increment(count);
+        }
+        return count;
+    }
+
+    /**
+     * Refreshes the lag gauge from the oldest event still pending.
+     */
+    private void updateLag() {
+        Instant oldest = outboxEventRepository.findOldestCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis()));
+    }
+}
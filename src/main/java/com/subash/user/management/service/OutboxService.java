@@ -0,0 +1,54 @@
+package com.subash.user.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.mapper.UserMapper;
+import com.subash.user.management.model.OutboxEvent;
+import com.subash.user.management.model.User;
+import com.subash.user.management.repository.OutboxEventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Writes user lifecycle events to the outbox table.
+ * <p>
+ * Events must be recorded inside the transaction that changes the user, so that the change and its
+ * event are committed or rolled back together. Publishing is left to {@link OutboxRelay}.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param outboxEventRepository repository for outbox events
+     * @param objectMapper          mapper used to serialize the event payload
+     */
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records an event for the given user in the current transaction.
+     *
+     * @param eventType type of the event (e.g., {@code USER_CREATED})
+     * @param user      the user the event belongs to
+     * @throws JsonProcessingException if the payload cannot be serialized
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String eventType, User user) throws JsonProcessingException {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateId(user.getUsername());
+        event.setEventType(eventType);
+        event.setPayload(objectMapper.writeValueAsString(UserMapper.INSTANCE.userToUserView(user)));
+        event.setCreatedAt(Instant.now());
+        outboxEventRepository.save(event);
+    }
+}
@@ -0,0 +1,25 @@
+package com.subash.user.management.service;
+
+import com.subash.user.management.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination for the events relayed from the outbox table.
+ * <p>
+ * Implementations receive events in id order and must either accept the whole batch or throw,
+ * in which case the batch stays in the outbox and is retried on the next poll. Delivery is
+ * therefore at-least-once and consumers should deduplicate on the event id.
+ * <p>
+ * The active sink is selected with the {@code outbox.sink.type} property.
+ */
+public interface OutboxSink {
+
+    /**
+     * Publishes a batch of events.
+     *
+     * @param events the events to publish, never empty
+     * @throws Exception if the batch could not be published
+     */
+    void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,376 @@
+package com.subash.user.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.model.UserChangeEvent;
+import com.subash.user.management.model.UserChangeLogEntry;
+import com.subash.user.management.repository.UserChangeLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.subash.user.management.util.Constants.*;
+
+/**
+ * Pushes committed user changes to Server-Sent Events subscribers.
+ * <p>
+ * A single dispatcher thread reads new entries from the user change log, serializes each one once and
+ * fans the same frame out to every subscriber. It is woken up right after a local change commits and
+ * otherwise polls every {@code change-stream.poll-interval-ms}, so changes made by other instances are
+ * delivered too, while the database sees one query per wake-up regardless of the number of subscribers.
+ * <p>
+ * Every subscriber has a bounded buffer drained on its own virtual thread, so a slow connection never
+ * delays the others. A subscriber whose buffer overflows is disconnected and is expected to reconnect
+ * with {@code Last-Event-ID}, which replays the missed changes from the change log.
+ */
+@Service
+public class UserChangeBroadcaster {
+
+    private static final Logger logger = LogManager.getLogger(UserChangeBroadcaster.class);
+
+    /**
+     * SSE event name telling the subscriber to resync through the change feed.
+     */
+    static final String RESYNC_EVENT = "RESYNC";
+
+    private final UserChangeLogRepository userChangeLogRepository;
+    private final UserChangeLogService userChangeLogService;
+    private final ObjectMapper objectMapper;
+    private final Executor senderExecutor;
+    private final int bufferSize;
+    private final long pollIntervalMs;
+    private final long emitterTimeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Semaphore wakeup = new Semaphore(0);
+    private final Counter framesCounter;
+    private final Counter slowDisconnectCounter;
+
+    /**
+     * Last change sequence fanned out; {@code -1} while nobody is subscribed. Guarded by {@code this}, which is
+     * only held to hand frames and subscribers over, never while the change log is read.
+     */
+    private long lastSeq = -1;
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    /**
+     * Constructs the broadcaster, draining subscriber buffers on virtual threads.
+     *
+     * @param userChangeLogRepository repository for change log entries
+     * @param userChangeLogService    service exposing the compaction horizon
+     * @param objectMapper            mapper used to serialize the frames
+     * @param meterRegistry           registry for the stream metrics
+     * @param bufferSize              number of frames buffered per subscriber
+     * @param pollIntervalMs          interval at which the change log is checked for changes of other instances
+     * @param emitterTimeoutMs        lifetime of a single SSE connection
+     */
+    @Autowired
+    public UserChangeBroadcaster(UserChangeLogRepository userChangeLogRepository,
+                                 UserChangeLogService userChangeLogService, ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${change-stream.buffer-size:256}") int bufferSize,
+                                 @Value("${change-stream.poll-interval-ms:1000}") long pollIntervalMs,
+                                 @Value("${change-stream.timeout-ms:1800000}") long emitterTimeoutMs) {
+        this(userChangeLogRepository, userChangeLogService, objectMapper, meterRegistry,
+                Executors.newVirtualThreadPerTaskExecutor(), bufferSize, pollIntervalMs, emitterTimeoutMs);
+    }
+
+    UserChangeBroadcaster(UserChangeLogRepository userChangeLogRepository,
+                          UserChangeLogService userChangeLogService, ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry, Executor senderExecutor,
+                          int bufferSize, long pollIntervalMs, long emitterTimeoutMs) {
+        this.userChangeLogRepository = userChangeLogRepository;
+        this.userChangeLogService = userChangeLogService;
+        this.objectMapper = objectMapper;
+        this.senderExecutor = senderExecutor;
+        this.bufferSize = bufferSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.framesCounter = meterRegistry.counter("user.change.stream.frames");
+        this.slowDisconnectCounter = meterRegistry.counter("user.change.stream.slow.disconnects");
+        meterRegistry.gaugeCollectionSize("user.change.stream.subscribers", List.of(), subscribers);
+    }
+
+    /**
+     * Starts the dispatcher thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = Thread.ofPlatform().daemon().name("user-change-stream").start(this::dispatchLoop);
+    }
+
+    /**
+     * Stops the dispatcher thread and closes all open streams.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        subscribers.forEach(Subscriber::close);
+    }
+
+    /**
+     * Wakes the dispatcher up once a change has been committed.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserChange(UserChangeEvent event) {
+        wakeup.release();
+    }
+
+    /**
+     * Opens a new stream.
+     * <p>
+     * Without {@code lastEventId} only changes committed from now on are sent. With it, the changes after
+     * that sequence are replayed from the change log first. If the replay does not fit into the subscriber
+     * buffer, or the tombstones after it have already been compacted away, a single {@code RESYNC} event is
+     * sent and the stream is closed; the subscriber should then catch up through the change feed.
+     * <p>
+     * The change log is read without holding the broadcaster lock. If the dispatcher fans out newer changes
+     * meanwhile, those are read as well before the subscriber is handed over, so it misses none of them.
+     *
+     * @param lastEventId last change sequence received by the subscriber, or {@code null}
+     * @return the emitter for the new stream
+     * @throws Exception if the replay cannot be read
+     */
+    public SseEmitter subscribe(Long lastEventId) throws Exception {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        long covered = currentSeq();
+        if (covered < 0) {
+            Long maxSeq = userChangeLogRepository.findMaxSeq();
+            covered = maxSeq == null ? 0 : maxSeq;
+        }
+        long replayedThrough = lastEventId == null ? covered : lastEventId;
+        if (replayedThrough < covered && replayedThrough < userChangeLogService.purgedThroughSeq()) {
+            return resync(emitter, covered);
+        }
+
+        Subscriber subscriber = new Subscriber(emitter);
+        List<Frame> replay = new ArrayList<>();
+        while (true) {
+            if (replayedThrough < covered) {
+                List<UserChangeLogEntry> missed = userChangeLogRepository.findBySeqGreaterThanOrderBySeqAsc(
+                        replayedThrough, Limit.of(bufferSize + 1 - replay.size()));
+                for (UserChangeLogEntry entry : missed) {
+                    if (entry.getSeq() <= covered) {
+                        replay.add(toFrame(entry));
+                    }
+                }
+                if (replay.size() > bufferSize) {
+                    return resync(emitter, covered);
+                }
+                replayedThrough = covered;
+            }
+            synchronized (this) {
+                if (lastSeq < 0) {
+                    lastSeq = covered;
+                }
+                if (lastSeq <= covered) {
+                    replay.forEach(subscriber::enqueue);
+                    subscriber.lastQueuedSeq = Math.max(covered, lastEventId == null ? 0 : lastEventId);
+                    emitter.onCompletion(() -> subscribers.remove(subscriber));
+                    emitter.onTimeout(() -> subscribers.remove(subscriber));
+                    emitter.onError(error -> subscribers.remove(subscriber));
+                    subscribers.add(subscriber);
+                    return emitter;
+                }
+                // The dispatcher fanned out changes after the replay was read; read them too
+                covered = lastSeq;
+            }
+        }
+    }
+
+    /**
+     * Sends a comment to every subscriber so that dead connections are detected and proxies keep the stream open.
+     * Heartbeats carry no sequence, so they are queued without the broadcaster lock.
+     */
+    @Scheduled(fixedDelayString = "${change-stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Frame frame = new Frame(-1, SseEmitter.event().comment("heartbeat").build());
+        subscribers.forEach(subscriber -> subscriber.enqueue(frame));
+    }
+
+    /**
+     * Reads the changes committed since the last dispatch and fans them out to all subscribers. The change log
+     * is read and the frames are serialized without the broadcaster lock, which is only held for the hand-off.
+     *
+     * @throws Exception if the change log cannot be read
+     */
+    void dispatch() throws Exception {
+        long from;
+        synchronized (this) {
+            if (subscribers.isEmpty()) {
+                lastSeq = -1;
+                return;
+            }
+            from = lastSeq;
+        }
+        List<UserChangeLogEntry> entries =
+                userChangeLogRepository.findBySeqGreaterThanOrderBySeqAsc(from, Limit.of(bufferSize));
+        List<Frame> frames = new ArrayList<>(entries.size());
+        for (UserChangeLogEntry entry : entries) {
+            frames.add(toFrame(entry));
+        }
+        synchronized (this) {
+            for (Frame frame : frames) {
+                if (frame.seq() > lastSeq) {
+                    lastSeq = frame.seq();
+                    subscribers.forEach(subscriber -> subscriber.enqueue(frame));
+                }
+            }
+        }
+        if (entries.size() == bufferSize) {
+            wakeup.release();
+        }
+    }
+
+    private synchronized long currentSeq() {
+        return lastSeq;
+    }
+
+    private SseEmitter resync(SseEmitter emitter, long seq) throws Exception {
+        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(seq));
+        emitter.complete();
+        return emitter;
+    }
+
+    /**
+     * Number of currently connected subscribers.
+     *
+     * @return the subscriber count
+     */
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                wakeup.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                wakeup.drainPermits();
+                dispatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error(LOG_MESSAGE + "User change stream dispatch failed", e);
+            }
+        }
+    }
+
+    private Frame toFrame(UserChangeLogEntry entry) throws Exception {
+        String json = objectMapper.writeValueAsString(UserChangeFeedServiceImpl.toUserChange(entry, objectMapper));
+        return new Frame(entry.getSeq(), SseEmitter.event()
+                .id(String.valueOf(entry.getSeq()))
+                .name(entry.getChangeType())
+                .data(json)
+                .build());
+    }
+
+    /**
+     * A serialized SSE event shared by all subscribers.
+     *
+     * @param seq   change sequence of the event, {@code -1} for heartbeats
+     * @param items the pre-built event content
+     */
+    record Frame(long seq, Set<ResponseBodyEmitter.DataWithMediaType> items) {
+    }
+
+    /**
+     * One connected stream with its bounded buffer.
+     */
+    final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Frame> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        /**
+         * Highest change sequence put into the buffer. Only accessed while holding the broadcaster lock, except
+         * by heartbeats, which neither read nor write it.
+         */
+        private long lastQueuedSeq;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Frame frame) {
+            if (closed || (frame.seq() >= 0 && frame.seq() <= lastQueuedSeq)) {
+                return;
+            }
+            if (!buffer.offer(frame)) {
+                slowDisconnectCounter.increment();
+                logger.warn(LOG_MESSAGE + "Disconnecting slow user change stream subscriber");
+                close();
+                return;
+            }
+            if (frame.seq() >= 0) {
+                lastQueuedSeq = frame.seq();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senderExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Frame frame;
+                while (!closed && (frame = buffer.poll()) != null) {
+                    emitter.send(frame.items());
+                    framesCounter.increment();
+                }
+            } catch (Exception e) {
+                close();
+            } finally {
+                draining.set(false);
+                if (!closed && !buffer.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            buffer.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.subash.user.management.service;
+
+import com.subash.user.management.model.UserChangeFeedResponse;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Service interface for the incremental user change feed.
+ * <p>
+ * Consumers keep the last change sequence they have applied and ask for the changes after it,
+ * so each sync costs work proportional to the number of changes rather than to the table size.
+ */
+public interface UserChangeFeedService {
+
+    /**
+     * Retrieves an ordered page of user changes after the given sequence.
+     *
+     * @param since last change sequence applied by the consumer, {@code 0} to start from the beginning
+     * @param limit maximum number of changes to return
+     * @return a {@link ResponseEntity} containing {@link UserChangeFeedResponse} with the changes
+     * @throws Exception if the changes cannot be read
+     */
+    ResponseEntity<UserChangeFeedResponse> getChanges(long since, int limit) throws Exception;
+}
@@ -0,0 +1,116 @@
+package com.subash.user.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.model.UserChange;
+import com.subash.user.management.model.UserChangeFeedResponse;
+import com.subash.user.management.model.UserChangeLogEntry;
+import com.subash.user.management.model.UserView;
+import com.subash.user.management.repository.UserChangeLogRepository;
+import com.subash.user.management.util.Constants;
+import com.subash.user.management.util.GenericLogger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.subash.user.management.util.Constants.*;
+
+/**
+ * Implementation class for {@link UserChangeFeedService} reading from the user change log.
+ */
+@Service
+public class UserChangeFeedServiceImpl implements UserChangeFeedService {
+
+    private static final Logger logger = LogManager.getLogger(UserChangeFeedServiceImpl.class);
+
+    private final UserChangeLogRepository userChangeLogRepository;
+    private final UserChangeLogService userChangeLogService;
+    private final GenericLogger genericLogger;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
+
+    /**
+     * Constructs a new instance of {@code UserChangeFeedServiceImpl}.
+     *
+     * @param userChangeLogRepository repository for change log entries
+     * @param userChangeLogService    service exposing the compaction horizon
+     * @param genericLogger           logger for structured logging
+     * @param objectMapper            mapper used to read the stored user snapshots
+     * @param maxPageSize             upper bound for the requested page size
+     */
+    public UserChangeFeedServiceImpl(UserChangeLogRepository userChangeLogRepository,
+                                     UserChangeLogService userChangeLogService, GenericLogger genericLogger,
+                                     ObjectMapper objectMapper,
+                                     @Value("${change-feed.max-page-size:1000}") int maxPageSize) {
+        this.userChangeLogRepository = userChangeLogRepository;
+        this.userChangeLogService = userChangeLogService;
+        this.genericLogger = genericLogger;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Reads one row more than requested to tell whether more changes are available without a count query.
+     *
+     * @param since last change sequence applied by the consumer
+     * @param limit maximum number of changes to return, clamped to {@code change-feed.max-page-size}
+     * @return a response containing the changes and the cursor for the next call
+     * @throws Exception if an error occurs during retrieval
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<UserChangeFeedResponse> getChanges(long since, int limit) throws Exception {
+        logger.info(LOG_MESSAGE + "Processing get user changes request");
+        UserChangeFeedResponse feedResponse = new UserChangeFeedResponse();
+        try {
+            int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+            List<UserChangeLogEntry> entries =
+                    userChangeLogRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(pageSize + 1));
+            boolean hasMore = entries.size() > pageSize;
+            List<UserChange> changes = new ArrayList<>(Math.min(entries.size(), pageSize));
+            for (UserChangeLogEntry entry : hasMore ? entries.subList(0, pageSize) : entries) {
+                changes.add(toUserChange(entry, objectMapper));
+            }
+            feedResponse.setChanges(changes);
+            feedResponse.setNextSince(changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq());
+            feedResponse.setHasMore(hasMore);
+            feedResponse.setResyncRequired(since > 0 && since < userChangeLogService.purgedThroughSeq());
+            feedResponse.setCode(RECORD_FOUND_CODE);
+            feedResponse.setMessage(RECORD_FOUND);
+        } catch (Exception e) {
+            // Logger error response
+            genericLogger.logResponse(logger, LOG_STATUS_ERROR, Constants.API_PROCESSED_FAILURE);
+            throw e;
+        }
+        logger.info(LOG_MESSAGE + "Get user changes request processed");
+        return new ResponseEntity<>(feedResponse, HttpStatus.OK);
+    }
+
+    /**
+     * Converts a change log entry to its API representation.
+     *
+     * @param entry        the change log entry
+     * @param objectMapper mapper used to read the stored user snapshot
+     * @return the change as exposed by the feed and the change stream
+     * @throws Exception if the stored snapshot cannot be read
+     */
+    static UserChange toUserChange(UserChangeLogEntry entry, ObjectMapper objectMapper) throws Exception {
+        UserChange change = new UserChange();
+        change.setSeq(entry.getSeq());
+        change.setChangeType(UserChange.ChangeTypeEnum.fromValue(entry.getChangeType()));
+        change.setUsername(entry.getUsername());
+        if (entry.getPayload() != null) {
+            change.setUser(objectMapper.readValue(entry.getPayload(), UserView.class));
+        }
+        change.setChangedAt(entry.getChangedAt().atOffset(ZoneOffset.UTC));
+        return change;
+    }
+}
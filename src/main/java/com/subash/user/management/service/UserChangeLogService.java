@@ -0,0 +1,131 @@
+package com.subash.user.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.mapper.UserMapper;
+import com.subash.user.management.model.User;
+import com.subash.user.management.model.UserChangeEvent;
+import com.subash.user.management.model.UserChangeLogEntry;
+import com.subash.user.management.model.UserChangeLogHorizon;
+import com.subash.user.management.repository.UserChangeLogHorizonRepository;
+import com.subash.user.management.repository.UserChangeLogRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static com.subash.user.management.util.Constants.*;
+
+/**
+ * Maintains the user change log that backs the incremental change feed.
+ * <p>
+ * {@link #record(String, User)} appends an entry in the caller's transaction and publishes a
+ * {@link UserChangeEvent} for in-process listeners such as the change stream. The scheduled
+ * {@link #compact()} job keeps the log proportional to the number of users rather than to the
+ * number of changes ever made: entries superseded by a later change of the same username are
+ * removed, and tombstones older than the configured retention are purged.
+ */
+@Service
+public class UserChangeLogService {
+
+    private static final Logger logger = LogManager.getLogger(UserChangeLogService.class);
+
+    private final UserChangeLogRepository userChangeLogRepository;
+    private final UserChangeLogHorizonRepository horizonRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration tombstoneRetention;
+
+    /**
+     * Constructs the service with its required dependencies.
+     *
+     * @param userChangeLogRepository repository for change log entries
+     * @param horizonRepository       repository for the compaction horizon
+     * @param objectMapper            mapper used to serialize the user snapshot
+     * @param eventPublisher          publisher for {@link UserChangeEvent}
+     * @param tombstoneRetention      how long tombstones are kept before compaction purges them
+     */
+    public UserChangeLogService(UserChangeLogRepository userChangeLogRepository,
+                                UserChangeLogHorizonRepository horizonRepository, ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${change-feed.compaction.tombstone-retention:7d}") Duration tombstoneRetention) {
+        this.userChangeLogRepository = userChangeLogRepository;
+        this.horizonRepository = horizonRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Appends a change of the given user to the log in the current transaction.
+     *
+     * @param changeType {@code CREATED} or {@code REMOVED}
+     * @param user       the changed user
+     * @return the saved entry, carrying its change sequence
+     * @throws JsonProcessingException if the user snapshot cannot be serialized
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public UserChangeLogEntry record(String changeType, User user) throws JsonProcessingException {
+        userChangeLogRepository.acquireWriteLock(UserChangeLogRepository.WRITE_LOCK_KEY);
+        UserChangeLogEntry entry = new UserChangeLogEntry();
+        entry.setUsername(user.getUsername());
+        entry.setChangeType(changeType);
+        if (!CHANGE_REMOVED.equals(changeType)) {
+            entry.setPayload(objectMapper.writeValueAsString(UserMapper.INSTANCE.userToUserView(user)));
+        }
+        entry.setChangedAt(Instant.now());
+        UserChangeLogEntry saved = userChangeLogRepository.save(entry);
+        eventPublisher.publishEvent(new UserChangeEvent(saved.getSeq(), changeType, saved.getUsername()));
+        return saved;
+    }
+
+    /**
+     * Returns the highest sequence whose tombstone has been purged.
+     *
+     * @return the purge horizon, {@code 0} if nothing has been purged yet
+     */
+    @Transactional(readOnly = true)
+    public long purgedThroughSeq() {
+        return horizonRepository.findById(UserChangeLogHorizon.SINGLETON_ID)
+                .map(UserChangeLogHorizon::getPurgedThroughSeq)
+                .orElse(0L);
+    }
+
+    /**
+     * Compacts the change log. Runs on the {@code change-feed.compaction.cron} schedule.
+     */
+    @Scheduled(cron = "${change-feed.compaction.cron:0 */15 * * * *}")
+    @Transactional
+    public void compact() {
+        Long maxSeq = userChangeLogRepository.findMaxSeq();
+        if (maxSeq == null) {
+            return;
+        }
+        int superseded = userChangeLogRepository.deleteSuperseded(maxSeq);
+
+        int purged = 0;
+        Long tombstoneSeq = userChangeLogRepository.findMaxTombstoneSeqBefore(Instant.now().minus(tombstoneRetention));
+        if (tombstoneSeq != null) {
+            purged = userChangeLogRepository.deleteTombstonesUpTo(tombstoneSeq);
+            UserChangeLogHorizon horizon = horizonRepository.findById(UserChangeLogHorizon.SINGLETON_ID)
+                    .orElseGet(() -> {
+                        UserChangeLogHorizon created = new UserChangeLogHorizon();
+                        created.setId(UserChangeLogHorizon.SINGLETON_ID);
+                        created.setPurgedThroughSeq(0L);
+                        return created;
+                    });
+            horizon.setPurgedThroughSeq(Math.max(horizon.getPurgedThroughSeq(), tombstoneSeq));
+            horizon.setCompactedAt(Instant.now());
+            horizonRepository.save(horizon);
+        }
+        logger.info(LOG_MESSAGE + "User change log compacted" + COMMA + "superseded removed: {}"
+                + COMMA + "tombstones purged: {}", superseded, purged);
+    }
+}
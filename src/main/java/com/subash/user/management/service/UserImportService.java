@@ -0,0 +1,35 @@
+package com.subash.user.management.service;
+
+import com.subash.user.management.model.UserImportResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Service interface for bulk user imports.
+ * <p>
+ * Imports run as background jobs: starting one returns a job id right away, and the job progress is
+ * read with {@link #getImportStatus(String, String)} until it completes.
+ */
+public interface UserImportService {
+
+    /**
+     * Starts a bulk import from an uploaded file, or from a file in the configured import directory.
+     *
+     * @param file   uploaded CSV or NDJSON file, may be {@code null} when {@code path} is given
+     * @param path   file name relative to the import directory, used when no file is uploaded
+     * @param format {@code csv} or {@code ndjson}, derived from the file extension when {@code null}
+     * @return a {@link ResponseEntity} containing the {@link UserImportResponse} of the started job
+     * @throws Exception if the job cannot be started
+     */
+    ResponseEntity<UserImportResponse> startImport(MultipartFile file, String path, String format)
+            throws Exception;
+
+    /**
+     * Retrieves the progress of an import job.
+     *
+     * @param jobId id of the job returned when it was started
+     * @return a {@link ResponseEntity} containing the {@link UserImportResponse} of the job
+     * @throws Exception if the status cannot be read
+     */
+    ResponseEntity<UserImportResponse> getImportStatus(String jobId) throws Exception;
+}
@@ -0,0 +1,559 @@
+package com.subash.user.management.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.mapper.UserMapper;
+import com.subash.user.management.model.UserImportResponse;
+import com.subash.user.management.model.UserView;
+import com.subash.user.management.repository.UserBulkLoader;
+import com.subash.user.management.repository.UserBulkLoader.Conflict;
+import com.subash.user.management.repository.UserBulkLoader.StagedUser;
+import com.subash.user.management.util.Constants;
+import com.subash.user.management.util.GenericLogger;
+import com.subash.user.management.util.RequestIdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.subash.user.management.util.Constants.*;
+
+/**
+ * Implementation class for {@link UserImportService}.
+ * <p>
+ * The source file is streamed in chunks of {@code import.chunk-size} rows. Each chunk is validated against the
+ * {@link UserView} constraints and its passwords are hashed in parallel on a dedicated pool, since BCrypt
+ * dominates the cost of an import. The valid rows of a chunk are loaded and committed by the
+ * {@link UserBulkLoader} before the next chunk is read; rejected rows are written with their line number and
+ * reason to {@code <import.reject-dir>/<jobId>-rejects.csv}.
+ * <p>
+ * CSV files need a header row naming the columns {@code username, password, role, emailId, phoneNumber}.
+ * A {@code passwordHash} column holding BCrypt hashes exported from another system may be used instead of
+ * {@code password}. NDJSON files hold one object per line with the same field names.
+ */
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger logger = LogManager.getLogger(UserImportServiceImpl.class);
+
+    private static final String FORMAT_CSV = "csv";
+    private static final String FORMAT_NDJSON = "ndjson";
+    private static final String BCRYPT_PREFIX = "$2";
+
+    private final UserBulkLoader userBulkLoader;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final GenericLogger genericLogger;
+    private final Path localDir;
+    private final Path rejectDir;
+    private final int chunkSize;
+    private final ForkJoinPool hashPool;
+    private final ExecutorService jobExecutor;
+    private final Map<String, ImportJob> jobs;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    /**
+     * Constructs a new instance of {@code UserImportServiceImpl}.
+     *
+     * @param userBulkLoader  loader writing the imported users
+     * @param passwordEncoder encoder for hashing user passwords
+     * @param validator       validator applying the {@link UserView} constraints
+     * @param objectMapper    mapper used to read NDJSON rows
+     * @param genericLogger   logger for structured logging
+     * @param meterRegistry   registry for the import metrics
+     * @param localDir        directory server local import files are read from
+     * @param rejectDir       directory the reject reports are written to
+     * @param chunkSize       number of rows validated, hashed and loaded together
+     * @param hashParallelism number of threads hashing passwords, {@code 0} for one per core
+     * @param retainedJobs    number of jobs kept for status requests
+     */
+    public UserImportServiceImpl(UserBulkLoader userBulkLoader, PasswordEncoder passwordEncoder, Validator validator,
+                                 ObjectMapper objectMapper, GenericLogger genericLogger, MeterRegistry meterRegistry,
+                                 @Value("${import.local-dir:imports}") String localDir,
+                                 @Value("${import.reject-dir:logs/import-rejects}") String rejectDir,
+                                 @Value("${import.chunk-size:5000}") int chunkSize,
+                                 @Value("${import.hash-parallelism:0}") int hashParallelism,
+                                 @Value("${import.retained-jobs:100}") int retainedJobs) {
+        this.userBulkLoader = userBulkLoader;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.genericLogger = genericLogger;
+        this.localDir = Path.of(localDir).toAbsolutePath().normalize();
+        this.rejectDir = Path.of(rejectDir).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize;
+        this.hashPool = new ForkJoinPool(hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors());
+        this.jobExecutor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("user-import").factory());
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+                return size() > retainedJobs && !eldest.getValue().isRunning();
+            }
+        });
+        this.importedRows = Counter.builder("user.import.rows").tag("outcome", "imported")
+                .description("Users inserted by bulk imports").register(meterRegistry);
+        this.rejectedRows = Counter.builder("user.import.rows").tag("outcome", "rejected")
+                .description("Bulk import rows rejected by validation or conflicts").register(meterRegistry);
+    }
+
+    /**
+     * Resolves the source file and queues the job. Uploaded files are copied to a temporary file first,
+     * because the multipart content is released when the request completes. Jobs run one at a time.
+     *
+     * @param file   uploaded file, may be {@code null}
+     * @param path   file name relative to {@code import.local-dir}, used when no file is uploaded
+     * @param format {@code csv} or {@code ndjson}, derived from the file extension when {@code null}
+     * @return a response containing the queued job, or a bad request if the source cannot be used
+     * @throws Exception if the upload cannot be stored
+     */
+    @Override
+    public ResponseEntity<UserImportResponse> startImport(MultipartFile file, String path, String format)
+            throws Exception {
+        logger.info(LOG_MESSAGE + "Processing import users request");
+        UserImportResponse importResponse = new UserImportResponse();
+        try {
+            String fileName;
+            Path source;
+            boolean temporary;
+            if (file != null && !file.isEmpty()) {
+                fileName = file.getOriginalFilename();
+                source = Files.createTempFile("user-import-", ".tmp");
+                file.transferTo(source);
+                temporary = true;
+            } else if (path != null && !path.isBlank()) {
+                fileName = path;
+                source = localDir.resolve(path).normalize();
+                temporary = false;
+                if (!source.startsWith(localDir) || !Files.isRegularFile(source)) {
+                    return invalidSource(importResponse, "Import file not found in the import directory: " + path);
+                }
+            } else {
+                return invalidSource(importResponse, "Either an uploaded file or a path is required");
+            }
+
+            String resolvedFormat = resolveFormat(format, fileName);
+            if (resolvedFormat == null) {
+                if (temporary) {
+                    Files.deleteIfExists(source);
+                }
+                return invalidSource(importResponse, "Unsupported import format, expected csv or ndjson");
+            }
+
+            ImportJob job = new ImportJob(RequestIdGenerator.next(), rejectDir);
+            jobs.put(job.id, job);
+            // the job logs under the id of the request that queued it
+            String requestId = ThreadContext.get(REQUEST_ID_KEY);
+            jobExecutor.execute(() -> {
+                ThreadContext.put(REQUEST_ID_KEY, requestId);
+                try {
+                    runImport(job, source, resolvedFormat, temporary);
+                } finally {
+                    ThreadContext.remove(REQUEST_ID_KEY);
+                }
+            });
+            logger.info(LOG_MESSAGE + "Import job {} queued for {}", job.id, fileName);
+
+            job.describe(importResponse);
+            importResponse.setCode(IMPORT_ACCEPTED_CODE);
+            importResponse.setMessage(IMPORT_ACCEPTED);
+        } catch (Exception e) {
+            // Logger error response
+            genericLogger.logResponse(logger, LOG_STATUS_ERROR, Constants.API_PROCESSED_FAILURE);
+            throw e;
+        }
+        logger.info(LOG_MESSAGE + "Import users request processed");
+        return new ResponseEntity<>(importResponse, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Retrieves the progress of an import job from the retained jobs.
+     *
+     * @param jobId id of the job
+     * @return a response containing the job progress, or a not found message
+     * @throws Exception if an error occurs during retrieval
+     */
+    @Override
+    public ResponseEntity<UserImportResponse> getImportStatus(String jobId) throws Exception {
+        logger.info(LOG_MESSAGE + "Processing get import status request");
+        UserImportResponse importResponse = new UserImportResponse();
+        try {
+            ImportJob job = jobs.get(jobId);
+            if (job == null) {
+                importResponse.setCode(IMPORT_NOT_FOUND_CODE);
+                importResponse.setMessage(IMPORT_NOT_FOUND);
+                return new ResponseEntity<>(importResponse, HttpStatus.NOT_FOUND);
+            }
+            job.describe(importResponse);
+            importResponse.setCode(IMPORT_FOUND_CODE);
+            importResponse.setMessage(job.failure != null ? job.failure : IMPORT_FOUND);
+        } catch (Exception e) {
+            // Logger error response
+            genericLogger.logResponse(logger, LOG_STATUS_ERROR, Constants.API_PROCESSED_FAILURE);
+            throw e;
+        }
+        logger.info(LOG_MESSAGE + "Get import status request processed");
+        return new ResponseEntity<>(importResponse, HttpStatus.OK);
+    }
+
+    /**
+     * Runs an import job. Each chunk is committed on its own, so a failed job keeps the users of the chunks
+     * loaded before the failure and reports them as imported. Running the file again is safe: those rows are
+     * rejected as already existing.
+     */
+    void runImport(ImportJob job, Path source, String format, boolean temporary) {
+        logger.info(LOG_MESSAGE + "Import job {} started", job.id);
+        job.startedNanos = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+             RejectWriter rejects = new RejectWriter(job.rejectFile)) {
+            RowParser parser = FORMAT_CSV.equals(format) ? new CsvRowParser(reader.readLine()) : new NdjsonRowParser();
+            long lineNo = FORMAT_CSV.equals(format) ? 1 : 0;
+            List<RawRow> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(new RawRow(lineNo, line));
+                if (chunk.size() == chunkSize) {
+                    processChunk(job, parser, chunk, rejects);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(job, parser, chunk, rejects);
+            }
+            job.status = UserImportResponse.StatusEnum.COMPLETED;
+            logger.info(LOG_MESSAGE + "Import job {} completed: {} imported, {} rejected, {} rows/s",
+                    job.id, job.imported.get(), job.rejected.get(), Math.round(job.rowsPerSecond()));
+        } catch (Exception e) {
+            job.failure = e.getMessage();
+            job.status = UserImportResponse.StatusEnum.FAILED;
+            logger.error(LOG_MESSAGE + "Import job {} failed", job.id, e);
+        } finally {
+            job.finishedNanos = System.nanoTime();
+            if (temporary) {
+                try {
+                    Files.deleteIfExists(source);
+                } catch (IOException e) {
+                    logger.warn(LOG_MESSAGE + "Could not delete uploaded import file {}", source, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Validates and hashes one chunk in parallel, then loads and commits the valid rows.
+     */
+    private void processChunk(ImportJob job, RowParser parser, List<RawRow> chunk, RejectWriter rejects)
+            throws Exception {
+        List<PreparedRow> prepared = hashPool.submit(() -> chunk.parallelStream()
+                .map(row -> prepare(parser, row))
+                .toList()).get();
+        List<StagedUser> staged = new ArrayList<>(prepared.size());
+        for (PreparedRow row : prepared) {
+            if (row.user() != null) {
+                staged.add(row.user());
+            } else {
+                rejects.write(row.raw().lineNo(), row.reason(), row.raw().line());
+            }
+        }
+        List<Conflict> conflicts = staged.isEmpty() ? List.of() : userBulkLoader.load(staged);
+        for (Conflict conflict : conflicts) {
+            rejects.write(conflict.lineNo(), "Username or email already exists", conflict.username());
+        }
+        long rejected = chunk.size() - staged.size() + conflicts.size();
+        job.imported.addAndGet(staged.size() - conflicts.size());
+        job.rejected.addAndGet(rejected);
+        importedRows.increment(staged.size() - conflicts.size());
+        rejectedRows.increment(rejected);
+        job.processed.addAndGet(chunk.size());
+        logger.info(LOG_MESSAGE + "Import job {} progress: {} rows, {} rows/s",
+                job.id, job.processed.get(), Math.round(job.rowsPerSecond()));
+    }
+
+    /**
+     * Parses and validates a row and hashes its password.
+     */
+    PreparedRow prepare(RowParser parser, RawRow raw) {
+        Map<String, String> fields;
+        try {
+            fields = parser.parse(raw.line());
+        } catch (Exception e) {
+            return PreparedRow.rejected(raw, "Malformed row: " + e.getMessage());
+        }
+
+        UserView userView = new UserView();
+        userView.setUsername(fields.get("username"));
+        userView.setPassword(fields.get("password"));
+        userView.setEmailId(fields.get("emailId"));
+        userView.setPhoneNumber(fields.get("phoneNumber"));
+        String role = fields.get("role");
+        if (role != null) {
+            try {
+                userView.setRole(UserView.RoleEnum.fromValue(role.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return PreparedRow.rejected(raw, "role: must be one of ADMIN, USER");
+            }
+        }
+
+        Set<ConstraintViolation<UserView>> violations = validator.validate(userView);
+        if (!violations.isEmpty()) {
+            return PreparedRow.rejected(raw, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        String passwordHash = fields.get("passwordHash");
+        if (userView.getPassword() != null) {
+            passwordHash = passwordEncoder.encode(userView.getPassword());
+        } else if (passwordHash == null) {
+            return PreparedRow.rejected(raw, "password: either password or passwordHash is required");
+        } else if (!passwordHash.startsWith(BCRYPT_PREFIX)) {
+            return PreparedRow.rejected(raw, "passwordHash: must be a BCrypt hash");
+        }
+
+        return new PreparedRow(raw, new StagedUser(raw.lineNo(), userView.getUsername(), passwordHash,
+                UserMapper.INSTANCE.mapToEntityRole(userView.getRole()), userView.getEmailId(),
+                userView.getPhoneNumber()), null);
+    }
+
+    /**
+     * Stops the job and hashing pools on shutdown.
+     */
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+        hashPool.shutdownNow();
+    }
+
+    private ResponseEntity<UserImportResponse> invalidSource(UserImportResponse importResponse, String message) {
+        importResponse.setCode(IMPORT_INVALID_SOURCE_CODE);
+        importResponse.setMessage(message);
+        return new ResponseEntity<>(importResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    private static String resolveFormat(String format, String fileName) {
+        String candidate = format;
+        if (candidate == null && fileName != null) {
+            candidate = fileName.substring(fileName.lastIndexOf('.') + 1);
+        }
+        if (candidate == null) {
+            return null;
+        }
+        return switch (candidate.toLowerCase(Locale.ROOT)) {
+            case FORMAT_CSV -> FORMAT_CSV;
+            case FORMAT_NDJSON, "jsonl" -> FORMAT_NDJSON;
+            default -> null;
+        };
+    }
+
+    /**
+     * A source line with its line number.
+     */
+    record RawRow(long lineNo, String line) {
+    }
+
+    /**
+     * A row after validation: either the user to stage or the reason it was rejected.
+     */
+    record PreparedRow(RawRow raw, StagedUser user, String reason) {
+
+        static PreparedRow rejected(RawRow raw, String reason) {
+            return new PreparedRow(raw, null, reason);
+        }
+    }
+
+    /**
+     * Splits a source line into named fields; blank values are returned as {@code null}.
+     */
+    interface RowParser {
+
+        Map<String, String> parse(String line) throws Exception;
+    }
+
+    /**
+     * Parses RFC 4180 style CSV lines with the columns named by the header row.
+     */
+    static final class CsvRowParser implements RowParser {
+
+        private final String[] columns;
+
+        CsvRowParser(String header) {
+            if (header == null) {
+                throw new IllegalArgumentException("CSV import file is empty");
+            }
+            List<String> names = split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+            this.columns = names.stream().map(String::trim).toArray(String[]::new);
+        }
+
+        @Override
+        public Map<String, String> parse(String line) {
+            List<String> values = split(line);
+            if (values.size() != columns.length) {
+                throw new IllegalArgumentException("expected " + columns.length + " columns but found "
+                        + values.size());
+            }
+            Map<String, String> fields = new HashMap<>(columns.length * 2);
+            for (int i = 0; i < columns.length; i++) {
+                String value = values.get(i).trim();
+                fields.put(columns[i], value.isEmpty() ? null : value);
+            }
+            return fields;
+        }
+
+        static List<String> split(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("unterminated quoted value");
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+
+    /**
+     * Parses one JSON object per line.
+     */
+    final class NdjsonRowParser implements RowParser {
+
+        @Override
+        public Map<String, String> parse(String line) throws Exception {
+            JsonNode node = objectMapper.readTree(line);
+            if (node == null || !node.isObject()) {
+                throw new IllegalArgumentException("expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            node.fields().forEachRemaining(field -> {
+                String value = field.getValue().isNull() ? null : field.getValue().asText();
+                fields.put(field.getKey(), value == null || value.isBlank() ? null : value);
+            });
+            return fields;
+        }
+    }
+
+    /**
+     * Writes rejected rows as CSV with their line number, reason and original content.
+     */
+    static final class RejectWriter implements AutoCloseable {
+
+        private final BufferedWriter writer;
+
+        RejectWriter(Path file) throws IOException {
+            Files.createDirectories(file.getParent());
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            writer.write("line,reason,row");
+            writer.newLine();
+        }
+
+        void write(long lineNo, String reason, String row) throws IOException {
+            writer.write(lineNo + "," + quote(reason) + "," + quote(row));
+            writer.newLine();
+        }
+
+        private static String quote(String value) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Progress of one import job. Counters are updated by the job thread and read by status requests.
+     */
+    static final class ImportJob {
+
+        final String id;
+        final Path rejectFile;
+        volatile long startedNanos = System.nanoTime();
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong imported = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        volatile long finishedNanos;
+        volatile UserImportResponse.StatusEnum status = UserImportResponse.StatusEnum.RUNNING;
+        volatile String failure;
+
+        ImportJob(String id, Path rejectDir) {
+            this.id = id;
+            this.rejectFile = rejectDir.resolve(id + "-rejects.csv");
+        }
+
+        boolean isRunning() {
+            return status == UserImportResponse.StatusEnum.RUNNING;
+        }
+
+        double rowsPerSecond() {
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            double seconds = Math.max(end - startedNanos, 1) / 1_000_000_000d;
+            return processed.get() / seconds;
+        }
+
+        void describe(UserImportResponse importResponse) {
+            importResponse.setJobId(id);
+            importResponse.setStatus(status);
+            importResponse.setProcessedRows(processed.get());
+            importResponse.setImportedRows(imported.get());
+            importResponse.setRejectedRows(rejected.get());
+            importResponse.setRowsPerSecond(rowsPerSecond());
+            importResponse.setRejectFile(rejectFile.toString());
+        }
+    }
+}
@@ -5,49 +5,57 @@ import com.subash.user.management.model.UserResponse;
 import com.subash.user.management.model.UserView;
 import org.springframework.http.ResponseEntity;
 
+import java.time.OffsetDateTime;
+
 /**
  * Service interface for user-related operations.
  * <p>
  * This interface defines the contract for creating, retrieving, listing, and deleting user accounts.
- * Each method accepts a UUID string used for tracing/logging purposes.
+ * Log lines are correlated through the request id kept in the logging context.
  */
 public interface UserService {
     /**
      * Creates a new user based on the provided user view model.
      *
-     * @param uuid     unique identifier for logging/tracing
      * @param userView the user details to be registered
      * @return a {@link ResponseEntity} containing {@link UserResponse} with status and result
      * @throws Exception in case of validation, persistence, or processing errors
      */
-    ResponseEntity<UserResponse> createUser(String uuid, UserView userView) throws Exception;
+    ResponseEntity<UserResponse> createUser(UserView userView) throws Exception;
 
     /**
      * Retrieves details of a specific user by username.
      *
-     * @param uuid     unique identifier for logging/tracing
      * @param userName the username of the user to retrieve
      * @return a {@link ResponseEntity} containing {@link UserResponse} with user data
      * @throws Exception if user is not found or any error occurs
      */
-    ResponseEntity<UserResponse> getUser(String uuid, String userName) throws Exception;
+    ResponseEntity<UserResponse> getUser(String userName) throws Exception;
 
     /**
-     * Retrieves all users in the system.
+     * Retrieves a page of the users matching all given filters.
      *
-     * @param uuid unique identifier for logging/tracing
-     * @return a {@link ResponseEntity} containing {@link AllUserResponse} with the user list
+     * @param role             only users with this role, or null for any
+     * @param hasEmail         only users with (true) or without (false) an email address, or null for any
+     * @param registeredFrom   only users registered at or after this time, or null
+     * @param registeredBefore only users registered before this time, or null
+     * @param sort             {@code username} or {@code registeredAt}, optionally followed by {@code ,asc} or
+     *                         {@code ,desc}
+     * @param page             zero-based page number
+     * @param size             users per page
+     * @return a {@link ResponseEntity} containing {@link AllUserResponse} with the page of users
      * @throws Exception if fetching users fails
      */
-    ResponseEntity<AllUserResponse> getAllUser(String uuid) throws Exception;
+    ResponseEntity<AllUserResponse> getAllUser(UserView.RoleEnum role, Boolean hasEmail, OffsetDateTime registeredFrom,
+                                               OffsetDateTime registeredBefore, String sort, int page, int size)
+            throws Exception;
 
     /**
      * Removes a user from the system by username.
      *
-     * @param uuid     unique identifier for logging/tracing
      * @param userName the username of the user to delete
      * @return a {@link ResponseEntity} containing {@link UserResponse} with the result
      * @throws Exception if user cannot be deleted or not found
      */
-    ResponseEntity<UserResponse> removeUser(String uuid, String userName) throws Exception;
+    ResponseEntity<UserResponse> removeUser(String userName) throws Exception;
 }
@@ -1,21 +1,39 @@
 package com.subash.user.management.service;
 
+import com.subash.user.management.exception.UserConflictException;
+import com.subash.user.management.exception.UserExistsException;
+import com.subash.user.management.exception.UserManagementException;
+import com.subash.user.management.exception.UserNotFoundException;
+import com.subash.user.management.jfr.MappingEvent;
+import com.subash.user.management.jfr.RepositoryCallEvent;
 import com.subash.user.management.mapper.UserMapper;
 import com.subash.user.management.model.AllUserResponse;
 import com.subash.user.management.model.User;
 import com.subash.user.management.model.UserResponse;
 import com.subash.user.management.model.UserView;
+import com.subash.user.management.repository.UserFallbackCache;
 import com.subash.user.management.repository.UserRepository;
+import com.subash.user.management.repository.UserSpecifications;
+import com.subash.user.management.security.CustomUserDetails;
 import com.subash.user.management.util.Constants;
 import com.subash.user.management.util.GenericLogger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.OffsetDateTime;
 import java.util.Optional;
 
 import static com.subash.user.management.util.Constants.*;
@@ -23,6 +41,9 @@ import static com.subash.user.management.util.Constants.*;
 /**
  * Implementation class for {@link UserService} that provides user-related operations such as
  * creating, retrieving, listing, and removing users.
+ * <p>
+ * Repository calls and mappings are recorded as {@link RepositoryCallEvent}s and {@link MappingEvent}s for
+ * Java Flight Recorder.
  */
 @Service
 public class UserServiceImpl implements UserService {
@@ -33,151 +54,246 @@ public class UserServiceImpl implements UserService {
 
     private final GenericLogger genericLogger;
     private final PasswordEncoder passwordEncoder;
+    private final OutboxService outboxService;
+    private final UserChangeLogService userChangeLogService;
+    private final UserFallbackCache userFallbackCache;
+    private final int maxPageSize;
 
     /**
      * Constructs a new instance of {@code UserServiceImpl}.
      *
-     * @param userRepository  repository for user persistence
-     * @param passwordEncoder encoder for hashing user passwords
-     * @param genericLogger   logger for structured logging
+     * @param userRepository       repository for user persistence
+     * @param passwordEncoder      encoder for hashing user passwords
+     * @param genericLogger        logger for structured logging
+     * @param outboxService        service recording user lifecycle events
+     * @param userChangeLogService service appending to the user change feed
+     * @param userFallbackCache    last known good users, cleared of removed users
+     * @param maxPageSize          upper bound for the page size of the user listing
      */
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, GenericLogger genericLogger) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, GenericLogger genericLogger,
+                           OutboxService outboxService, UserChangeLogService userChangeLogService,
+                           UserFallbackCache userFallbackCache,
+                           @Value("${user-listing.max-page-size:1000}") int maxPageSize) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.genericLogger = genericLogger;
-
+        this.outboxService = outboxService;
+        this.userChangeLogService = userChangeLogService;
+        this.userFallbackCache = userFallbackCache;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
      * Creates a new user after checking if the username already exists. If not, it saves the user with a hashed password.
+     * A {@code USER_CREATED} outbox event and a change feed entry are recorded in the same transaction.
      *
-     * @param uuid     unique identifier for tracing/logging
      * @param userView user data received from the client
-     * @return a response containing created user data or an existing record message
-     * @throws Exception if there is a failure during processing
+     * @return a response containing created user data
+     * @throws UserExistsException   if the username is already taken
+     * @throws UserConflictException if the insert violates a unique constraint, e.g. a concurrent registration
+     *                               of the same username or an email address already in use
+     * @throws Exception             if there is a failure during processing
      */
     @Override
-    public ResponseEntity<UserResponse> createUser(String uuid, UserView userView) throws Exception {
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Processing create user request");
+    @Transactional(rollbackFor = Exception.class)
+    public ResponseEntity<UserResponse> createUser(UserView userView) throws Exception {
+        logger.info(LOG_MESSAGE + "Processing create user request");
         UserResponse userResponse = new UserResponse();
         try {
 
-            Optional<User> userOptional = userRepository.findByUsername(userView.getUsername());
+            Optional<User> userOptional = RepositoryCallEvent.record("findByUsername",
+                    () -> userRepository.findByUsername(userView.getUsername()));
             if (userOptional.isPresent()) {
-                userResponse.setCode(RECORD_EXIST_CODE);
-                userResponse.setMessage(RECORD_EXIST);
-                return new ResponseEntity<>(userResponse, HttpStatus.OK);
-            } else {
-                User user = UserMapper.INSTANCE.userViewToUser(userView);
-                // Hash password before storing
-                user.setPasswordHash(passwordEncoder.encode(userView.getPassword()));
-                userResponse.setUser(UserMapper.INSTANCE.userToUserView(userRepository.save(user)));
-                userResponse.setCode(CREATE_RECORD_SUCCESS_CODE);
-                userResponse.setMessage(CREATE_RECORD_SUCCESS);
+                throw UserExistsException.INSTANCE;
             }
+            User user = MappingEvent.record("userViewToUser", () -> UserMapper.INSTANCE.userViewToUser(userView));
+            // Hash password before storing
+            user.setPasswordHash(passwordEncoder.encode(userView.getPassword()));
+            User savedUser = RepositoryCallEvent.record("save", () -> userRepository.save(user));
+            outboxService.record(USER_CREATED_EVENT, savedUser);
+            userChangeLogService.record(CHANGE_CREATED, savedUser);
+            userResponse.setUser(MappingEvent.record("userToUserView",
+                    () -> UserMapper.INSTANCE.userToUserView(savedUser)));
+            userResponse.setCode(CREATE_RECORD_SUCCESS_CODE);
+            userResponse.setMessage(CREATE_RECORD_SUCCESS);
+        } catch (UserManagementException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            throw UserConflictException.INSTANCE;
         } catch (Exception e) {
             // Logger error response
-            genericLogger.logResponse(logger, uuid, "ERROR", Constants.API_PROCESSED_FAILURE);
-            throw new Exception(e);
+            genericLogger.logResponse(logger, LOG_STATUS_ERROR, Constants.API_PROCESSED_FAILURE);
+            throw e;
         }
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Create user request processed");
+        logger.info(LOG_MESSAGE + "Create user request processed");
         return new ResponseEntity<>(userResponse, HttpStatus.CREATED);
     }
 
 
     /**
      * Retrieves a user by their username.
+     * <p>
+     * When users look up their own record, the entity loaded during authentication of this request is
+     * returned instead of querying it a second time.
      *
-     * @param uuid     unique identifier for tracing/logging
      * @param userName username to look up
-     * @return a response containing the user data if found, or a not found message
-     * @throws Exception if an error occurs during retrieval
+     * @return a response containing the user data
+     * @throws UserNotFoundException if no user exists for the username
+     * @throws Exception             if an error occurs during retrieval
      */
     @Override
-    public ResponseEntity<UserResponse> getUser(String uuid, String userName) throws Exception {
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Processing get user request");
+    public ResponseEntity<UserResponse> getUser(String userName) throws Exception {
+        logger.info(LOG_MESSAGE + "Processing get user request");
         UserResponse userResponse = new UserResponse();
         try {
 
-            Optional<User> userOptional = userRepository.findByUsername(userName);
-            if (userOptional.isPresent()) {
-                userResponse.setUser(UserMapper.INSTANCE.userToUserView(userOptional.get()));
-                userResponse.setCode(RECORD_FOUND_CODE);
-                userResponse.setMessage(RECORD_FOUND);
-            } else {
-                userResponse.setUser(null);
-                userResponse.setCode(RECORD_NOT_FOUND_CODE);
-                userResponse.setMessage(RECORD_NOT_FOUND);
-                return new ResponseEntity<>(userResponse, HttpStatus.NOT_FOUND);
+            Optional<User> userOptional = authenticatedUser(userName);
+            if (userOptional.isEmpty()) {
+                userOptional = RepositoryCallEvent.record("findByUsername",
+                        () -> userRepository.findByUsername(userName));
             }
-
+            User user = userOptional.orElseThrow(() -> UserNotFoundException.INSTANCE);
+            userResponse.setUser(MappingEvent.record("userToUserView",
+                    () -> UserMapper.INSTANCE.userToUserView(user)));
+            userResponse.setCode(RECORD_FOUND_CODE);
+            userResponse.setMessage(RECORD_FOUND);
+        } catch (UserManagementException e) {
+            throw e;
         } catch (Exception e) {
             // Logger error response
-            genericLogger.logResponse(logger, uuid, "ERROR", Constants.API_PROCESSED_FAILURE);
-            throw new Exception(e);
+            genericLogger.logResponse(logger, LOG_STATUS_ERROR, Constants.API_PROCESSED_FAILURE);
+            throw e;
         }
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Get user request processed");
+        logger.info(LOG_MESSAGE + "Get user request processed");
         return new ResponseEntity<>(userResponse, HttpStatus.OK);
     }
 
     /**
-     * Retrieves all users in the system.
+     * Retrieves a page of the users matching all given filters. The filters and the sort are applied by the
+     * database, and one row more than requested is read to tell whether more users match without a count query.
      *
-     * @param uuid unique identifier for tracing/logging
-     * @return a response containing a list of all users
+     * @param role             only users with this role, or null for any
+     * @param hasEmail         only users with (true) or without (false) an email address, or null for any
+     * @param registeredFrom   only users registered at or after this time, or null
+     * @param registeredBefore only users registered before this time, or null
+     * @param sort             {@code username} or {@code registeredAt}, optionally followed by {@code ,asc} or
+     *                         {@code ,desc}
+     * @param page             zero-based page number
+     * @param size             users per page, clamped to {@code user-listing.max-page-size}
+     * @return a response containing the page of users, or 400 for an unknown sort or a negative page
      * @throws Exception if an error occurs during data retrieval
      */
     @Override
-    public ResponseEntity<AllUserResponse> getAllUser(String uuid) throws Exception {
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Processing get All user request");
+    public ResponseEntity<AllUserResponse> getAllUser(UserView.RoleEnum role, Boolean hasEmail,
+                                                      OffsetDateTime registeredFrom, OffsetDateTime registeredBefore,
+                                                      String sort, int page, int size) throws Exception {
+        logger.info(LOG_MESSAGE + "Processing get All user request");
         AllUserResponse allUserResponse = new AllUserResponse();
         try {
-            List<UserView> userViewList = UserMapper.INSTANCE.userListToUserViewList(userRepository.findAll());
-            userViewList.forEach(userView -> {
-                allUserResponse.addUsersItem(userView);
-            });
+            Sort order = parseSort(sort);
+            if (order == null || page < 0) {
+                allUserResponse.setCode(INVALID_USER_QUERY_CODE);
+                allUserResponse.setMessage(INVALID_USER_QUERY);
+                return new ResponseEntity<>(allUserResponse, HttpStatus.BAD_REQUEST);
+            }
+            int pageSize = Math.max(1, Math.min(size, maxPageSize));
+            Specification<User> filter = Specification.allOf(
+                    UserSpecifications.hasRole(role != null ? UserMapper.INSTANCE.mapToEntityRole(role) : null),
+                    UserSpecifications.hasEmail(hasEmail),
+                    UserSpecifications.registeredFrom(registeredFrom != null ? registeredFrom.toInstant() : null),
+                    UserSpecifications.registeredBefore(
+                            registeredBefore != null ? registeredBefore.toInstant() : null));
+            Slice<User> users = RepositoryCallEvent.record("findBy", () -> userRepository.findBy(filter,
+                    query -> query.slice(PageRequest.of(page, pageSize, order))));
+            allUserResponse.setUsers(MappingEvent.record("userListToUserViewList",
+                    () -> UserMapper.INSTANCE.userListToUserViewList(users.getContent())));
+            allUserResponse.setPage(page);
+            allUserResponse.setSize(pageSize);
+            allUserResponse.setHasMore(users.hasNext());
             allUserResponse.setCode(RECORD_FOUND_CODE);
             allUserResponse.setMessage(RECORD_FOUND);
 
         } catch (Exception e) {
             // Logger error response
-            genericLogger.logResponse(logger, uuid, "ERROR", Constants.API_PROCESSED_FAILURE);
-            throw new Exception(e);
+            genericLogger.logResponse(logger, LOG_STATUS_ERROR, Constants.API_PROCESSED_FAILURE);
+            throw e;
         }
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Get All user request processed");
+        logger.info(LOG_MESSAGE + "Get All user request processed");
         return new ResponseEntity<>(allUserResponse, HttpStatus.OK);
     }
 
     /**
-     * Deletes a user by username.
+     * Deletes a user by username. A {@code USER_REMOVED} outbox event and a change feed tombstone are recorded
+     * in the same transaction, and the last known good copy of the user is dropped once it commits.
      *
-     * @param uuid     unique identifier for tracing/logging
      * @param userName username of the user to be deleted
      * @return a response indicating the result of the delete operation
-     * @throws Exception if deletion fails
+     * @throws UserNotFoundException if no user exists for the username
+     * @throws Exception             if deletion fails
      */
     @Override
-    public ResponseEntity<UserResponse> removeUser(String uuid, String userName) throws Exception {
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Processing remove user request");
+    @Transactional(rollbackFor = Exception.class)
+    public ResponseEntity<UserResponse> removeUser(String userName) throws Exception {
+        logger.info(LOG_MESSAGE + "Processing remove user request");
         UserResponse userResponse = new UserResponse();
         try {
 
-            Optional<User> userOptional = userRepository.findByUsername(userName);
-            if (userOptional.isPresent()) {
-                userRepository.delete(userOptional.get());
-                userResponse.setCode(RECORD_REMOVED_CODE);
-                userResponse.setMessage(RECORD_REMOVED);
-                return new ResponseEntity<>(userResponse, HttpStatus.OK);
-            } else {
-                userResponse.setCode(RECORD_NOT_FOUND_CODE);
-                userResponse.setMessage(RECORD_NOT_FOUND);
-            }
+            User user = RepositoryCallEvent.record("findByUsername", () -> userRepository.findByUsername(userName))
+                    .orElseThrow(() -> UserNotFoundException.INSTANCE);
+            RepositoryCallEvent.record("delete", () -> userRepository.delete(user));
+            outboxService.record(USER_REMOVED_EVENT, user);
+            userChangeLogService.record(CHANGE_REMOVED, user);
+            userFallbackCache.evict(userName);
+            userResponse.setCode(RECORD_REMOVED_CODE);
+            userResponse.setMessage(RECORD_REMOVED);
+        } catch (UserManagementException e) {
+            throw e;
         } catch (Exception e) {
             // Logger error response
-            genericLogger.logResponse(logger, uuid, "ERROR", Constants.API_PROCESSED_FAILURE);
-            throw new Exception(e);
+            genericLogger.logResponse(logger, LOG_STATUS_ERROR, Constants.API_PROCESSED_FAILURE);
+            throw e;
+        }
+        logger.info(LOG_MESSAGE + "Remove user request processed");
+        return new ResponseEntity<>(userResponse, HttpStatus.OK);
+    }
+
+    /**
+     * Parses the sort of the user listing. Usernames are unique, so they order the users on their own; users
+     * registered at the same time are ordered by id, matching the registration time indexes.
+     *
+     * @param sort {@code username} or {@code registeredAt}, optionally followed by {@code ,asc} or {@code ,desc};
+     *             null for {@code username}
+     * @return the sort, or null if the property or the direction is not supported
+     */
+    static Sort parseSort(String sort) {
+        String[] parts = (sort != null ? sort : "username").split(",", -1);
+        if (parts.length > 2) {
+            return null;
+        }
+        Optional<Sort.Direction> direction = parts.length == 2
+                ? Sort.Direction.fromOptionalString(parts[1].trim()) : Optional.of(Sort.Direction.ASC);
+        if (direction.isEmpty()) {
+            return null;
+        }
+        return switch (parts[0].trim()) {
+            case "username" -> Sort.by(direction.get(), "username");
+            case "registeredAt" -> Sort.by(direction.get(), "registeredAt", "id");
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns the user authenticated for the current request if it has the given username.
+     *
+     * @param userName username to match
+     * @return the authenticated user entity, or empty if the request is not authenticated as that user
+     */
+    private static Optional<User> authenticatedUser(String userName) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails details
+                && details.getUsername().equals(userName)) {
+            return Optional.of(details.getUser());
         }
-        logger.info(uuid + COMMA + LOG_MESSAGE + "Remove user request processed");
-        return new ResponseEntity<>(userResponse, HttpStatus.NOT_FOUND);
+        return Optional.empty();
     }
 }
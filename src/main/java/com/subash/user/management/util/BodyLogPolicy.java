@@ -0,0 +1,213 @@
+package com.subash.user.management.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which request and response bodies {@link GenericLogger} writes to the log.
+ * <p>
+ * A body is logged when its operation is sampled and the bytes-per-second budget has room for it. Failed
+ * and slow requests are always logged. The sampling rates are keyed by the operation ids in {@link Constants}.
+ * All settings start from the {@code print.log.*} properties and can be changed at runtime through the
+ * {@code bodylogging} actuator endpoint.
+ */
+@Component
+public class BodyLogPolicy {
+
+    private volatile boolean requestEnabled;
+    private volatile boolean responseEnabled;
+    private volatile double defaultSampleRate;
+    private final Map<String, Double> sampleRates = new ConcurrentHashMap<>();
+    private volatile long budgetBytesPerSecond;
+    private volatile Duration slowThreshold;
+    private volatile Set<String> redactedFields;
+
+    // Token bucket of the byte budget, guarded by this
+    private long availableBytes;
+    private long refilledAtNanos = System.nanoTime();
+
+    /**
+     * Constructs the policy from the {@code print.log.*} properties.
+     *
+     * @param requestEnabled       whether request bodies are logged at all
+     * @param responseEnabled      whether response bodies are logged at all
+     * @param defaultSampleRate    fraction of requests logged for operations without their own rate
+     * @param budgetBytesPerSecond bytes of bodies logged per second, 0 for no limit
+     * @param slowThreshold        duration from which a request is always logged
+     * @param redactedFields       JSON field names whose values are masked in logged bodies
+     * @param environment          environment holding the per-operation rates under {@code print.log.sampling.rates}
+     */
+    public BodyLogPolicy(@Value("${print.log.enable.request}") boolean requestEnabled,
+                         @Value("${print.log.enable.response}") boolean responseEnabled,
+                         @Value("${print.log.sampling.default-rate:1.0}") double defaultSampleRate,
+                         @Value("${print.log.budget-bytes-per-second:0}") long budgetBytesPerSecond,
+                         @Value("${print.log.slow-threshold:1s}") Duration slowThreshold,
+                         @Value("${print.log.redact-fields:password,emailId,phoneNumber}") Set<String> redactedFields,
+                         Environment environment) {
+        this.requestEnabled = requestEnabled;
+        this.responseEnabled = responseEnabled;
+        setDefaultSampleRate(defaultSampleRate);
+        Binder.get(environment).bind("print.log.sampling.rates", Bindable.mapOf(String.class, Double.class))
+                .ifBound(rates -> rates.forEach(this::setSampleRate));
+        setBudgetBytesPerSecond(budgetBytesPerSecond);
+        setSlowThreshold(slowThreshold);
+        setRedactedFields(redactedFields);
+    }
+
+    /**
+     * Samples a request of an operation.
+     *
+     * @param operationId operation id of the request, may be {@code null}
+     * @return {@code true} if the bodies of the request should be logged
+     */
+    public boolean sample(String operationId) {
+        double rate = operationId != null ? sampleRates.getOrDefault(operationId, defaultSampleRate) : defaultSampleRate;
+        return rate >= 1.0 || rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * Takes a body of the given size from the budget.
+     *
+     * @param bytes size of the body
+     * @return {@code true} if the budget had room and the bytes were taken
+     */
+    public synchronized boolean tryConsume(long bytes) {
+        long budget = budgetBytesPerSecond;
+        if (budget <= 0) {
+            return true;
+        }
+        refill(budget);
+        if (availableBytes < bytes) {
+            return false;
+        }
+        availableBytes -= bytes;
+        return true;
+    }
+
+    /**
+     * Takes a body that is logged regardless of the budget, so other bodies wait until it is paid off.
+     *
+     * @param bytes size of the body
+     */
+    public synchronized void consume(long bytes) {
+        long budget = budgetBytesPerSecond;
+        if (budget > 0) {
+            refill(budget);
+            availableBytes = Math.max(availableBytes - bytes, -budget);
+        }
+    }
+
+    private void refill(long budget) {
+        long now = System.nanoTime();
+        long earned = Math.min(now - refilledAtNanos, 1_000_000_000L) * budget / 1_000_000_000L;
+        if (earned > 0) {
+            availableBytes = Math.min(availableBytes + earned, budget);
+            refilledAtNanos = now;
+        }
+    }
+
+    /**
+     * Tells whether a request took long enough to be logged regardless of sampling.
+     *
+     * @param elapsedNanos time spent on the request so far
+     * @return {@code true} if the request is slow
+     */
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= slowThreshold.toNanos();
+    }
+
+    public boolean isRequestEnabled() {
+        return requestEnabled;
+    }
+
+    public void setRequestEnabled(boolean requestEnabled) {
+        this.requestEnabled = requestEnabled;
+    }
+
+    public boolean isResponseEnabled() {
+        return responseEnabled;
+    }
+
+    public void setResponseEnabled(boolean responseEnabled) {
+        this.responseEnabled = responseEnabled;
+    }
+
+    public double getDefaultSampleRate() {
+        return defaultSampleRate;
+    }
+
+    public void setDefaultSampleRate(double defaultSampleRate) {
+        this.defaultSampleRate = checkRate(defaultSampleRate);
+    }
+
+    /**
+     * Returns the operations with their own sampling rate.
+     *
+     * @return the rates by operation id, sorted by operation id
+     */
+    public Map<String, Double> getSampleRates() {
+        return new TreeMap<>(sampleRates);
+    }
+
+    public void setSampleRate(String operationId, double rate) {
+        sampleRates.put(operationId, checkRate(rate));
+    }
+
+    /**
+     * Makes an operation use the default sampling rate again.
+     *
+     * @param operationId operation id
+     */
+    public void removeSampleRate(String operationId) {
+        sampleRates.remove(operationId);
+    }
+
+    public long getBudgetBytesPerSecond() {
+        return budgetBytesPerSecond;
+    }
+
+    public synchronized void setBudgetBytesPerSecond(long budgetBytesPerSecond) {
+        if (budgetBytesPerSecond < 0) {
+            throw new IllegalArgumentException("Budget must not be negative: " + budgetBytesPerSecond);
+        }
+        this.budgetBytesPerSecond = budgetBytesPerSecond;
+        this.availableBytes = budgetBytesPerSecond;
+        this.refilledAtNanos = System.nanoTime();
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        if (slowThreshold.isNegative()) {
+            throw new IllegalArgumentException("Slow threshold must not be negative: " + slowThreshold);
+        }
+        this.slowThreshold = slowThreshold;
+    }
+
+    public Set<String> getRedactedFields() {
+        return redactedFields;
+    }
+
+    public void setRedactedFields(Set<String> redactedFields) {
+        this.redactedFields = Set.copyOf(redactedFields);
+    }
+
+    private static double checkRate(double rate) {
+        if (!(rate >= 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException("Sampling rate must be between 0 and 1: " + rate);
+        }
+        return rate;
+    }
+}
@@ -21,11 +21,16 @@ public class Constants {
     public final static String LOG_REQUEST = "[REQUEST BODY] : ";
     public final static String LOG_RESPONSE = "[RESPONSE BODY] : ";
     public final static String LOG_FAILURE_MSG = "[FAILED TO LOG] : ";
-    public final static String LOG_UUID = "[UUID] : ";
+    public final static String REQUEST_ID_KEY = "requestId";
+    public final static String OPERATION_ID_KEY = "operationId";
     public final static String LOG_STATUS = "[STATUS] : ";
+    public final static String LOG_STATUS_ERROR = "ERROR";
     public final static String LOG_APP = "[APPLICATION] : ";
 
     public final static String LOG_MESSAGE = "[MESSAGE] : ";
+    public final static String LOG_EVENT_ID = "[EVENT ID] : ";
+    public final static String LOG_EVENT_TYPE = "[EVENT TYPE] : ";
+    public final static String LOG_EVENT_PAYLOAD = "[EVENT PAYLOAD] : ";
     public final static String COMMA = ", ";
 
     // Operation Id
@@ -34,6 +39,18 @@ public class Constants {
 
     public final static String GET_ALL_USER = "getAllUser";
     public final static String REMOVE_USER = "removeUser";
+    public final static String GET_USER_CHANGES = "getUserChanges";
+    public final static String STREAM_USER_CHANGES = "streamUserChanges";
+    public final static String IMPORT_USERS = "importUsers";
+    public final static String GET_IMPORT_STATUS = "getImportStatus";
+
+    // User lifecycle events
+    public final static String USER_CREATED_EVENT = "USER_CREATED";
+    public final static String USER_REMOVED_EVENT = "USER_REMOVED";
+
+    // User change feed
+    public final static String CHANGE_CREATED = "CREATED";
+    public final static String CHANGE_REMOVED = "REMOVED";
 
     // API response
     public static final String CREATE_RECORD_SUCCESS = "User created successfully";
@@ -48,6 +65,28 @@ public class Constants {
     public static final String RECORD_REMOVED = "User details removed";
     public static final Integer RECORD_REMOVED_CODE = 5005;
 
+    public static final String IMPORT_ACCEPTED = "User import started";
+    public static final Integer IMPORT_ACCEPTED_CODE = 5006;
+    public static final String IMPORT_FOUND = "User import details found";
+    public static final Integer IMPORT_FOUND_CODE = 5007;
+    public static final String IMPORT_NOT_FOUND = "User import not found for requested job id";
+    public static final Integer IMPORT_NOT_FOUND_CODE = 5008;
+    public static final Integer IMPORT_INVALID_SOURCE_CODE = 5009;
+    public static final String RECORD_CONFLICT = "User conflicts with an existing user";
+    public static final Integer RECORD_CONFLICT_CODE = 5010;
+    public static final String SERVICE_UNAVAILABLE = "Service temporarily unavailable, please retry";
+    public static final Integer SERVICE_UNAVAILABLE_CODE = 5011;
+    public static final String SERVICE_OVERLOADED = "Service overloaded, please retry";
+    public static final Integer SERVICE_OVERLOADED_CODE = 5012;
+    public static final String LOGIN_LOCKED_OUT = "Too many failed logins, please retry later";
+    public static final Integer LOGIN_LOCKED_OUT_CODE = 5013;
+    public static final String INVALID_USER_QUERY = "Invalid sort or page for the user listing";
+    public static final Integer INVALID_USER_QUERY_CODE = 5014;
+    public static final String IDEMPOTENCY_KEY_MISMATCH = "Idempotency key already used for a different request";
+    public static final Integer IDEMPOTENCY_KEY_MISMATCH_CODE = 5015;
+    public static final String INVALID_IDEMPOTENCY_KEY = "Idempotency key must be 1 to 255 visible ASCII characters";
+    public static final Integer INVALID_IDEMPOTENCY_KEY_CODE = 5016;
+
     public static final String ACCESS_DENIED = "Access denied: you can only access your own data";
     public static final Integer ACCESS_DENIED_CODE = 403;
 
@@ -59,10 +98,15 @@ public class Constants {
     public static final String GET_METHOD = "GET";
     public static final String DELETE_METHOD = "GET";
 
+    // Header
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     //Response
     public static final String BAD_REQUEST = "[BAD REQUEST] : ";
     public static final String UNEXPECTED_ERROR = "[UNEXPECTED ERROR] : ";
     public static final String MALFORMED_JSON = "[MALFORMED JSON] : ";
+    public static final String DATA_ACCESS_ERROR = "[DATA ACCESS ERROR] : ";
 
 
 }
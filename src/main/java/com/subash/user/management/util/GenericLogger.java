@@ -1,20 +1,38 @@
 package com.subash.user.management.util;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.jfr.BodyLogEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.logging.log4j.Logger;
-import org.springframework.beans.factory.annotation.Value;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
-import java.util.UUID;
+import java.io.IOException;
 
 /**
  * Utility component for structured and conditional logging of API requests and responses.
  * <p>
- * This class uses Jackson's {@link ObjectMapper} to serialize objects and Log4j for logging.
+ * This class uses Jackson's {@link ObjectMapper} to serialize objects and Log4j for logging. The user
+ * response models are serialized by {@link UserModelHttpMessageConverter} instead, which keeps the bytes
+ * of a logged response body so they are written to the response without serializing it again. Only the
+ * body of a {@link ResponseEntity} is logged. The request id is not part of the message; it is taken from
+ * the logging context set up by {@code RequestIdFilter}.
+ * <p>
+ * Which bodies are logged is decided by {@link BodyLogPolicy}: requests are sampled per operation and the
+ * logged bytes are limited per second. Failed and slow requests are always logged, including a request body
+ * that was held back when the request was not sampled. Sensitive fields are masked by {@link JsonRedactor}.
+ * The operation id is put in the logging context under {@code operationId} for the rest of the request, and
+ * each call is recorded as a {@link BodyLogEvent} for Java Flight Recorder.
  * Logging is controlled via application properties:
  * <ul>
  *     <li>{@code print.log.enable.request=true} to enable request logging</li>
  *     <li>{@code print.log.enable.response=true} to enable response logging</li>
+ *     <li>{@code print.log.sampling.*}, {@code print.log.budget-bytes-per-second}, {@code print.log.slow-threshold}
+ *     and {@code print.log.redact-fields} to limit and mask what is logged</li>
  * </ul>
  *
  */
@@ -22,70 +40,182 @@ import java.util.UUID;
 public class GenericLogger {
 
     private final static String COMMA = ", ";
+    private final static String REQUEST_FORMAT = Constants.LOG_APP + Constants.LOG_APP_NAME + COMMA
+            + Constants.LOG_OPERATION_ID + "{}" + COMMA + Constants.LOG_METHOD + "{}" + COMMA + Constants.LOG_REQUEST + "{}";
+    private final static String RESPONSE_FORMAT = Constants.LOG_APP + Constants.LOG_APP_NAME + COMMA
+            + Constants.LOG_STATUS + "{}" + COMMA + Constants.LOG_RESPONSE + "{}";
+    private final static String CONTEXT_ATTRIBUTE = GenericLogger.class.getName() + ".context";
 
-    @Value("${print.log.enable.request}")
-    private boolean logRequest;
-    @Value("${print.log.enable.response}")
-    private boolean logResponse;
+    private final ObjectMapper objectMapper;
+    private final UserModelHttpMessageConverter userModelConverter;
+    private final BodyLogPolicy policy;
+    private final Counter loggedBodies;
+    private final Counter loggedBytes;
+    private final Counter sampledOutBodies;
+    private final Counter overBudgetBodies;
 
     /**
-     * Logs incoming API requests with UUID, operation ID, HTTP method, and request body.
+     * Constructs the logger with the serializers used for the logged bodies.
+     *
+     * @param objectMapper       the application object mapper, used for types without a dedicated writer
+     * @param userModelConverter converter serializing the user response models
+     * @param policy             policy deciding which bodies are logged
+     * @param meterRegistry      registry for the {@code log.body.*} metrics
+     */
+    public GenericLogger(ObjectMapper objectMapper, UserModelHttpMessageConverter userModelConverter,
+                         BodyLogPolicy policy, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.userModelConverter = userModelConverter;
+        this.policy = policy;
+        this.loggedBodies = meterRegistry.counter("log.body.lines", "outcome", "logged");
+        this.sampledOutBodies = meterRegistry.counter("log.body.lines", "outcome", "sampled_out");
+        this.overBudgetBodies = meterRegistry.counter("log.body.lines", "outcome", "over_budget");
+        this.loggedBytes = meterRegistry.counter("log.body.bytes");
+    }
+
+    /**
+     * Logs incoming API requests with operation ID, HTTP method, and request body.
+     * <p>
+     * The request is sampled here. When it is not sampled, the body is kept with the request so it can still
+     * be logged if the request fails or turns out to be slow.
      *
      * @param logger       the {@link Logger} to log into
-     * @param UUID         the unique identifier for this request flow
      * @param operationId  the operation name (e.g., "createUser")
      * @param method       the HTTP method used (e.g., "POST")
      * @param requestBody  the actual request body object
      */
-    public void logRequest(Logger logger, String UUID, String operationId, String method, Object requestBody) {
-        if (logRequest) {
-            try {
-                ObjectMapper mapper = new ObjectMapper();
-                String requestBodyString = mapper.writeValueAsString(requestBody);
-                StringBuffer logMsg = new StringBuffer(UUID);
-                logMsg.append(COMMA).append(Constants.LOG_APP).append(Constants.LOG_APP_NAME).append(COMMA).append(Constants.LOG_OPERATION_ID)
-                        .append(operationId).append(COMMA).append(Constants.LOG_METHOD).append(method)
-                        .append(COMMA).append(Constants.LOG_REQUEST)
-                        .append(requestBodyString);
-                logger.info(logMsg.toString());
-            } catch (Exception e) {
-                logger.info(UUID + COMMA + Constants.LOG_FAILURE_MSG + e.getMessage());
-            }
+    public void logRequest(Logger logger, String operationId, String method, Object requestBody) {
+        ThreadContext.put(Constants.OPERATION_ID_KEY, operationId);
+        if (!logger.isInfoEnabled() || !policy.isRequestEnabled() && !policy.isResponseEnabled()) {
+            return;
+        }
+        BodyLogEvent event = BodyLogEvent.begin("request");
+        try {
+            sampleRequest(logger, operationId, method, requestBody);
+        } finally {
+            BodyLogEvent.end(event);
+        }
+    }
+
+    private void sampleRequest(Logger logger, String operationId, String method, Object requestBody) {
+        LogContext context = new LogContext(operationId, method, requestBody, System.nanoTime(),
+                policy.sample(operationId));
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(CONTEXT_ATTRIBUTE, context, RequestAttributes.SCOPE_REQUEST);
+        }
+        if (!policy.isRequestEnabled()) {
+            return;
+        }
+        if (context.sampled) {
+            writeRequest(logger, context, false);
+        } else {
+            sampledOutBodies.increment();
         }
     }
 
     /**
-     * Logs outgoing API responses with UUID, status, and response object.
+     * Logs outgoing API responses with status and response object.
+     * <p>
+     * Responses with status {@link Constants#LOG_STATUS_ERROR} and responses of slow requests are logged
+     * regardless of sampling and budget.
      *
      * @param logger          the {@link Logger} to log into
-     * @param UUID            the unique identifier for this request flow
-     * @param status          the result status (e.g., "SUCCESS", "ERROR")
+     * @param status          the result status (e.g., "OK", "ERROR")
      * @param responseObject  the actual response object to be logged
      */
-    public void logResponse(Logger logger, String UUID, String status, Object responseObject) {
-        if (logResponse) {
-            try {
-                StringBuffer logMsg = new StringBuffer(UUID);
-                ObjectMapper mapper = new ObjectMapper();
-                String responseObjectString = mapper.writeValueAsString(responseObject);
-                logMsg.append(COMMA).append(Constants.LOG_APP).append(Constants.LOG_APP_NAME).append(COMMA).append(Constants.LOG_STATUS)
-                        .append(status).append(COMMA).append(Constants.LOG_RESPONSE).append(responseObjectString);
-                logger.info(logMsg.toString());
-            } catch (Exception e) {
-                logger.info(UUID + COMMA + Constants.LOG_FAILURE_MSG + e.getMessage());
+    public void logResponse(Logger logger, String status, Object responseObject) {
+        if (!logger.isInfoEnabled() || !policy.isResponseEnabled()) {
+            return;
+        }
+        BodyLogEvent event = BodyLogEvent.begin("response");
+        try {
+            writeResponse(logger, status, responseObject);
+        } finally {
+            BodyLogEvent.end(event);
+        }
+    }
+
+    private void writeResponse(Logger logger, String status, Object responseObject) {
+        LogContext context = currentContext();
+        boolean forced = Constants.LOG_STATUS_ERROR.equals(status)
+                || context != null && policy.isSlow(System.nanoTime() - context.startNanos);
+        if (!forced && !(context != null ? context.sampled : policy.sample(null))) {
+            sampledOutBodies.increment();
+            return;
+        }
+        if (forced && context != null && !context.requestLogged && policy.isRequestEnabled()) {
+            writeRequest(logger, context, true);
+        }
+        try {
+            Object body = responseObject instanceof ResponseEntity<?> entity ? entity.getBody() : responseObject;
+            byte[] json = body != null && userModelConverter.supports(body.getClass())
+                    ? userModelConverter.toResponseBytes(body)
+                    : objectMapper.writeValueAsBytes(body);
+            if (take(json.length, forced)) {
+                logger.info(RESPONSE_FORMAT, status, redact(json));
             }
+        } catch (Exception e) {
+            logger.info(Constants.LOG_FAILURE_MSG + "{}", e.getMessage());
+        }
+    }
+
+    private void writeRequest(Logger logger, LogContext context, boolean forced) {
+        try {
+            Object requestBody = context.requestBody;
+            byte[] json = requestBody != null && userModelConverter.supports(requestBody.getClass())
+                    ? userModelConverter.toBytes(requestBody)
+                    : objectMapper.writeValueAsBytes(requestBody);
+            if (take(json.length, forced)) {
+                logger.info(REQUEST_FORMAT, context.operationId, context.method, redact(json));
+                context.requestLogged = true;
+            }
+        } catch (Exception e) {
+            logger.info(Constants.LOG_FAILURE_MSG + "{}", e.getMessage());
+        }
+    }
+
+    private boolean take(int bytes, boolean forced) {
+        if (forced) {
+            policy.consume(bytes);
+        } else if (!policy.tryConsume(bytes)) {
+            overBudgetBodies.increment();
+            return false;
         }
+        loggedBodies.increment();
+        loggedBytes.increment(bytes);
+        return true;
+    }
+
+    private String redact(byte[] json) throws IOException {
+        return JsonRedactor.redact(objectMapper.getFactory(), json, policy.getRedactedFields());
+    }
+
+    private static LogContext currentContext() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && attributes.getAttribute(CONTEXT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof LogContext context
+                ? context : null;
     }
 
     /**
-     * Generates a formatted UUID string for tracing API requests across logs.
-     *
-     * @return a formatted string like {@code [UUID] : 123e4567-e89b-12d3-a456-426614174000}
+     * Logging state of one request, kept from {@link #logRequest} to {@link #logResponse}.
      */
-    public static String getUUID() {
-        StringBuffer UUIDString = new StringBuffer(Constants.LOG_UUID);
-        java.util.UUID uuid = UUID.randomUUID();
-        UUIDString.append(uuid);
-        return UUIDString.toString();
+    private static final class LogContext {
+
+        final String operationId;
+        final String method;
+        final Object requestBody;
+        final long startNanos;
+        final boolean sampled;
+        boolean requestLogged;
+
+        LogContext(String operationId, String method, Object requestBody, long startNanos, boolean sampled) {
+            this.operationId = operationId;
+            this.method = method;
+            this.requestBody = requestBody;
+            this.startNanos = startNanos;
+            this.sampled = sampled;
+        }
     }
 }
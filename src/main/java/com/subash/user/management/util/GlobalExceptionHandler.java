@@ -1,28 +1,109 @@
 package com.subash.user.management.util;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.exception.IdempotencyKeyMismatchException;
+import com.subash.user.management.exception.InvalidIdempotencyKeyException;
+import com.subash.user.management.exception.ServiceOverloadedException;
+import com.subash.user.management.exception.UserConflictException;
+import com.subash.user.management.exception.UserExistsException;
+import com.subash.user.management.exception.UserManagementException;
+import com.subash.user.management.exception.UserNotFoundException;
+import com.subash.user.management.model.UserResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.subash.user.management.util.Constants.*;
 
 /**
  * Global exception handler to manage all controller-level exceptions in a centralized way.
  * Logs the errors and returns appropriate HTTP responses.
+ * <p>
+ * Expected failures ({@link UserManagementException}) and database unavailability are answered with
+ * bodies serialized once at startup and logged without a stack trace, so a burst of failing requests
+ * costs neither serialization nor stack walking.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LogManager.getLogger(GlobalExceptionHandler.class);
 
+    private final ObjectMapper objectMapper;
+    private final Map<UserManagementException, ResponseEntity<byte[]>> domainResponses = new ConcurrentHashMap<>();
+    private final ResponseEntity<byte[]> unavailableResponse;
+
+    /**
+     * Serializes the error bodies of the domain exceptions and of the unavailable response.
+     *
+     * @param objectMapper mapper used to serialize the error bodies once
+     */
+    public GlobalExceptionHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (UserManagementException ex : List.of(UserNotFoundException.INSTANCE, UserExistsException.INSTANCE,
+                UserConflictException.INSTANCE, ServiceOverloadedException.INSTANCE,
+                IdempotencyKeyMismatchException.INSTANCE, InvalidIdempotencyKeyException.INSTANCE)) {
+            domainResponses.put(ex, preSerialized(objectMapper, ex.getStatus(), ex.getCode(), ex.getMessage()));
+        }
+        unavailableResponse = preSerialized(objectMapper, HttpStatus.SERVICE_UNAVAILABLE, SERVICE_UNAVAILABLE_CODE,
+                SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles the expected failures of user operations.
+     *
+     * @param ex {@link UserManagementException}
+     * @return the status and pre-serialized error body of the exception
+     */
+    @ExceptionHandler(UserManagementException.class)
+    public ResponseEntity<byte[]> handleDomainException(UserManagementException ex) {
+        return domainResponses.computeIfAbsent(ex,
+                key -> preSerialized(objectMapper, key.getStatus(), key.getCode(), key.getMessage()));
+    }
+
+    /**
+     * Handles unique constraint violations not translated by the service layer, e.g. at commit.
+     *
+     * @param ex {@link DataIntegrityViolationException}
+     * @return 409 CONFLICT with the pre-serialized conflict body
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<byte[]> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        logger.warn(DATA_ACCESS_ERROR + "{}", ex.getMostSpecificCause().getMessage());
+        return domainResponses.get(UserConflictException.INSTANCE);
+    }
+
+    /**
+     * Handles failures to reach the database, such as pool exhaustion, timeouts and lost connections.
+     *
+     * @param ex the data access exception
+     * @return 503 SERVICE_UNAVAILABLE with the pre-serialized unavailable body
+     */
+    @ExceptionHandler({TransientDataAccessException.class, DataAccessResourceFailureException.class,
+            CannotCreateTransactionException.class})
+    public ResponseEntity<byte[]> handleDataAccessUnavailable(Exception ex) {
+        logger.error(DATA_ACCESS_ERROR + "{}", ex.getMessage());
+        return unavailableResponse;
+    }
+
     /**
      * Handles validation errors from @Valid annotated request bodies.
      *
@@ -36,10 +117,48 @@ public class GlobalExceptionHandler {
         ex.getBindingResult().getFieldErrors().forEach(error -> {
             errors.put(error.getField(), error.getDefaultMessage());
         });
-        logger.error(BAD_REQUEST + errors);
+        logger.error(BAD_REQUEST + "{}", errors);
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles request parameters that cannot be converted, such as an unknown role or a malformed date-time.
+     *
+     * @param ex {@link MethodArgumentTypeMismatchException}
+     * @return 400 BAD_REQUEST naming the parameter
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<String> handleParameterTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        logger.warn(BAD_REQUEST + "Invalid value for parameter {}", ex.getName());
+        return new ResponseEntity<>(BAD_REQUEST + "Invalid value for parameter " + ex.getName(),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles requests for paths that nothing serves, such as the springdoc endpoints without the
+     * {@code swagger} profile.
+     *
+     * @param ex {@link NoResourceFoundException}
+     * @return 404 NOT_FOUND without a body
+     */
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<Void> handleNoResource(NoResourceFoundException ex) {
+        logger.warn(BAD_REQUEST + "No resource for {}", ex.getResourcePath());
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Handles exceptions that carry their own status, such as invalid actuator endpoint requests.
+     *
+     * @param ex {@link ResponseStatusException}
+     * @return the status of the exception with its reason
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<String> handleResponseStatus(ResponseStatusException ex) {
+        logger.warn(BAD_REQUEST + "{}", ex.getReason());
+        return new ResponseEntity<>(ex.getReason(), ex.getStatusCode());
+    }
+
     /**
      * Handles malformed JSON request bodies.
      *
@@ -48,7 +167,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleAll(Exception ex) {
-        logger.error(UNEXPECTED_ERROR + ex.getMessage());
+        logger.error(UNEXPECTED_ERROR + "{}", ex.getMessage());
         return new ResponseEntity<>(UNEXPECTED_ERROR + API_PROCESSED_FAILURE, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
@@ -60,7 +179,21 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<String> handleMalformedJson(HttpMessageNotReadableException ex) {
-        logger.error(MALFORMED_JSON + ex.getMessage());
+        logger.error(MALFORMED_JSON + "{}", ex.getMessage());
         return new ResponseEntity<>(MALFORMED_JSON + ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
+
+    private static ResponseEntity<byte[]> preSerialized(ObjectMapper objectMapper, HttpStatus status, Integer code,
+                                                        String message) {
+        UserResponse userResponse = new UserResponse();
+        userResponse.setCode(code);
+        userResponse.setMessage(message);
+        try {
+            return ResponseEntity.status(status)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writeValueAsBytes(userResponse));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize error body for code " + code, e);
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.subash.user.management.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Masks the values of sensitive fields in serialized JSON.
+ * <p>
+ * The JSON is copied token by token from a parser to a generator, so no tree is built and the bytes
+ * that go to the response are left untouched. Fields are matched by name at any depth; object and array
+ * values of a matched field are masked as a whole.
+ */
+public final class JsonRedactor {
+
+    static final String MASK = "***";
+
+    private JsonRedactor() {
+    }
+
+    /**
+     * Returns the JSON with the values of the given fields masked.
+     *
+     * @param jsonFactory factory creating the parser and generator
+     * @param json        UTF-8 encoded JSON
+     * @param fields      names of the fields to mask
+     * @return the redacted JSON
+     * @throws IOException if the input is not valid JSON
+     */
+    public static String redact(JsonFactory jsonFactory, byte[] json, Set<String> fields) throws IOException {
+        if (fields.isEmpty()) {
+            return new String(json, StandardCharsets.UTF_8);
+        }
+        StringWriter out = new StringWriter(json.length);
+        try (JsonParser parser = jsonFactory.createParser(json);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && fields.contains(parser.currentName())) {
+                    generator.writeFieldName(parser.currentName());
+                    parser.nextToken();
+                    parser.skipChildren();
+                    generator.writeString(MASK);
+                } else {
+                    generator.copyCurrentEvent(parser);
+                }
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.subash.user.management.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates request ids in the UUID version 7 layout: a 48 bit millisecond timestamp followed by random bits.
+ * <p>
+ * Ids sort by creation time, which keeps log searches and index inserts local. The random bits come from
+ * {@link ThreadLocalRandom}, so generating an id never blocks on an entropy source or a shared lock,
+ * unlike {@link java.util.UUID#randomUUID()}. The ids are meant for correlation, not as secrets.
+ */
+public final class RequestIdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private RequestIdGenerator() {
+    }
+
+    /**
+     * Returns a new request id, formatted like a UUID.
+     *
+     * @return the request id, e.g. {@code 0192a3b4-c5d6-7e8f-9a0b-1c2d3e4f5a6b}
+     */
+    public static String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        char[] id = new char[36];
+        hex(id, 0, mostSigBits >>> 32, 8);
+        id[8] = '-';
+        hex(id, 9, mostSigBits >>> 16, 4);
+        id[13] = '-';
+        hex(id, 14, mostSigBits, 4);
+        id[18] = '-';
+        hex(id, 19, leastSigBits >>> 48, 4);
+        id[23] = '-';
+        hex(id, 24, leastSigBits, 12);
+        return new String(id);
+    }
+
+    private static void hex(char[] target, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            target[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
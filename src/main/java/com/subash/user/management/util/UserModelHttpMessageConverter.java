@@ -0,0 +1,144 @@
+package com.subash.user.management.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * {@link org.springframework.http.converter.HttpMessageConverter} writing the user response models with
+ * {@link UserModelJsonWriter} instead of reflective Jackson data binding. Spring Boot registers it ahead of
+ * the default Jackson converter; all other types are left to the default converters. It does not take part in
+ * reading request bodies, which gains nothing from a dedicated reader; a direct {@code read} call is delegated
+ * to the application {@link ObjectMapper}.
+ * <p>
+ * When {@code GenericLogger} has already serialized the response body for the log, the bytes are kept in a
+ * request attribute and written as they are, so each response is serialized once.
+ */
+@Component
+public class UserModelHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final String SERIALIZED_BODY_ATTRIBUTE = UserModelHttpMessageConverter.class.getName() + ".body";
+
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+    private final UserModelJsonWriter writer;
+
+    /**
+     * Constructs the converter using the factory and property inclusion of the application {@link ObjectMapper}.
+     *
+     * @param objectMapper the application object mapper
+     */
+    public UserModelHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+        JsonInclude.Include inclusion =
+                objectMapper.getSerializationConfig().getDefaultPropertyInclusion().getValueInclusion();
+        this.writer = new UserModelJsonWriter(inclusion == JsonInclude.Include.ALWAYS
+                || inclusion == JsonInclude.Include.USE_DEFAULTS);
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return UserModelJsonWriter.supports(clazz);
+    }
+
+    /**
+     * Leaves reading to the default Jackson converter.
+     *
+     * @param clazz     type to read
+     * @param mediaType content type of the request
+     * @return always {@code false}
+     */
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Serializes a model to JSON bytes.
+     *
+     * @param model model of a supported type
+     * @return the UTF-8 encoded JSON
+     * @throws IOException if writing fails
+     */
+    public byte[] toBytes(Object model) throws IOException {
+        ByteArrayBuilder buffer = new ByteArrayBuilder(256);
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer, JsonEncoding.UTF8)) {
+            writer.write(generator, model);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Serializes a response body and keeps the bytes for the current request, so writing the same body to
+     * the response afterwards reuses them.
+     *
+     * @param body response body of a supported type
+     * @return the UTF-8 encoded JSON
+     * @throws IOException if writing fails
+     */
+    public byte[] toResponseBytes(Object body) throws IOException {
+        byte[] bytes = toBytes(body);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(SERIALIZED_BODY_ATTRIBUTE, new SerializedBody(body, bytes),
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+        return bytes;
+    }
+
+    @Override
+    protected Long getContentLength(Object body, MediaType contentType) {
+        byte[] serialized = serializedBytes(body);
+        return serialized != null ? (long) serialized.length : null;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return objectMapper.readValue(inputMessage.getBody(), clazz);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = outputMessage.getBody();
+        byte[] serialized = serializedBytes(body);
+        if (serialized != null) {
+            out.write(serialized);
+            return;
+        }
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            writer.write(generator, body);
+        }
+    }
+
+    private static byte[] serializedBytes(Object body) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(SERIALIZED_BODY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof SerializedBody serialized && serialized.body() == body) {
+            return serialized.bytes();
+        }
+        return null;
+    }
+
+    /**
+     * A response body with its serialized bytes.
+     */
+    private record SerializedBody(Object body, byte[] bytes) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.subash.user.management.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.subash.user.management.model.AllUserResponse;
+import com.subash.user.management.model.UserResponse;
+import com.subash.user.management.model.UserView;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes the user response models with the Jackson streaming API.
+ * <p>
+ * The property names and order match what Jackson data binding produces for the generated models, so the
+ * output is interchangeable with {@code ObjectMapper#writeValue}, without bean introspection or reflection
+ * on every call. Null properties are skipped unless {@code writeNulls} is set, mirroring
+ * {@code spring.jackson.default-property-inclusion}. Date-times are written as ISO-8601 strings, as Spring Boot
+ * configures Jackson to do.
+ */
+public final class UserModelJsonWriter {
+
+    private final boolean writeNulls;
+
+    /**
+     * Creates a writer.
+     *
+     * @param writeNulls whether null properties are written as {@code null} instead of being skipped
+     */
+    public UserModelJsonWriter(boolean writeNulls) {
+        this.writeNulls = writeNulls;
+    }
+
+    /**
+     * Returns whether the writer handles the given type.
+     *
+     * @param type type to check
+     * @return {@code true} for {@link UserResponse}, {@link AllUserResponse} and {@link UserView}
+     */
+    public static boolean supports(Class<?> type) {
+        return type == UserResponse.class || type == AllUserResponse.class || type == UserView.class;
+    }
+
+    /**
+     * Writes one of the supported models.
+     *
+     * @param generator generator to write to
+     * @param model     model to write, of a type accepted by {@link #supports(Class)}
+     * @throws IOException if writing fails
+     */
+    public void write(JsonGenerator generator, Object model) throws IOException {
+        if (model instanceof UserResponse userResponse) {
+            writeUserResponse(generator, userResponse);
+        } else if (model instanceof AllUserResponse allUserResponse) {
+            writeAllUserResponse(generator, allUserResponse);
+        } else if (model instanceof UserView userView) {
+            writeUserView(generator, userView);
+        } else {
+            throw new IllegalArgumentException("Unsupported model " + model.getClass().getName());
+        }
+    }
+
+    private void writeUserResponse(JsonGenerator generator, UserResponse userResponse) throws IOException {
+        generator.writeStartObject();
+        if (userResponse.getUser() != null) {
+            generator.writeFieldName("user");
+            writeUserView(generator, userResponse.getUser());
+        } else if (writeNulls) {
+            generator.writeNullField("user");
+        }
+        writeCodeAndMessage(generator, userResponse.getCode(), userResponse.getMessage());
+        generator.writeEndObject();
+    }
+
+    private void writeAllUserResponse(JsonGenerator generator, AllUserResponse allUserResponse) throws IOException {
+        generator.writeStartObject();
+        List<UserView> users = allUserResponse.getUsers();
+        if (users != null) {
+            generator.writeFieldName("users");
+            generator.writeStartArray(users, users.size());
+            for (UserView userView : users) {
+                writeUserView(generator, userView);
+            }
+            generator.writeEndArray();
+        } else if (writeNulls) {
+            generator.writeNullField("users");
+        }
+        writeNumber(generator, "page", allUserResponse.getPage());
+        writeNumber(generator, "size", allUserResponse.getSize());
+        if (allUserResponse.getHasMore() != null) {
+            generator.writeBooleanField("hasMore", allUserResponse.getHasMore());
+        } else if (writeNulls) {
+            generator.writeNullField("hasMore");
+        }
+        writeCodeAndMessage(generator, allUserResponse.getCode(), allUserResponse.getMessage());
+        generator.writeEndObject();
+    }
+
+    private void writeUserView(JsonGenerator generator, UserView userView) throws IOException {
+        if (userView == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        writeString(generator, "username", userView.getUsername());
+        writeString(generator, "password", userView.getPassword());
+        writeString(generator, "role", userView.getRole() != null ? userView.getRole().getValue() : null);
+        writeString(generator, "emailId", userView.getEmailId());
+        writeString(generator, "phoneNumber", userView.getPhoneNumber());
+        writeDateTime(generator, "lastLoginAt", userView.getLastLoginAt());
+        if (userView.getLoginCount() != null) {
+            generator.writeNumberField("loginCount", userView.getLoginCount());
+        } else if (writeNulls) {
+            generator.writeNullField("loginCount");
+        }
+        writeDateTime(generator, "registeredAt", userView.getRegisteredAt());
+        generator.writeEndObject();
+    }
+
+    private void writeCodeAndMessage(JsonGenerator generator, Integer code, String message) throws IOException {
+        writeNumber(generator, "code", code);
+        writeString(generator, "message", message);
+    }
+
+    private void writeNumber(JsonGenerator generator, String name, Integer value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        } else if (writeNulls) {
+            generator.writeNullField(name);
+        }
+    }
+
+    private void writeDateTime(JsonGenerator generator, String name, OffsetDateTime value) throws IOException {
+        writeString(generator, name, value != null ? DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value) : null);
+    }
+
+    private void writeString(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        } else if (writeNulls) {
+            generator.writeNullField(name);
+        }
+    }
+}
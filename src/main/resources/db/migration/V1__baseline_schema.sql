@@ -0,0 +1,35 @@
+-- Schema previously created by Hibernate (ddl-auto: update). Every statement is guarded, so the migration
+-- creates the tables in an empty database and leaves a database created by Hibernate as it is.
+
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username      VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    role          VARCHAR(255) NOT NULL CONSTRAINT users_role_check CHECK (role IN ('ROLE_ADMIN', 'ROLE_USER')),
+    email_id      VARCHAR(255),
+    phone_number  VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS user_outbox (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_id VARCHAR(255)             NOT NULL,
+    event_type   VARCHAR(255)             NOT NULL,
+    payload      TEXT                     NOT NULL,
+    created_at   TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_change_log (
+    seq         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username    VARCHAR(255)             NOT NULL,
+    change_type VARCHAR(255)             NOT NULL,
+    payload     TEXT,
+    changed_at  TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_change_log_username_seq ON user_change_log (username, seq);
+
+CREATE TABLE IF NOT EXISTS user_change_log_horizon (
+    id                 INTEGER PRIMARY KEY,
+    purged_through_seq BIGINT                   NOT NULL,
+    compacted_at       TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,23 @@
+-- Indexes for the lookups of the users table. The unique constraints Hibernate generated (named uk<hash>)
+-- are replaced by them.
+
+DO $$
+DECLARE
+    generated RECORD;
+BEGIN
+    FOR generated IN
+        SELECT conname FROM pg_constraint
+        WHERE conrelid = 'users'::regclass AND contype = 'u' AND conname LIKE 'uk%'
+    LOOP
+        EXECUTE format('ALTER TABLE users DROP CONSTRAINT %I', generated.conname);
+    END LOOP;
+END $$;
+
+-- Authentication and natural id lookups by exact username. The included columns let the username to id
+-- resolution and the credential check be answered from the index alone.
+CREATE UNIQUE INDEX IF NOT EXISTS users_username_auth_key ON users (username) INCLUDE (id, password_hash, role);
+
+-- Usernames and email addresses are unique regardless of case. The username index also serves keyset
+-- pagination ordered by lower(username), since its key is unique on its own.
+CREATE UNIQUE INDEX IF NOT EXISTS users_username_lower_key ON users (lower(username));
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_id_lower_key ON users (lower(email_id));
@@ -0,0 +1,5 @@
+-- Last successful authentication and number of authentications per user. Written in batches by
+-- LastLoginRecorder, never by Hibernate.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS last_login_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS login_count BIGINT NOT NULL DEFAULT 0;
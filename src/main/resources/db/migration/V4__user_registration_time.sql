@@ -0,0 +1,10 @@
+-- Registration time of each user, for the filtered admin listing. Users registered before this migration get the
+-- time it ran, as their real registration time was never recorded.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS registered_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+-- Registration window filters and the listing ordered by registration time, with the id as tie-breaker.
+CREATE INDEX IF NOT EXISTS users_registered_at_idx ON users (registered_at, id);
+
+-- The same filtered by role, e.g. the admins registered in a window, which are far fewer than all users.
+CREATE INDEX IF NOT EXISTS users_role_registered_at_idx ON users (role, registered_at, id);
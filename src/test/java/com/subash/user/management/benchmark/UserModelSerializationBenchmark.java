@@ -0,0 +1,98 @@
+package com.subash.user.management.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.model.AllUserResponse;
+import com.subash.user.management.model.UserView;
+import com.subash.user.management.util.UserModelHttpMessageConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the serialization cost of a user list response per request.
+ * <ul>
+ *     <li>{@code dataBinding} / {@code streaming}: one serialization of the body</li>
+ *     <li>{@code loggedDataBinding}: the previous request path, where {@code GenericLogger} serialized the
+ *     {@link ResponseEntity} with a new {@link ObjectMapper} and the Jackson converter serialized the body again</li>
+ *     <li>{@code loggedDataBindingSharedMapper}: the same two serializations with one shared mapper</li>
+ *     <li>{@code loggedStreaming}: the current path, where the body is streamed once and the bytes are
+ *     both logged and written</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserModelSerializationBenchmark {
+
+    @Param({"1", "100"})
+    int users;
+
+    private ObjectMapper objectMapper;
+    private UserModelHttpMessageConverter converter;
+    private AllUserResponse body;
+    private ResponseEntity<AllUserResponse> responseEntity;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().serializationInclusion(JsonInclude.Include.NON_NULL).build();
+        converter = new UserModelHttpMessageConverter(objectMapper);
+        List<UserView> views = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            UserView userView = new UserView();
+            userView.setUsername("user_" + i);
+            userView.setRole(i % 10 == 0 ? UserView.RoleEnum.ADMIN : UserView.RoleEnum.USER);
+            userView.setEmailId("user" + i + "@example.com");
+            userView.setPhoneNumber("98765" + String.format("%05d", i));
+            views.add(userView);
+        }
+        body = new AllUserResponse();
+        body.setUsers(views);
+        body.setCode(5004);
+        body.setMessage("User details found");
+        responseEntity = new ResponseEntity<>(body, HttpStatus.OK);
+    }
+
+    @Benchmark
+    public byte[] dataBinding() throws Exception {
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] streaming() throws Exception {
+        return converter.toBytes(body);
+    }
+
+    @Benchmark
+    public void loggedDataBinding(Blackhole blackhole) throws Exception {
+        blackhole.consume(new ObjectMapper().writeValueAsString(responseEntity));
+        blackhole.consume(objectMapper.writeValueAsBytes(body));
+    }
+
+    @Benchmark
+    public void loggedDataBindingSharedMapper(Blackhole blackhole) throws Exception {
+        blackhole.consume(objectMapper.writeValueAsString(body));
+        blackhole.consume(objectMapper.writeValueAsBytes(body));
+    }
+
+    @Benchmark
+    public void loggedStreaming(Blackhole blackhole) throws Exception {
+        byte[] bytes = converter.toBytes(body);
+        blackhole.consume(new String(bytes, StandardCharsets.UTF_8));
+        blackhole.consume(bytes);
+    }
+}
@@ -0,0 +1,109 @@
+package com.subash.user.management.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CachedHealthIndicator} and {@link HealthProbeMetricsFilter}.
+ * <p>
+ * Results become stale after one minute. Time is a fake clock advanced by the tests.
+ * </p>
+ */
+class CachedHealthIndicatorTest {
+
+    private static final Duration MAX_STALENESS = Duration.ofMinutes(1);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger checks = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private volatile Health delegateHealth = Health.up().build();
+    private CachedHealthIndicator indicator;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        indicator = new CachedHealthIndicator("db", () -> {
+            checks.incrementAndGet();
+            clock.addAndGet(Duration.ofMillis(25).toNanos());
+            if (delegateHealth == null) {
+                throw new IllegalStateException("connection refused");
+            }
+            return delegateHealth;
+        }, MAX_STALENESS, meterRegistry, clock::get);
+    }
+
+    /**
+     * Test to verify that health requests return the latest result without running the check.
+     */
+    @Test
+    void testHealth_shouldServeLatestResultWithoutChecking() {
+        assertEquals(Status.UNKNOWN, indicator.health().getStatus());
+
+        indicator.refresh();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Status.UP, indicator.health().getStatus());
+        }
+
+        assertEquals(1, checks.get());
+        assertEquals(25, meterRegistry.get("health.check").tags("indicator", "db", "status", "UP").timer()
+                .totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Test to verify that a failing check is reported as DOWN until a later check succeeds.
+     */
+    @Test
+    void testRefresh_whenCheckFails_shouldReportDown() {
+        indicator.refresh();
+        delegateHealth = null;
+
+        indicator.refresh();
+
+        Health health = indicator.health();
+        assertEquals(Status.DOWN, health.getStatus());
+        assertTrue(health.getDetails().get("error").toString().contains("connection refused"));
+        assertEquals(1, meterRegistry.get("health.check").tags("status", "DOWN").timer().count());
+
+        delegateHealth = Health.up().build();
+        indicator.refresh();
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    /**
+     * Test to verify that a result older than the maximum staleness is reported as DOWN, e.g. when the
+     * check hangs.
+     */
+    @Test
+    void testHealth_whenResultIsStale_shouldReportDown() {
+        indicator.refresh();
+        clock.addAndGet(MAX_STALENESS.toNanos());
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        clock.addAndGet(1);
+        Health health = indicator.health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("UP", health.getDetails().get("lastStatus"));
+    }
+
+    /**
+     * Test to verify the probe groups used as metric tag.
+     */
+    @Test
+    void testProbeGroup_shouldBeBounded() {
+        assertEquals("all", HealthProbeMetricsFilter.group("/actuator/health"));
+        assertEquals("liveness", HealthProbeMetricsFilter.group("/actuator/health/liveness"));
+        assertEquals("readiness", HealthProbeMetricsFilter.group("/actuator/health/readiness"));
+        assertEquals("other", HealthProbeMetricsFilter.group("/actuator/health/db"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.subash.user.management.config;
+
+import com.subash.user.management.jfr.MappingEvent;
+import com.subash.user.management.jfr.RepositoryCallEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static com.subash.user.management.util.Constants.OPERATION_ID_KEY;
+import static com.subash.user.management.util.Constants.REQUEST_ID_KEY;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link JfrEndpoint} and the request phase events it records.
+ */
+class JfrEndpointTest {
+
+    private final JfrEndpoint endpoint = new JfrEndpoint(Duration.ofMinutes(1), Duration.ofMinutes(5),
+            DataSize.ofMegabytes(10));
+    private JfrEndpoint.RecordingInfo recording;
+
+    @AfterEach
+    void cleanup() {
+        if (recording != null) {
+            endpoint.close(recording.id());
+        }
+        ThreadContext.clearMap();
+    }
+
+    /**
+     * Test to verify that a dumped recording contains the request phase events with the ids of their request.
+     */
+    @Test
+    void testDump_shouldContainRequestPhaseEventsWithIds() throws Exception {
+        recording = endpoint.start("test", null, null);
+        assertEquals("RUNNING", recording.state());
+        assertTrue(endpoint.recordings().stream().anyMatch(info -> info.id() == recording.id()));
+
+        ThreadContext.put(REQUEST_ID_KEY, "req-1");
+        ThreadContext.put(OPERATION_ID_KEY, "getUser");
+        String result = RepositoryCallEvent.record("findByUsername", () -> "user");
+        MappingEvent.record("userToUserView", () -> result);
+
+        Resource dump = endpoint.dump(recording.id());
+        Path file = Files.createTempFile("test-", ".jfr");
+        try {
+            try (InputStream in = dump.getInputStream()) {
+                Files.write(file, in.readAllBytes());
+            }
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("com.subash.user.management."))
+                    .toList();
+
+            RecordedEvent call = events.stream()
+                    .filter(event -> event.getEventType().getName().endsWith("RepositoryCall"))
+                    .findFirst().orElseThrow();
+            assertEquals("findByUsername", call.getString("method"));
+            assertEquals("req-1", call.getString("requestId"));
+            assertEquals("getUser", call.getString("operationId"));
+            assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().endsWith("Mapping")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertFalse(dump.getFile().exists());
+    }
+
+    /**
+     * Test to verify that unknown recordings are reported as not found and invalid settings are rejected.
+     */
+    @Test
+    void testInvalidRequests() throws Exception {
+        assertNull(endpoint.dump(-1));
+        assertNull(endpoint.close(-1));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.start(null, 3600L, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.start(null, null, "unknown"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.subash.user.management.config;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.subash.user.management.util.Constants.REQUEST_ID_KEY;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RequestIdFilter}.
+ * <p>
+ * Checks which id a request is given, that it is visible in the logging context while the request
+ * is handled and that it is returned in the response header.
+ * </p>
+ */
+class RequestIdFilterTest {
+
+    private static final String HEADER = "X-Request-ID";
+
+    private final RequestIdFilter requestIdFilter = new RequestIdFilter(HEADER);
+
+    /**
+     * Test to verify that a request without an id gets a generated UUID version 7 id.
+     */
+    @Test
+    void testDoFilter_whenNoInboundId_shouldGenerateId() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String requestId = filter(new MockHttpServletRequest(), response);
+
+        assertTrue(requestId.matches("[0-9a-f]{8}-[0-9a-f]{4}-7[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}"), requestId);
+        assertEquals(requestId, response.getHeader(HEADER));
+    }
+
+    /**
+     * Test to verify that a valid id sent by the caller is reused.
+     */
+    @Test
+    void testDoFilter_whenInboundId_shouldReuseId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HEADER, "gateway-1234.abc");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertEquals("gateway-1234.abc", filter(request, response));
+        assertEquals("gateway-1234.abc", response.getHeader(HEADER));
+    }
+
+    /**
+     * Test to verify that the trace id of a traceparent header is used when no id is sent.
+     */
+    @Test
+    void testDoFilter_whenTraceparent_shouldUseTraceId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestIdFilter.TRACEPARENT_HEADER, "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", filter(request, new MockHttpServletResponse()));
+    }
+
+    /**
+     * Test to verify that an id which could forge log lines is replaced by a generated one.
+     */
+    @Test
+    void testDoFilter_whenInvalidInboundId_shouldGenerateId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HEADER, "abc\nINFO forged line");
+
+        String requestId = filter(request, new MockHttpServletResponse());
+
+        assertNotEquals("abc\nINFO forged line", requestId);
+        assertEquals(36, requestId.length());
+    }
+
+    /**
+     * Test to verify that the id is removed from the logging context after the request.
+     */
+    @Test
+    void testDoFilter_shouldClearLoggingContext() throws Exception {
+        filter(new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        assertNull(ThreadContext.get(REQUEST_ID_KEY));
+    }
+
+    private String filter(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        requestIdFilter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                seen.set(ThreadContext.get(REQUEST_ID_KEY));
+            }
+        });
+        return seen.get();
+    }
+}
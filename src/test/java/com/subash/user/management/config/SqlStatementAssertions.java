@@ -0,0 +1,54 @@
+package com.subash.user.management.config;
+
+import com.subash.user.management.repository.SqlStatementCounter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Assertions on the SQL statements issued by a request performed with {@code MockMvc}, as counted by
+ * {@link SqlStatementFilter}. The filter must be part of the {@code MockMvc} setup, as with
+ * {@code @SpringBootTest} and {@code @AutoConfigureMockMvc}.
+ * <pre>
+ * mockMvc.perform(get("/v1/api/users/imp_admin").with(httpBasic(...)))
+ *         .andExpect(statementCount(1));
+ * </pre>
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Expects a request to have issued exactly the given number of statements. The failure message lists the
+     * statements.
+     *
+     * @param expected the number of statements
+     * @return the matcher
+     */
+    public static ResultMatcher statementCount(int expected) {
+        return result -> {
+            SqlStatementCounter.Scope scope = statements(result);
+            assertEquals(expected, scope.getCount(), () -> "SQL statements of " + result.getRequest().getMethod()
+                    + " " + result.getRequest().getRequestURI() + ":\n" + scope.getStatements().stream()
+                    .map(SqlStatementCounter.Statement::sql)
+                    .collect(Collectors.joining("\n")));
+        };
+    }
+
+    /**
+     * Returns the statements issued by a request.
+     *
+     * @param result the performed request
+     * @return the statements
+     */
+    public static SqlStatementCounter.Scope statements(MvcResult result) {
+        Object scope = result.getRequest().getAttribute(SqlStatementFilter.STATEMENTS_ATTRIBUTE);
+        assertNotNull(scope, "SqlStatementFilter did not process the request");
+        return (SqlStatementCounter.Scope) scope;
+    }
+}
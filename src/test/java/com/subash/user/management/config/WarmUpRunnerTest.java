@@ -0,0 +1,140 @@
+package com.subash.user.management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.model.User;
+import com.subash.user.management.repository.UserFallbackCache;
+import com.subash.user.management.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link WarmUpRunner}.
+ * <p>
+ * The repository, password encoder and data source are mocks; the mapper and the serialization are real.
+ * </p>
+ */
+class WarmUpRunnerTest {
+
+    private UserRepository userRepository;
+    private UserFallbackCache userFallbackCache;
+    private PasswordEncoder passwordEncoder;
+    private DataSource dataSource;
+    private Connection connection;
+
+    @BeforeEach
+    void setup() throws Exception {
+        userRepository = mock(UserRepository.class);
+        userFallbackCache = new UserFallbackCache(100, Duration.ofMinutes(15), new SimpleMeterRegistry());
+        passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+        doReturn(new SliceImpl<>(List.of(user("alice_01"), user("bob_02"))))
+                .when(userRepository).findBy(any(Specification.class), any(Function.class));
+    }
+
+    /**
+     * Test to verify that every step runs its iterations and that the report is contributed to the info endpoint.
+     */
+    @Test
+    void testRun_shouldCoverAllStepsAndReport() throws Exception {
+        WarmUpRunner runner = runner(Duration.ofSeconds(30), System::nanoTime);
+
+        runner.run(null);
+
+        Map<String, WarmUpRunner.Step> steps = steps(runner);
+        assertEquals(List.of("connections", "mapper", "serialization", "passwordEncoder", "queries", "userCaches"),
+                List.copyOf(steps.keySet()));
+        assertEquals(3, steps.get("connections").count());
+        assertEquals(10, steps.get("mapper").count());
+        assertEquals(10, steps.get("serialization").count());
+        assertEquals(2, steps.get("passwordEncoder").count());
+        assertEquals(4, steps.get("queries").count());
+        assertEquals(2, steps.get("userCaches").count());
+        assertTrue(steps.values().stream().allMatch(step -> step.error() == null));
+
+        verify(dataSource, times(3)).getConnection();
+        verify(connection, times(3)).close();
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+        assertTrue(userFallbackCache.get("alice_01").isPresent());
+
+        Info.Builder info = new Info.Builder();
+        runner.contribute(info);
+        assertSame(runner.getReport(), info.build().getDetails().get("warmUp"));
+    }
+
+    /**
+     * Test to verify that a failing step is reported and does not stop the warm-up, e.g. while the database is
+     * unavailable.
+     */
+    @Test
+    void testRun_whenDatabaseFails_shouldReportAndContinue() throws Exception {
+        when(userRepository.findByUsername(anyString()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        WarmUpRunner runner = runner(Duration.ofSeconds(30), System::nanoTime);
+
+        runner.run(null);
+
+        Map<String, WarmUpRunner.Step> steps = steps(runner);
+        assertEquals(0, steps.get("queries").count());
+        assertTrue(steps.get("queries").error().contains("connection refused"));
+        assertEquals(2, steps.get("userCaches").count());
+    }
+
+    /**
+     * Test to verify that iterations stop once the timeout has passed.
+     */
+    @Test
+    void testRun_whenTimeoutPassed_shouldSkipRemainingIterations() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        WarmUpRunner runner = runner(Duration.ofMillis(1), () -> clock.addAndGet(Duration.ofMillis(1).toNanos() / 4));
+
+        runner.run(null);
+
+        Map<String, WarmUpRunner.Step> steps = steps(runner);
+        assertTrue(steps.get("mapper").count() < 10);
+        assertEquals(0, steps.get("queries").count());
+        assertNull(steps.get("queries").error());
+    }
+
+    private WarmUpRunner runner(Duration timeout, LongSupplier nanoTime) {
+        return new WarmUpRunner(userRepository, userFallbackCache, passwordEncoder,
+                new ObjectMapper().findAndRegisterModules(), dataSource, 10, 2, 4, 3, 100, timeout, nanoTime);
+    }
+
+    private static Map<String, WarmUpRunner.Step> steps(WarmUpRunner runner) {
+        return runner.getReport().steps().stream().collect(Collectors.toMap(WarmUpRunner.Step::name,
+                step -> step, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        return user;
+    }
+}
@@ -0,0 +1,94 @@
+package com.subash.user.management.controller;
+
+import com.subash.user.management.config.TestSecurityConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for {@link ApiDocsController}.
+ * <p>
+ * Uses {@link WebMvcTest} so that the conditional request handling of Spring MVC answers revalidations.
+ * </p>
+ */
+@WebMvcTest(ApiDocsController.class)
+@Import(TestSecurityConfig.class)
+class ApiDocsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Test to verify that the checked-in document is served as is, with caching headers.
+     */
+    @Test
+    void testGetApiDocs_shouldServeDocumentWithCachingHeaders() throws Exception {
+        mockMvc.perform(get("/openapi.yaml"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/yaml"))
+                .andExpect(header().string("Cache-Control", "max-age=3600, public"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(document()));
+    }
+
+    /**
+     * Test to verify that clients accepting gzip get the compressed document under its own ETag.
+     */
+    @Test
+    void testGetApiDocs_whenGzipAccepted_shouldServeCompressedDocument() throws Exception {
+        MvcResult result = mockMvc.perform(get("/openapi.yaml").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertTrue(body.length < document().length);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertArrayEquals(document(), in.readAllBytes());
+        }
+        assertTrue(result.getResponse().getHeader("ETag").endsWith("-gzip\""));
+    }
+
+    /**
+     * Test to verify that a revalidation with the current ETag is answered without a body.
+     */
+    @Test
+    void testGetApiDocs_whenETagMatches_shouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/openapi.yaml")).andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/openapi.yaml").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    /**
+     * Test to verify the parsing of {@code Accept-Encoding}.
+     */
+    @Test
+    void testAcceptsGzip_shouldHonourQualityZero() {
+        assertTrue(ApiDocsController.acceptsGzip("gzip, deflate"));
+        assertTrue(ApiDocsController.acceptsGzip("*"));
+        assertFalse(ApiDocsController.acceptsGzip("gzip;q=0, identity"));
+        assertFalse(ApiDocsController.acceptsGzip("deflate, br"));
+        assertFalse(ApiDocsController.acceptsGzip(null));
+    }
+
+    private static byte[] document() throws Exception {
+        return new ClassPathResource("openapi.yaml").getContentAsByteArray();
+    }
+}
@@ -0,0 +1,188 @@
+package com.subash.user.management.controller;
+
+import com.subash.user.management.model.Role;
+import com.subash.user.management.model.User;
+import com.subash.user.management.repository.FaultInjectingDataSource;
+import com.subash.user.management.repository.FaultInjectingDataSource.Fault;
+import com.subash.user.management.repository.FaultInjectingDataSource.Settings;
+import com.subash.user.management.repository.FaultInjectingDataSource.StatementType;
+import com.subash.user.management.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tail latency of the {@link UserController} endpoints against a slow or failing database, reproduced by the
+ * {@code fault-injection} profile on top of the configured PostgreSQL database.
+ * <p>
+ * Each scenario measures the latency of sequential requests without faults and with the faults of the scenario,
+ * and asserts that the injected latency shows up in the 99th percentile without being amplified, e.g. by
+ * repeated lookups, and that failures are contained. The second-level cache is cleared before each request, so
+ * every request looks up the authenticated user in the database. The faults are seeded.
+ * </p>
+ * <p>
+ * The circuit breaker stays open for the rest of a scenario once tripped, since a hundred requests hashing a
+ * BCrypt password each take longer than its default open duration.
+ * </p>
+ */
+@SpringBootTest(properties = "user-lookup.circuit-breaker.open-duration=10m")
+@AutoConfigureMockMvc
+@ActiveProfiles("fault-injection")
+class UserControllerLatencyTest {
+
+    private static final String ADMIN = "latency_admin";
+    private static final String PASSWORD = "password_1";
+    private static final int REQUESTS = 100;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${user-lookup.circuit-breaker.failure-threshold}")
+    private int failureThreshold;
+
+    private FaultInjectingDataSource dataSource;
+
+    @BeforeEach
+    void setup(@Autowired DataSource applicationDataSource) throws Exception {
+        dataSource = applicationDataSource.unwrap(FaultInjectingDataSource.class);
+        dataSource.setSettings(Settings.NONE);
+        cleanup();
+        User admin = new User();
+        admin.setUsername(ADMIN);
+        admin.setPasswordHash(passwordEncoder.encode(PASSWORD));
+        admin.setRole(Role.ROLE_ADMIN);
+        userRepository.save(admin);
+    }
+
+    @AfterEach
+    void cleanup() {
+        dataSource.setSettings(Settings.NONE);
+        userRepository.findAll().stream()
+                .filter(user -> user.getUsername().startsWith("latency_"))
+                .forEach(userRepository::delete);
+    }
+
+    /**
+     * Test to verify that slow username lookups add their latency to the tail of a user read once, as the
+     * user loaded during authentication is reused.
+     */
+    @Test
+    void testGetUser_whenUsernameLookupsSlow_shouldAddLookupLatencyOnce() throws Exception {
+        RequestBuilder request = get("/v1/api/users/" + ADMIN).with(httpBasic(ADMIN, PASSWORD));
+        long[] baseline = measure(i -> request, status().isOk());
+
+        Fault slow = new Fault(Duration.ofMillis(20), Duration.ofMillis(100), 0.0);
+        dataSource.setSettings(new Settings(null, Map.of(StatementType.SELECT_BY_USERNAME, slow), 1L));
+        long[] faulty = measure(i -> request, status().isOk());
+
+        assertTrue(percentile(faulty, 0.5) >= percentile(baseline, 0.5) + millis(15),
+                () -> report(baseline, faulty));
+        assertTrue(percentile(faulty, 0.99) <= percentile(baseline, 0.99) + millis(250),
+                () -> report(baseline, faulty));
+    }
+
+    /**
+     * Test to verify that slow inserts add their latency to the tail of a registration once per inserted row:
+     * the user, the outbox event and the change feed entry.
+     */
+    @Test
+    void testRegister_whenInsertsSlow_shouldAddLatencyPerInsert() throws Exception {
+        long[] baseline = measure(i -> register("latency_base_" + i), status().isCreated());
+
+        Fault slow = new Fault(Duration.ofMillis(30), null, 0.0);
+        dataSource.setSettings(new Settings(null, Map.of(StatementType.INSERT, slow), 1L));
+        long[] faulty = measure(i -> register("latency_slow_" + i), status().isCreated());
+
+        assertTrue(percentile(faulty, 0.01) >= millis(3 * 30), () -> report(baseline, faulty));
+        assertTrue(percentile(faulty, 0.99) <= percentile(baseline, 0.99) + millis(3 * 30 + 150),
+                () -> report(baseline, faulty));
+    }
+
+    /**
+     * Test to verify that failing username lookups only reach the database until the circuit breaker opens;
+     * all requests are answered from the last known good copy of the user.
+     */
+    @Test
+    @DirtiesContext
+    void testGetUser_whenUsernameLookupsFail_shouldContainTailWithCircuitBreaker() throws Exception {
+        RequestBuilder request = get("/v1/api/users/" + ADMIN).with(httpBasic(ADMIN, PASSWORD));
+        long[] baseline = measure(i -> request, status().isOk());
+
+        Fault failing = new Fault(Duration.ofMillis(200), null, 1.0);
+        dataSource.setSettings(new Settings(null, Map.of(StatementType.SELECT_BY_USERNAME, failing), 1L));
+        long[] faulty = measure(i -> request, status().isOk());
+
+        long lookups = dataSource.getExecutions(StatementType.SELECT_BY_USERNAME);
+        assertTrue(lookups <= failureThreshold, () -> lookups + " failing lookups, " + report(baseline, faulty));
+        assertTrue(percentile(faulty, 0.9) < percentile(baseline, 0.9) + millis(200),
+                () -> report(baseline, faulty));
+    }
+
+    private long[] measure(IntFunction<RequestBuilder> requests, ResultMatcher expected) throws Exception {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        long[] latencies = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            sessionFactory.getCache().evictAllRegions();
+            RequestBuilder request = requests.apply(i);
+            long start = System.nanoTime();
+            mockMvc.perform(request).andExpect(expected);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    private static long millis(long millis) {
+        return Duration.ofMillis(millis).toNanos();
+    }
+
+    private static String report(long[] baseline, long[] faulty) {
+        return String.format("p50/p99 without faults %d/%d ms, with faults %d/%d ms",
+                percentile(baseline, 0.5) / 1_000_000, percentile(baseline, 0.99) / 1_000_000,
+                percentile(faulty, 0.5) / 1_000_000, percentile(faulty, 0.99) / 1_000_000);
+    }
+
+    private static RequestBuilder register(String username) {
+        return post("/v1/api/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\",\"role\":\"USER\"}");
+    }
+}
@@ -0,0 +1,122 @@
+package com.subash.user.management.controller;
+
+import com.subash.user.management.model.Role;
+import com.subash.user.management.model.User;
+import com.subash.user.management.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.List;
+
+import static com.subash.user.management.config.SqlStatementAssertions.statementCount;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each {@link UserController} endpoint issues against the configured PostgreSQL
+ * database, including the loading of the authenticated user.
+ * <p>
+ * Each request is performed once to fill the second-level cache, and the statements of a second request are
+ * counted. An additional statement, such as a repeated {@code findByUsername}, fails the test with the list of
+ * statements.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserControllerSqlStatementTest {
+
+    private static final String ADMIN = "sql_count_admin";
+    private static final String PASSWORD = "password_1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        User admin = new User();
+        admin.setUsername(ADMIN);
+        admin.setPasswordHash(passwordEncoder.encode(PASSWORD));
+        admin.setRole(Role.ROLE_ADMIN);
+        userRepository.save(admin);
+    }
+
+    @AfterEach
+    void cleanup() {
+        for (String username : List.of(ADMIN, "sql_count_1", "sql_count_2")) {
+            userRepository.findByUsername(username).ifPresent(userRepository::delete);
+        }
+    }
+
+    /**
+     * Test to verify the statements of a user looking up their own record, served from the authentication.
+     */
+    @Test
+    void testGetUser_shouldIssueExpectedStatements() throws Exception {
+        assertSteadyStatementCount(0, get("/v1/api/users/" + ADMIN).with(httpBasic(ADMIN, PASSWORD)));
+    }
+
+    /**
+     * Test to verify the statements of the admin user listing.
+     */
+    @Test
+    void testGetAllUsers_shouldIssueExpectedStatements() throws Exception {
+        assertSteadyStatementCount(1, get("/v1/api/users").param("size", "5").with(httpBasic(ADMIN, PASSWORD)));
+    }
+
+    /**
+     * Test to verify the statements of a registration: the username check, the insert, the outbox event and the
+     * change feed entry with its lock.
+     */
+    @Test
+    void testRegister_shouldIssueExpectedStatements() throws Exception {
+        mockMvc.perform(register("sql_count_1")).andExpect(status().isCreated());
+        mockMvc.perform(register("sql_count_2"))
+                .andExpect(status().isCreated())
+                .andExpect(statementCount(5));
+    }
+
+    /**
+     * Test to verify the statements of a removal: the load of the user, the delete, the outbox event and the
+     * change feed tombstone with its lock.
+     */
+    @Test
+    void testRemoveUser_shouldIssueExpectedStatements() throws Exception {
+        mockMvc.perform(register("sql_count_1")).andExpect(status().isCreated());
+        mockMvc.perform(get("/v1/api/users/" + ADMIN).with(httpBasic(ADMIN, PASSWORD)));
+
+        mockMvc.perform(delete("/v1/api/users/sql_count_1").with(httpBasic(ADMIN, PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(5));
+    }
+
+    private void assertSteadyStatementCount(int expected, RequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(statementCount(expected));
+    }
+
+    private static RequestBuilder register(String username) {
+        return post("/v1/api/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\",\"role\":\"USER\"}");
+    }
+}
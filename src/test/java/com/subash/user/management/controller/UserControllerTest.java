@@ -2,25 +2,35 @@ package com.subash.user.management.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.subash.user.management.config.TestSecurityConfig;
+import com.subash.user.management.exception.ServiceOverloadedException;
+import com.subash.user.management.exception.UserExistsException;
+import com.subash.user.management.exception.UserNotFoundException;
 import com.subash.user.management.model.AllUserResponse;
 import com.subash.user.management.model.UserResponse;
 import com.subash.user.management.model.UserView;
+import com.subash.user.management.service.IdempotencyService;
 import com.subash.user.management.service.UserService;
 import com.subash.user.management.util.GenericLogger;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.OffsetDateTime;
+import java.util.concurrent.Callable;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -56,12 +66,21 @@ public class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
     @MockitoBean
     private GenericLogger genericLogger;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    void setup() throws Exception {
+        Mockito.when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(4, Callable.class).call());
+    }
+
     /**
      * Test case for successfully creating a new user.
      * Validates that a POST request returns a 200 OK with the expected success message.
@@ -77,7 +96,7 @@ public class UserControllerTest {
         response.setCode(5001);
         response.setMessage("User created");
 
-        Mockito.when(userService.createUser(anyString(), any(UserView.class)))
+        Mockito.when(userService.createUser(any(UserView.class)))
                 .thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
 
         mockMvc.perform(post("/v1/api/users/register")
@@ -88,6 +107,36 @@ public class UserControllerTest {
                 .andDo(print());
     }
 
+    /**
+     * Test case for a registration retried with an idempotency key.
+     * Validates that the key is handed to the idempotency service and the replay header is returned.
+     */
+    @Test
+    void createUser_WithIdempotencyKey() throws Exception {
+        UserView userView = new UserView();
+        userView.setRole(UserView.RoleEnum.USER);
+        userView.setUsername("Subish");
+        userView.setPassword("testUser");
+
+        UserResponse response = new UserResponse();
+        response.setCode(5001);
+        response.setMessage("User created");
+
+        Mockito.doReturn(ResponseEntity.status(HttpStatus.CREATED).header("Idempotent-Replayed", "true")
+                        .body(response))
+                .when(idempotencyService)
+                .execute(eq("createUser"), eq("key-1"), any(UserView.class), eq(UserResponse.class), any());
+
+        mockMvc.perform(post("/v1/api/users/register")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(userView)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.message").value("User created"));
+        Mockito.verifyNoInteractions(userService);
+    }
+
     /**
      * Test case for successfully fetching a specific user by username.
      * Requires a valid authenticated user with matching username.
@@ -100,7 +149,7 @@ public class UserControllerTest {
         response.setCode(5002);
         response.setMessage("User fetched");
 
-        Mockito.when(userService.getUser(anyString(), eq(username)))
+        Mockito.when(userService.getUser(eq(username)))
                 .thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
 
         mockMvc.perform(get("/v1/api/users/" + username))
@@ -134,7 +183,7 @@ public class UserControllerTest {
         AllUserResponse response = new AllUserResponse();
         response.setMessage("Fetched All");
 
-        Mockito.when(userService.getAllUser(anyString()))
+        Mockito.when(userService.getAllUser(null, null, null, null, "username", 0, 100))
                 .thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
 
         mockMvc.perform(get("/v1/api/users"))
@@ -143,6 +192,44 @@ public class UserControllerTest {
                 .andDo(print());
     }
 
+    /**
+     * Test case for passing the filters, sort and page of the user listing to the service.
+     */
+    @Test
+    void getAllUsers_WithFilters() throws Exception {
+        AllUserResponse response = new AllUserResponse();
+        response.setMessage("Fetched Admins");
+
+        Mockito.when(userService.getAllUser(UserView.RoleEnum.ADMIN, false,
+                        OffsetDateTime.parse("2026-01-01T00:00Z"), OffsetDateTime.parse("2026-02-01T00:00+05:30"),
+                        "registeredAt,desc", 3, 20))
+                .thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
+
+        mockMvc.perform(get("/v1/api/users")
+                        .param("role", "ADMIN")
+                        .param("hasEmail", "false")
+                        .param("registeredFrom", "2026-01-01T00:00:00Z")
+                        .param("registeredBefore", "2026-02-01T00:00:00+05:30")
+                        .param("sort", "registeredAt,desc")
+                        .param("page", "3")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Fetched Admins"))
+                .andDo(print());
+    }
+
+    /**
+     * Test case to verify that an unknown role filter is answered with 400 instead of a generic 500.
+     */
+    @Test
+    void getAllUsers_InvalidRole() throws Exception {
+        mockMvc.perform(get("/v1/api/users").param("role", "OWNER"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+
+        Mockito.verifyNoInteractions(userService);
+    }
+
     /**
      * Test case for successfully removing a user by username.
      * Verifies that the DELETE endpoint returns 200 OK with confirmation message.
@@ -154,7 +241,7 @@ public class UserControllerTest {
         UserResponse response = new UserResponse();
         response.setMessage("User Removed");
 
-        Mockito.when(userService.removeUser(anyString(), eq(username)))
+        Mockito.when(userService.removeUser(eq(username)))
                 .thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
 
         mockMvc.perform(delete("/v1/api/users/" + username))
@@ -177,4 +264,66 @@ public class UserControllerTest {
                 .andExpect(status().isBadRequest())
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test case to verify that a missing user is answered with 404 and the not found body.
+     */
+    @WithMockUser(username = "subi", roles = "USER")
+    @Test
+    void getUser_NotFound() throws Exception {
+        Mockito.when(userService.getUser(eq("subi"))).thenThrow(UserNotFoundException.INSTANCE);
+
+        mockMvc.perform(get("/v1/api/users/subi"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value(5003))
+                .andExpect(jsonPath("$.message").value("User not found for requested username"))
+                .andDo(print());
+    }
+
+    /**
+     * Test case to verify that registering an existing username is answered with 409 and the exists body.
+     */
+    @Test
+    void createUser_Exists() throws Exception {
+        UserView userView = new UserView();
+        userView.setRole(UserView.RoleEnum.USER);
+        userView.setUsername("Subish");
+        userView.setPassword("testUser");
+
+        Mockito.when(userService.createUser(any(UserView.class))).thenThrow(UserExistsException.INSTANCE);
+
+        mockMvc.perform(post("/v1/api/users/register")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(userView)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value(5002))
+                .andDo(print());
+    }
+
+    /**
+     * Test case to verify that a database timeout is answered with 503 instead of a generic 500.
+     */
+    @Test
+    void getAllUsers_DatabaseUnavailable() throws Exception {
+        Mockito.when(userService.getAllUser(null, null, null, null, "username", 0, 100)).thenThrow(new QueryTimeoutException("timeout"));
+
+        mockMvc.perform(get("/v1/api/users"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value(5011))
+                .andDo(print());
+    }
+
+    /**
+     * Test case to verify that a call shed by the concurrency limit is answered with 503 and the overloaded body.
+     */
+    @WithMockUser(username = "subi", roles = "USER")
+    @Test
+    void getUser_ServiceOverloaded() throws Exception {
+        Mockito.when(userService.getUser(eq("subi"))).thenThrow(ServiceOverloadedException.INSTANCE);
+
+        mockMvc.perform(get("/v1/api/users/subi"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value(5012))
+                .andDo(print());
+    }
+}
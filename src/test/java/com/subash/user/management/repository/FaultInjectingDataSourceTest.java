@@ -0,0 +1,118 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.repository.FaultInjectingDataSource.Fault;
+import com.subash.user.management.repository.FaultInjectingDataSource.Settings;
+import com.subash.user.management.repository.FaultInjectingDataSource.StatementType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link FaultInjectingDataSource}, with a mocked delegate.
+ */
+class FaultInjectingDataSourceTest {
+
+    private static final String SELECT_BY_USERNAME = "select u1_0.id,u1_0.username from users u1_0 where u1_0.username=?";
+    private static final String INSERT = "insert into users (username) values (?)";
+
+    private DataSource delegate;
+    private PreparedStatement statement;
+
+    @BeforeEach
+    void setup() throws Exception {
+        delegate = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(delegate.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeUpdate()).thenReturn(1);
+    }
+
+    /**
+     * Test to verify the classification of the statements issued by {@link UserRepository}.
+     */
+    @Test
+    void testStatementType_shouldClassifyRepositoryStatements() {
+        assertEquals(StatementType.SELECT_BY_USERNAME, StatementType.of(SELECT_BY_USERNAME));
+        assertEquals(StatementType.SELECT, StatementType.of("select u1_0.id from users u1_0 order by u1_0.username"));
+        assertEquals(StatementType.INSERT, StatementType.of(INSERT));
+        assertEquals(StatementType.UPDATE, StatementType.of("update users set login_count=? where id=?"));
+        assertEquals(StatementType.DELETE, StatementType.of("delete from users where id=?"));
+        assertEquals(StatementType.OTHER, StatementType.of("call refresh_statistics()"));
+    }
+
+    /**
+     * Test to verify that only statements of the configured type are slowed down and failed.
+     */
+    @Test
+    void testExecute_shouldInjectFaultOfStatementType() throws Exception {
+        Fault failing = new Fault(Duration.ofMillis(50), null, 1.0);
+        FaultInjectingDataSource dataSource = new FaultInjectingDataSource(delegate,
+                new Settings(null, Map.of(StatementType.INSERT, failing), 1L));
+
+        try (Connection connection = dataSource.getConnection()) {
+            long start = System.nanoTime();
+            SQLException e = assertThrows(SQLException.class,
+                    () -> connection.prepareStatement(INSERT).executeUpdate());
+            assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+            assertEquals("08006", e.getSQLState());
+
+            connection.prepareStatement(SELECT_BY_USERNAME).executeUpdate();
+        }
+        verify(statement, times(1)).executeUpdate();
+    }
+
+    /**
+     * Test to verify that borrowing a connection can be failed, and that new settings take effect at once.
+     */
+    @Test
+    void testGetConnection_shouldInjectConnectionFault() throws Exception {
+        FaultInjectingDataSource dataSource = new FaultInjectingDataSource(delegate,
+                new Settings(new Fault(null, null, 1.0), null, 1L));
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        dataSource.setSettings(Settings.NONE);
+        assertNotNull(dataSource.getConnection());
+    }
+
+    /**
+     * Test to verify that the latencies follow the configured median and 99th percentile.
+     */
+    @Test
+    void testSampleNanos_shouldMatchConfiguredPercentiles() {
+        Fault fault = new Fault(Duration.ofMillis(10), Duration.ofMillis(100), 0.0);
+        Random random = new Random(7);
+        long[] samples = new long[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = fault.sampleNanos(random);
+        }
+        Arrays.sort(samples);
+
+        assertEquals(10.0, samples[samples.length / 2] / 1e6, 0.5);
+        assertEquals(100.0, samples[samples.length * 99 / 100] / 1e6, 10.0);
+        assertEquals(Duration.ofMillis(5).toNanos(), new Fault(Duration.ofMillis(5), null, 0.0).sampleNanos(random));
+    }
+
+    /**
+     * Test to verify that invalid faults are rejected.
+     */
+    @Test
+    void testFault_shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new Fault(Duration.ofMillis(10), Duration.ofMillis(5), 0));
+        assertThrows(IllegalArgumentException.class, () -> new Fault(null, null, 1.5));
+    }
+}
@@ -0,0 +1,55 @@
+package com.subash.user.management.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link InMemoryIdempotencyStore}, with a manual clock.
+ */
+class InMemoryIdempotencyStoreTest {
+
+    private static final IdempotencyStore.Entry ENTRY = new IdempotencyStore.Entry("fingerprint", 201, "{}");
+
+    private final AtomicLong now = new AtomicLong();
+
+    /**
+     * Test to verify that the least recently used response is dropped when the store is full.
+     */
+    @Test
+    void testSave_whenFull_shouldDropLeastRecentlyUsed() {
+        InMemoryIdempotencyStore store = store(2, Duration.ofHours(1));
+        store.save("a", ENTRY);
+        store.save("b", ENTRY);
+        assertTrue(store.find("a").isPresent());
+
+        store.save("c", ENTRY);
+
+        assertTrue(store.find("a").isPresent());
+        assertTrue(store.find("b").isEmpty());
+        assertTrue(store.find("c").isPresent());
+        assertEquals(2, store.size());
+    }
+
+    /**
+     * Test to verify that an expired response is no longer found and may be replaced.
+     */
+    @Test
+    void testFind_whenExpired_shouldReturnEmpty() {
+        InMemoryIdempotencyStore store = store(10, Duration.ofSeconds(30));
+        store.save("a", ENTRY);
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertTrue(store.find("a").isEmpty());
+        store.save("a", new IdempotencyStore.Entry("other", 201, "{}"));
+        assertEquals("other", store.find("a").orElseThrow().fingerprint());
+    }
+
+    private InMemoryIdempotencyStore store(int maxEntries, Duration ttl) {
+        return new InMemoryIdempotencyStore(maxEntries, ttl, new SimpleMeterRegistry(), now::get);
+    }
+}
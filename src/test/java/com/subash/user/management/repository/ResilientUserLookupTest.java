@@ -0,0 +1,206 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.model.Role;
+import com.subash.user.management.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ResilientUserLookup}, {@link CircuitBreaker} and {@link UserFallbackCache}.
+ * <p>
+ * The database is replaced by a {@link FaultInjectingDatabase} whose lookups can be switched to fail the way
+ * an unreachable PostgreSQL does. Time is a fake clock advanced by the tests, and the background refresh
+ * runs on the calling thread.
+ * </p>
+ */
+class ResilientUserLookupTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+    private static final Duration MAX_STALENESS = Duration.ofMinutes(15);
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private FaultInjectingDatabase database;
+    private CircuitBreaker circuitBreaker;
+    private UserFallbackCache fallbackCache;
+    private ResilientUserLookup lookup;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        database = new FaultInjectingDatabase();
+        database.save(user("subi", "hash-1"));
+        database.save(user("kumar", "hash-2"));
+        circuitBreaker = new CircuitBreaker("test", 3, OPEN_DURATION, meterRegistry, clock::get);
+        fallbackCache = new UserFallbackCache(2, MAX_STALENESS, meterRegistry, clock::get);
+        lookup = new ResilientUserLookup(circuitBreaker, fallbackCache, database, Runnable::run, meterRegistry);
+    }
+
+    /**
+     * Test to verify that users read while the database is healthy are kept as last known good copies.
+     */
+    @Test
+    void testFind_whenDatabaseHealthy_shouldLoadAndRemember() {
+        assertEquals("hash-1", lookup.find("subi").orElseThrow().getPasswordHash());
+        assertTrue(lookup.find("nobody").isEmpty());
+
+        assertEquals(1, fallbackCache.size());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    /**
+     * Test to verify that known users are served from the fallback while the database fails, and that the
+     * circuit opens so the database is no longer called.
+     */
+    @Test
+    void testFind_whenDatabaseFails_shouldServeLastKnownGoodAndOpenCircuit() {
+        lookup.find("subi");
+        database.failing = true;
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("hash-1", lookup.find("subi").orElseThrow().getPasswordHash());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(4, database.calls.get());
+        assertEquals(5, meterRegistry.get("user.lookup.fallback.calls").tag("outcome", "served").counter().count());
+        assertEquals(2, meterRegistry.get("test.circuit.rejections").counter().count());
+    }
+
+    /**
+     * Test to verify that a failure without a usable copy is passed on while the circuit is closed, and
+     * answered with a resource failure without calling the database once it is open.
+     */
+    @Test
+    void testFind_whenDatabaseFailsAndUserUnknown_shouldFail() {
+        database.failing = true;
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(CannotGetJdbcConnectionException.class, () -> lookup.find("kumar"));
+        }
+        assertThrows(DataAccessResourceFailureException.class, () -> lookup.find("kumar"));
+
+        assertEquals(3, database.calls.get());
+        assertEquals(4, meterRegistry.get("user.lookup.fallback.calls").tag("outcome", "missed").counter().count());
+    }
+
+    /**
+     * Test to verify that a copy older than the staleness limit is not served.
+     */
+    @Test
+    void testFind_whenCopyTooOld_shouldFail() {
+        lookup.find("subi");
+        database.failing = true;
+        clock.addAndGet(MAX_STALENESS.toNanos() + 1);
+
+        assertThrows(CannotGetJdbcConnectionException.class, () -> lookup.find("subi"));
+        assertEquals(0, fallbackCache.size());
+    }
+
+    /**
+     * Test to verify that a successful probe after the open duration closes the circuit and refreshes the
+     * cached users, picking up changes and removals made during the outage.
+     */
+    @Test
+    void testFind_whenDatabaseRecovers_shouldCloseCircuitAndRefresh() {
+        lookup.find("subi");
+        lookup.find("kumar");
+        database.failing = true;
+        for (int i = 0; i < 3; i++) {
+            lookup.find("subi");
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        database.failing = false;
+        database.save(user("subi", "hash-3"));
+        database.remove("kumar");
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        assertEquals("hash-3", lookup.find("subi").orElseThrow().getPasswordHash());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(fallbackCache.get("kumar").isEmpty());
+        assertEquals(1, fallbackCache.size());
+    }
+
+    /**
+     * Test to verify that a failed probe opens the circuit for another open duration.
+     */
+    @Test
+    void testFind_whenProbeFails_shouldReopenCircuit() {
+        database.failing = true;
+        for (int i = 0; i < 3; i++) {
+            assertThrows(CannotGetJdbcConnectionException.class, () -> lookup.find("subi"));
+        }
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        assertThrows(CannotGetJdbcConnectionException.class, () -> lookup.find("subi"));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(DataAccessResourceFailureException.class, () -> lookup.find("subi"));
+        assertEquals(4, database.calls.get());
+    }
+
+    /**
+     * Test to verify that the fallback keeps only the most recently used users and drops evicted ones.
+     */
+    @Test
+    void testFallbackCache_shouldBeBoundedAndEvictable() {
+        database.save(user("third", "hash-4"));
+        lookup.find("subi");
+        lookup.find("kumar");
+        lookup.find("third");
+
+        assertEquals(2, fallbackCache.size());
+        assertTrue(fallbackCache.get("subi").isEmpty());
+
+        fallbackCache.evict("third");
+        assertEquals(1, fallbackCache.size());
+    }
+
+    private static User user(String username, String passwordHash) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPasswordHash(passwordHash);
+        user.setRole(Role.ROLE_USER);
+        return user;
+    }
+
+    /**
+     * In-memory stand-in for the database whose lookups fail on demand.
+     */
+    private static final class FaultInjectingDatabase implements Function<String, Optional<User>> {
+
+        private final Map<String, User> users = new ConcurrentHashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failing;
+
+        void save(User user) {
+            users.put(user.getUsername(), user);
+        }
+
+        void remove(String username) {
+            users.remove(username);
+        }
+
+        @Override
+        public Optional<User> apply(String username) {
+            calls.incrementAndGet();
+            if (failing) {
+                throw new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection (injected)");
+            }
+            return Optional.ofNullable(users.get(username));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.subash.user.management.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SingleFlight}.
+ * <p>
+ * The leader's load blocks on a latch until all waiters have joined, so the tests control which
+ * calls overlap.
+ * </p>
+ */
+class SingleFlightTest {
+
+    private static final int WAITERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test to verify that concurrent calls for one key share a single load and its result.
+     */
+    @Test
+    void testExecute_whenCallsOverlap_shouldLoadOnce() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Future<String>> results = startOverlappingCalls(singleFlight, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "value";
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.counter("test.single.flight.calls", "role", "leader").count());
+        assertEquals(WAITERS, meterRegistry.counter("test.single.flight.calls", "role", "coalesced").count());
+        assertEquals(0, meterRegistry.get("test.single.flight.in.flight").gauge().value());
+    }
+
+    /**
+     * Test to verify that a failing load is rethrown to the leader and every waiter.
+     */
+    @Test
+    void testExecute_whenLoadFails_shouldPropagateToAllCallers() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+
+        List<Future<String>> results = startOverlappingCalls(singleFlight, () -> {
+            await(release);
+            throw failure;
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    /**
+     * Test to verify that waiters time out while the leader keeps running, and the next call loads again.
+     */
+    @Test
+    void testExecute_whenLoadIsSlow_shouldTimeOutWaiters() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", Duration.ofMillis(50), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+            started.countDown();
+            await(release);
+            return "slow";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(QueryTimeoutException.class, () -> singleFlight.execute("key", () -> "unused"));
+        release.countDown();
+
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("fresh", singleFlight.execute("key", () -> "fresh"));
+        assertEquals(1, meterRegistry.counter("test.single.flight.timeouts").count());
+    }
+
+    /**
+     * Starts a leader call and {@link #WAITERS} calls that join it while its load is blocked.
+     */
+    private List<Future<String>> startOverlappingCalls(SingleFlight<String, String> singleFlight,
+                                                       Supplier<String> loader)
+            throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+            started.countDown();
+            return loader.get();
+        })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < WAITERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("key", () -> "not shared")));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("test.single.flight.calls", "role", "coalesced").count() < WAITERS
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.model.Role;
+import com.subash.user.management.repository.UserBulkLoader.StagedUser;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link UserBulkLoader}, with a mocked data source.
+ */
+class UserBulkLoaderTest {
+
+    /**
+     * Test to verify that a connection without the PostgreSQL {@code COPY} API is refused before any statement
+     * is issued, and is returned to the pool.
+     */
+    @Test
+    void testLoad_whenConnectionIsNotPostgres_shouldRefuse() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(false);
+        List<StagedUser> users = List.of(new StagedUser(2, "alice_01", "$2a$10$hashed", Role.ROLE_USER, null, null));
+
+        assertThrows(SQLFeatureNotSupportedException.class, () -> new UserBulkLoader(dataSource).load(users));
+
+        verify(connection).close();
+        verify(connection, never()).createStatement();
+        verify(connection, never()).prepareStatement(anyString());
+    }
+}
@@ -0,0 +1,147 @@
+package com.subash.user.management.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Documents the query plans the indexes of the Flyway migrations are meant to produce.
+ * <p>
+ * Runs against the configured PostgreSQL database after the migrations have been applied. A development
+ * database holds too few rows for the planner to prefer an index, so sequential and bitmap scans are
+ * disabled for the test transaction; the tests then show which index answers each query, and that no
+ * sort is needed for the keyset queries.
+ * </p>
+ */
+@SpringBootTest
+@Transactional
+class UserSchemaPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+    }
+
+    /**
+     * Test to verify that the credential check by username is answered from the covering index alone.
+     */
+    @Test
+    void testAuthLookup_shouldUseIndexOnlyScan() throws Exception {
+        List<String> plan = plan("SELECT id, password_hash, role FROM users WHERE username = 'subi'");
+
+        assertEquals(List.of("Index Only Scan on users_username_auth_key"), plan);
+    }
+
+    /**
+     * Test to verify that the entity lookup by natural id uses the username index.
+     */
+    @Test
+    void testNaturalIdLookup_shouldUseUsernameIndex() throws Exception {
+        List<String> plan = plan("SELECT * FROM users WHERE username = 'subi'");
+
+        assertEquals(List.of("Index Scan on users_username_auth_key"), plan);
+    }
+
+    /**
+     * Test to verify that case-insensitive lookups of username and email use the unique expression indexes.
+     */
+    @Test
+    void testCaseInsensitiveLookup_shouldUseLowerIndexes() throws Exception {
+        assertEquals(List.of("Index Scan on users_username_lower_key"),
+                plan("SELECT id FROM users WHERE lower(username) = lower('Subi')"));
+        assertEquals(List.of("Index Scan on users_email_id_lower_key"),
+                plan("SELECT id FROM users WHERE lower(email_id) = lower('Subi@Example.com')"));
+    }
+
+    /**
+     * Test to verify that a keyset page of users is read in index order without sorting.
+     */
+    @Test
+    void testUserKeysetPage_shouldReadIndexInOrder() throws Exception {
+        List<String> plan = plan("SELECT id, username FROM users WHERE lower(username) > 'subi' "
+                + "ORDER BY lower(username) LIMIT 50");
+
+        assertEquals(List.of("Limit", "Index Scan on users_username_lower_key"), plan);
+    }
+
+    /**
+     * Test to verify that the users of a role registered in a window are read from the role and registration
+     * time index, in registration order without sorting.
+     */
+    @Test
+    void testUserListingByRoleAndRegistration_shouldReadIndexInOrder() throws Exception {
+        List<String> plan = plan("SELECT * FROM users WHERE role = 'ROLE_ADMIN' "
+                + "AND registered_at >= '2026-01-01T00:00:00Z' AND registered_at < '2026-02-01T00:00:00Z' "
+                + "ORDER BY registered_at DESC, id DESC LIMIT 101");
+
+        assertEquals(List.of("Limit", "Index Scan on users_role_registered_at_idx"), plan);
+    }
+
+    /**
+     * Test to verify that a page of all users ordered by registration time is read without sorting.
+     */
+    @Test
+    void testUserListingByRegistration_shouldReadIndexInOrder() throws Exception {
+        List<String> plan = plan("SELECT * FROM users WHERE email_id IS NOT NULL "
+                + "ORDER BY registered_at, id OFFSET 200 LIMIT 101");
+
+        assertEquals(List.of("Limit", "Index Scan on users_registered_at_idx"), plan);
+    }
+
+    /**
+     * Test to verify that a page of the change feed is read in sequence order without sorting.
+     */
+    @Test
+    void testChangeFeedPage_shouldReadPrimaryKeyInOrder() throws Exception {
+        List<String> plan = plan("SELECT * FROM user_change_log WHERE seq > 42 ORDER BY seq LIMIT 500");
+
+        assertEquals(List.of("Limit", "Index Scan on user_change_log_pkey"), plan);
+    }
+
+    /**
+     * Test to verify that usernames differing only in case are rejected.
+     */
+    @Test
+    void testInsert_whenUsernameDiffersInCase_shouldViolateUniqueIndex() {
+        jdbcTemplate.update("INSERT INTO users (username, password_hash, role) VALUES ('plan_Test_User', 'x', 'ROLE_USER')");
+
+        assertThrows(DuplicateKeyException.class, () -> jdbcTemplate.update(
+                "INSERT INTO users (username, password_hash, role) VALUES ('PLAN_test_user', 'x', 'ROLE_USER')"));
+    }
+
+    /**
+     * Returns the plan nodes of a query from the root down, with the index used by scan nodes.
+     */
+    private List<String> plan(String sql) throws Exception {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        List<String> nodes = new ArrayList<>();
+        collect(objectMapper.readTree(json).get(0).get("Plan"), nodes);
+        return nodes;
+    }
+
+    private static void collect(JsonNode node, List<String> nodes) {
+        String type = node.get("Node Type").asText();
+        nodes.add(node.has("Index Name") ? type + " on " + node.get("Index Name").asText() : type);
+        if (node.has("Plans")) {
+            node.get("Plans").forEach(child -> collect(child, nodes));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.subash.user.management.repository;
+
+import com.subash.user.management.model.Role;
+import com.subash.user.management.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link UserSpecifications} against the configured PostgreSQL database.
+ * <p>
+ * The users are inserted with registration times far in the past, so the registration window isolates them
+ * from the users already in the database. Each test runs in a transaction that is rolled back afterwards.
+ * </p>
+ */
+@SpringBootTest
+@Transactional
+class UserSpecificationsTest {
+
+    private static final Instant T0 = Instant.parse("1990-01-01T00:00:00Z");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        insertUser("spec_admin_1", Role.ROLE_ADMIN, "admin1@spec.test", T0);
+        insertUser("spec_admin_2", Role.ROLE_ADMIN, null, T0.plusSeconds(60));
+        insertUser("spec_user_1", Role.ROLE_USER, "user1@spec.test", T0.plusSeconds(120));
+        insertUser("spec_user_2", Role.ROLE_USER, null, T0.plusSeconds(180));
+    }
+
+    /**
+     * Test to verify that the filters combine, and that absent filters are left out.
+     */
+    @Test
+    void testFilters_shouldCombineGivenFiltersOnly() {
+        assertEquals(List.of("spec_admin_1", "spec_admin_2"), usernames(
+                UserSpecifications.hasRole(Role.ROLE_ADMIN), UserSpecifications.hasEmail(null)));
+        assertEquals(List.of("spec_admin_2", "spec_user_2"), usernames(UserSpecifications.hasEmail(false)));
+        assertEquals(List.of("spec_user_1"), usernames(
+                UserSpecifications.hasRole(Role.ROLE_USER), UserSpecifications.hasEmail(true)));
+    }
+
+    /**
+     * Test to verify that the registration window includes its start and excludes its end.
+     */
+    @Test
+    void testRegistrationWindow_shouldBeHalfOpen() {
+        Slice<User> users = userRepository.findBy(Specification.allOf(
+                        UserSpecifications.registeredFrom(T0.plusSeconds(60)),
+                        UserSpecifications.registeredBefore(T0.plusSeconds(180))),
+                query -> query.slice(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "registeredAt", "id"))));
+
+        assertEquals(List.of("spec_user_1", "spec_admin_2"), users.map(User::getUsername).getContent());
+        assertFalse(users.hasNext());
+    }
+
+    /**
+     * Test to verify that a page tells whether further users match.
+     */
+    @Test
+    void testSlice_shouldTellWhetherMoreUsersMatch() {
+        Specification<User> window = Specification.allOf(UserSpecifications.registeredFrom(T0),
+                UserSpecifications.registeredBefore(T0.plusSeconds(240)));
+        Sort order = Sort.by("registeredAt", "id");
+
+        Slice<User> first = userRepository.findBy(window, query -> query.slice(PageRequest.of(0, 3, order)));
+        Slice<User> second = userRepository.findBy(window, query -> query.slice(PageRequest.of(1, 3, order)));
+
+        assertEquals(3, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(List.of("spec_user_2"), second.map(User::getUsername).getContent());
+        assertFalse(second.hasNext());
+    }
+
+    private List<String> usernames(Specification<User> filter, Specification<User> other) {
+        return usernames(Specification.allOf(filter, other));
+    }
+
+    private List<String> usernames(Specification<User> filter) {
+        Specification<User> window = Specification.allOf(filter, UserSpecifications.registeredFrom(T0),
+                UserSpecifications.registeredBefore(T0.plusSeconds(240)));
+        return userRepository.findBy(window, query -> query.sortBy(Sort.by("username")).all()).stream()
+                .map(User::getUsername).toList();
+    }
+
+    private void insertUser(String username, Role role, String emailId, Instant registeredAt) {
+        jdbcTemplate.update("INSERT INTO users (username, password_hash, role, email_id, registered_at) "
+                + "VALUES (?, 'x', ?, ?, ?)", username, role.name(), emailId, Timestamp.from(registeredAt));
+    }
+}
@@ -0,0 +1,121 @@
+package com.subash.user.management.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LoginAttemptTracker} and {@link StripedFailureCounter}.
+ * <p>
+ * Usernames lock out after 3 failures and addresses after 10, for one minute, with failures halving every
+ * ten minutes. Time is a fake clock advanced by the tests.
+ * </p>
+ */
+class LoginAttemptTrackerTest {
+
+    private static final Duration HALF_LIFE = Duration.ofMinutes(10);
+    private static final Duration LOCKOUT = Duration.ofMinutes(1);
+    private static final String ADDRESS = "10.0.0.1";
+
+    private final AtomicLong clock = new AtomicLong(-1_000_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private LoginAttemptTracker tracker;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new LoginAttemptTracker(3, 10, HALF_LIFE, LOCKOUT, 4, 100, meterRegistry, clock::get);
+    }
+
+    /**
+     * Test to verify that a username is locked out after the maximum failures, regardless of case, and
+     * released once the lockout has passed.
+     */
+    @Test
+    void testRecordFailure_whenUsernameFailsRepeatedly_shouldLockOut() {
+        tracker.recordFailure("subi", ADDRESS);
+        tracker.recordFailure("Subi", ADDRESS);
+        assertEquals(Duration.ZERO, tracker.lockedOutFor("subi", ADDRESS));
+
+        tracker.recordFailure("SUBI", ADDRESS);
+
+        assertEquals(LOCKOUT, tracker.lockedOutFor("subi", "10.0.0.2"));
+        assertEquals(Duration.ZERO, tracker.lockedOutFor("kumar", ADDRESS));
+        assertEquals(1, meterRegistry.get("auth.login.lockouts").tag("key", "username").counter().count());
+        assertEquals(1, meterRegistry.get("auth.login.blocked").tag("key", "username").counter().count());
+
+        clock.addAndGet(LOCKOUT.toNanos());
+        assertEquals(Duration.ZERO, tracker.lockedOutFor("subi", ADDRESS));
+    }
+
+    /**
+     * Test to verify that failures decay, and that a username failing again soon after its lockout is
+     * locked out after fewer failures.
+     */
+    @Test
+    void testRecordFailure_shouldDecayOverTime() {
+        tracker.recordFailure("subi", ADDRESS);
+        tracker.recordFailure("subi", ADDRESS);
+        clock.addAndGet(HALF_LIFE.toNanos() * 4);
+        tracker.recordFailure("subi", ADDRESS);
+        assertEquals(Duration.ZERO, tracker.lockedOutFor("subi", ADDRESS));
+
+        tracker.recordFailure("subi", ADDRESS);
+        tracker.recordFailure("subi", ADDRESS);
+        assertTrue(tracker.lockedOutFor("subi", ADDRESS).compareTo(Duration.ZERO) > 0);
+
+        clock.addAndGet(LOCKOUT.toNanos());
+        tracker.recordFailure("subi", ADDRESS);
+        assertTrue(tracker.lockedOutFor("subi", ADDRESS).compareTo(Duration.ZERO) > 0);
+    }
+
+    /**
+     * Test to verify that an address trying many usernames is locked out for all of them.
+     */
+    @Test
+    void testRecordFailure_whenAddressTriesManyUsernames_shouldLockOutAddress() {
+        for (int i = 0; i < 10; i++) {
+            tracker.recordFailure("user" + i, ADDRESS);
+        }
+
+        assertEquals(LOCKOUT, tracker.lockedOutFor("someone-else", ADDRESS));
+        assertEquals(LOCKOUT, tracker.lockedOutFor(null, ADDRESS));
+        assertEquals(Duration.ZERO, tracker.lockedOutFor("someone-else", "10.0.0.2"));
+        assertEquals(2, meterRegistry.get("auth.login.blocked").tag("key", "ip").counter().count());
+        assertEquals(10, meterRegistry.get("auth.login.failures").counter().count());
+    }
+
+    /**
+     * Test to verify that a successful login clears the failures of the username but not of the address.
+     */
+    @Test
+    void testRecordSuccess_shouldResetUsernameOnly() {
+        for (int i = 0; i < 9; i++) {
+            tracker.recordFailure(i < 2 ? "subi" : "user" + i, ADDRESS);
+        }
+        tracker.recordSuccess("subi");
+        tracker.recordFailure("subi", ADDRESS);
+
+        assertEquals(LOCKOUT, tracker.lockedOutFor("subi", ADDRESS));
+        assertEquals(Duration.ZERO, tracker.lockedOutFor("subi", "10.0.0.2"));
+    }
+
+    /**
+     * Test to verify that each stripe forgets its least recently used keys beyond its capacity.
+     */
+    @Test
+    void testStripedFailureCounter_shouldBeBounded() {
+        StripedFailureCounter counter = new StripedFailureCounter(4, 2, 3, HALF_LIFE, LOCKOUT, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            counter.recordFailure("key" + i);
+        }
+
+        assertTrue(counter.size() <= 8, "size " + counter.size());
+    }
+}
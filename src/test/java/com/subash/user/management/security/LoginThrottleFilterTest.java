@@ -0,0 +1,108 @@
+package com.subash.user.management.security;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link LoginThrottleFilter}.
+ * <p>
+ * Checks that locked out Basic logins are answered without reaching the rest of the chain, where the user
+ * would be loaded and the password hashed.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class LoginThrottleFilterTest {
+
+    @Mock
+    private LoginAttemptTracker loginAttemptTracker;
+
+    private LoginThrottleFilter filter;
+
+    @BeforeEach
+    void setup() {
+        filter = new LoginThrottleFilter(loginAttemptTracker,
+                new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL));
+    }
+
+    /**
+     * Test to verify that a locked out login is rejected with 429 and a retry hint.
+     */
+    @Test
+    void testDoFilter_whenLockedOut_shouldRejectBeforeAuthentication() throws Exception {
+        when(loginAttemptTracker.lockedOutFor("subi", "10.0.0.1")).thenReturn(Duration.ofMillis(41_500));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(basicRequest("subi:wrong:password"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("42", response.getHeader("Retry-After"));
+        assertEquals("{\"code\":5013,\"message\":\"Too many failed logins, please retry later\"}",
+                response.getContentAsString());
+    }
+
+    /**
+     * Test to verify that a login that is not locked out continues down the chain.
+     */
+    @Test
+    void testDoFilter_whenNotLockedOut_shouldContinue() throws Exception {
+        when(loginAttemptTracker.lockedOutFor("subi", "10.0.0.1")).thenReturn(Duration.ZERO);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(basicRequest("subi:password"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    /**
+     * Test to verify that requests without Basic credentials are not checked.
+     */
+    @Test
+    void testDoFilter_whenNoCredentials_shouldSkipCheck() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/v1/api/users/register"), new MockHttpServletResponse(),
+                chain);
+
+        assertNotNull(chain.getRequest());
+        verify(loginAttemptTracker, never()).lockedOutFor(any(), any());
+    }
+
+    /**
+     * Test to verify that undecodable credentials yield no username.
+     */
+    @Test
+    void testBasicUsername_whenMalformed_shouldReturnNull() {
+        assertNull(LoginThrottleFilter.basicUsername("Basic %%%"));
+        assertNull(LoginThrottleFilter.basicUsername("Basic " + encode("no-colon")));
+        assertEquals("subi", LoginThrottleFilter.basicUsername("basic " + encode("subi:pw")));
+    }
+
+    private static MockHttpServletRequest basicRequest(String credentials) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/api/users/subi");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("Authorization", "Basic " + encode(credentials));
+        return request;
+    }
+
+    private static String encode(String credentials) {
+        return Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,127 @@
+package com.subash.user.management.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimiter}.
+ * <p>
+ * Latencies are passed in directly, and calls are held in flight by acquiring without completing,
+ * so the tests control both the load and the observed latency.
+ * </p>
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = 2_000_000L;
+    private static final long SLOW = 50_000_000L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter("test", "read", 10, 2, 40, 2.0, meterRegistry);
+    }
+
+    /**
+     * Test to verify that calls over the limit are rejected at once and counted.
+     */
+    @Test
+    void testTryAcquire_whenLimitReached_shouldReject() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(10, meterRegistry.get("test.concurrency.in.flight").tag("operation", "read").gauge().value());
+        assertEquals(1, meterRegistry.get("test.concurrency.rejections").tag("operation", "read").counter().count());
+
+        limiter.onIgnore();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    /**
+     * Test to verify that the limit grows while it is used and the latency stays at the baseline.
+     */
+    @Test
+    void testOnSuccess_whenLatencyStable_shouldGrowLimit() {
+        runAtLimit(200, FAST);
+
+        assertEquals(40, limiter.getLimit());
+        assertEquals(40, meterRegistry.get("test.concurrency.limit").tag("operation", "read").gauge().value());
+    }
+
+    /**
+     * Test to verify that the limit shrinks when the latency rises well above the baseline.
+     */
+    @Test
+    void testOnSuccess_whenLatencyRises_shouldShrinkLimit() {
+        runAtLimit(200, FAST);
+        int before = limiter.getLimit();
+
+        runAtLimit(30, SLOW);
+
+        assertTrue(limiter.getLimit() < before / 2, "limit " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    /**
+     * Test to verify that the limit is left alone while less than half of it is used.
+     */
+    @Test
+    void testOnSuccess_whenLightlyLoaded_shouldKeepLimit() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(i % 2 == 0 ? FAST : SLOW);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    /**
+     * Test to verify that dropped calls cut the limit down to the minimum.
+     */
+    @Test
+    void testOnDropped_shouldBackOffToMinimum() {
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onDropped();
+        }
+
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    /**
+     * Test to verify that inconsistent limits are rejected.
+     */
+    @Test
+    void testConstructor_whenLimitsInvalid_shouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter("bad", "read", 1, 2, 40, 2.0, meterRegistry));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter("bad", "read", 10, 2, 40, 0.5, meterRegistry));
+    }
+
+    /**
+     * Fills the limit and completes the calls one by one with the given latency, refilling after each.
+     */
+    private void runAtLimit(int calls, long rttNanos) {
+        while (limiter.tryAcquire()) {
+            // fill up to the current limit
+        }
+        for (int i = 0; i < calls; i++) {
+            limiter.onSuccess(rttNanos);
+            while (limiter.tryAcquire()) {
+                // the limit may have grown
+            }
+        }
+        while (limiter.getInFlight() > 0) {
+            limiter.onIgnore();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.subash.user.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.exception.IdempotencyKeyMismatchException;
+import com.subash.user.management.exception.InvalidIdempotencyKeyException;
+import com.subash.user.management.exception.UserExistsException;
+import com.subash.user.management.model.UserResponse;
+import com.subash.user.management.model.UserView;
+import com.subash.user.management.repository.IdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.subash.user.management.util.Constants.IDEMPOTENT_REPLAYED_HEADER;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link IdempotencyService}.
+ * <p>
+ * The store is a map standing in for the configured {@link IdempotencyStore}. Concurrent retries are started
+ * while the operation of the first request blocks on a latch.
+ * </p>
+ */
+class IdempotencyServiceTest {
+
+    private static final String KEY = "4f1c2a9e-6f0b-4d0e-9a57-2b8d1e3c7a10";
+    private static final int RETRIES = 4;
+
+    private final Map<String, IdempotencyStore.Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger executions = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+        IdempotencyStore store = new IdempotencyStore() {
+            @Override
+            public Optional<Entry> find(String key) {
+                return Optional.ofNullable(entries.get(key));
+            }
+
+            @Override
+            public void save(String key, Entry entry) {
+                entries.putIfAbsent(key, entry);
+            }
+        };
+        idempotencyService = new IdempotencyService(store, new ObjectMapper(), Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test to verify that a retry is answered with the stored response without executing the operation again.
+     */
+    @Test
+    void testExecute_whenRetried_shouldReplayStoredResponse() throws Exception {
+        ResponseEntity<UserResponse> first = register(userView("jane", "s3cret"), KEY);
+        ResponseEntity<UserResponse> retry = register(userView("jane", "s3cret"), KEY);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals("true", retry.getHeaders().getFirst(IDEMPOTENT_REPLAYED_HEADER));
+        assertNull(first.getHeaders().getFirst(IDEMPOTENT_REPLAYED_HEADER));
+        assertEquals("jane", retry.getBody().getUser().getUsername());
+        assertEquals(first.getBody().getCode(), retry.getBody().getCode());
+        assertFalse(entries.values().iterator().next().body().contains("s3cret"));
+        assertEquals(1, meterRegistry.counter("idempotency.requests", "outcome", "replayed").count());
+    }
+
+    /**
+     * Test to verify that a key reused for a different request is rejected, while the password does not take
+     * part in the comparison.
+     */
+    @Test
+    void testExecute_whenKeyReusedForOtherRequest_shouldReject() throws Exception {
+        register(userView("jane", "s3cret"), KEY);
+
+        assertThrows(IdempotencyKeyMismatchException.class, () -> register(userView("john", "s3cret"), KEY));
+        assertEquals(HttpStatus.CREATED, register(userView("jane", "changed"), KEY).getStatusCode());
+        assertEquals(1, executions.get());
+    }
+
+    /**
+     * Test to verify that requests without a key always execute and that invalid keys are rejected.
+     */
+    @Test
+    void testExecute_withoutOrWithInvalidKey() throws Exception {
+        register(userView("jane", "s3cret"), null);
+        register(userView("jane", "s3cret"), null);
+        assertEquals(2, executions.get());
+        assertTrue(entries.isEmpty());
+
+        assertThrows(InvalidIdempotencyKeyException.class, () -> register(userView("jane", "s3cret"), ""));
+        assertThrows(InvalidIdempotencyKeyException.class, () -> register(userView("jane", "s3cret"), "a b"));
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> register(userView("jane", "s3cret"), "k".repeat(256)));
+    }
+
+    /**
+     * Test to verify that a failure is not stored, so that a retry executes the operation again.
+     */
+    @Test
+    void testExecute_whenOperationFails_shouldNotStore() throws Exception {
+        assertThrows(UserExistsException.class, () -> idempotencyService.execute("createUser", KEY,
+                userView("jane", "s3cret"), UserResponse.class, () -> {
+                    executions.incrementAndGet();
+                    throw UserExistsException.INSTANCE;
+                }));
+
+        assertTrue(entries.isEmpty());
+        assertEquals(HttpStatus.CREATED, register(userView("jane", "s3cret"), KEY).getStatusCode());
+        assertEquals(2, executions.get());
+    }
+
+    /**
+     * Test to verify that retries arriving while the first request runs wait for it and share its response.
+     */
+    @Test
+    void testExecute_whenRetriedConcurrently_shouldWaitForFirstRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UserView userView = userView("jane", "s3cret");
+
+        List<Future<ResponseEntity<UserResponse>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> idempotencyService.execute("createUser", KEY, userView,
+                UserResponse.class, () -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return created(userView);
+                })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < RETRIES; i++) {
+            results.add(executor.submit(() -> register(userView("jane", "s3cret"), KEY)));
+        }
+        awaitCoalesced(RETRIES);
+        release.countDown();
+
+        assertNull(results.get(0).get(5, TimeUnit.SECONDS).getHeaders().getFirst(IDEMPOTENT_REPLAYED_HEADER));
+        for (Future<ResponseEntity<UserResponse>> retry : results.subList(1, results.size())) {
+            ResponseEntity<UserResponse> response = retry.get(5, TimeUnit.SECONDS);
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+            assertEquals("true", response.getHeaders().getFirst(IDEMPOTENT_REPLAYED_HEADER));
+        }
+        assertEquals(0, executions.get());
+        assertEquals(1, meterRegistry.counter("idempotency.requests", "outcome", "executed").count());
+    }
+
+    /**
+     * Test to verify that concurrent retries get the failure of the first request.
+     */
+    @Test
+    void testExecute_whenFirstRequestFailsConcurrently_shouldFailRetries() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<ResponseEntity<UserResponse>> first = executor.submit(() -> idempotencyService.execute("createUser",
+                KEY, userView("jane", "s3cret"), UserResponse.class, () -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    throw UserExistsException.INSTANCE;
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<ResponseEntity<UserResponse>> retry = executor.submit(() -> register(userView("jane", "s3cret"), KEY));
+        awaitCoalesced(1);
+        release.countDown();
+
+        for (Future<ResponseEntity<UserResponse>> result : List.of(first, retry)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(UserExistsException.INSTANCE, e.getCause());
+        }
+        assertTrue(entries.isEmpty());
+    }
+
+    private ResponseEntity<UserResponse> register(UserView userView, String key) throws Exception {
+        return idempotencyService.execute("createUser", key, userView, UserResponse.class, () -> {
+            executions.incrementAndGet();
+            return created(userView);
+        });
+    }
+
+    private void awaitCoalesced(int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("idempotency.single.flight.calls", "role", "coalesced").count() < waiters
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static ResponseEntity<UserResponse> created(UserView userView) {
+        UserView saved = new UserView();
+        saved.setUsername(userView.getUsername());
+        saved.setRole(userView.getRole());
+        UserResponse response = new UserResponse();
+        response.setUser(saved);
+        response.setCode(5001);
+        response.setMessage("User created");
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    private static UserView userView(String username, String password) {
+        UserView userView = new UserView();
+        userView.setUsername(username);
+        userView.setPassword(password);
+        userView.setRole(UserView.RoleEnum.USER);
+        return userView;
+    }
+}
@@ -0,0 +1,125 @@
+package com.subash.user.management.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link LastLoginRecorder} against the configured PostgreSQL database.
+ * <p>
+ * Each test uses its own recorder, so the scheduled flushes of the application's recorder do not interfere,
+ * and runs in a transaction that is rolled back afterwards. The batches join that transaction.
+ * </p>
+ */
+@SpringBootTest
+@Transactional
+class LastLoginRecorderTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-01T08:30:00Z");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        userIds = List.of(insertUser("login_test_1"), insertUser("login_test_2"), insertUser("login_test_3"));
+    }
+
+    /**
+     * Test to verify that repeated logins are merged per user and written in batches.
+     */
+    @Test
+    void testFlush_shouldWriteMergedLoginsInBatches() {
+        LastLoginRecorder recorder = recorder(jdbcTemplate, 2);
+        recorder.record(userIds.get(0), T0);
+        recorder.record(userIds.get(0), T0.plusSeconds(30));
+        recorder.record(userIds.get(0), T0.plusSeconds(10));
+        recorder.record(userIds.get(1), T0);
+        recorder.record(userIds.get(2), T0.plusSeconds(5));
+        assertEquals(3, meterRegistry.get("user.last.login.pending").gauge().value());
+
+        recorder.flush();
+
+        assertLogins(userIds.get(0), T0.plusSeconds(30), 3);
+        assertLogins(userIds.get(1), T0, 1);
+        assertLogins(userIds.get(2), T0.plusSeconds(5), 1);
+        assertEquals(0, meterRegistry.get("user.last.login.pending").gauge().value());
+        assertEquals(3, meterRegistry.get("user.last.login.flushed").counter().count());
+    }
+
+    /**
+     * Test to verify that a login flushed late does not move the last login back, but still counts.
+     */
+    @Test
+    void testFlush_whenLoginIsOlder_shouldKeepLatestTime() {
+        LastLoginRecorder recorder = recorder(jdbcTemplate, 500);
+        recorder.record(userIds.get(0), T0.plusSeconds(60));
+        recorder.flush();
+
+        recorder.record(userIds.get(0), T0);
+        recorder.flush();
+
+        assertLogins(userIds.get(0), T0.plusSeconds(60), 2);
+    }
+
+    /**
+     * Test to verify that logins whose batch failed are kept and written by the next flush.
+     */
+    @Test
+    void testFlush_whenBatchFails_shouldRetryWithNextFlush() {
+        JdbcTemplate failing = mock(JdbcTemplate.class);
+        when(failing.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+        LastLoginRecorder recorder = recorder(failing, 500);
+        recorder.record(userIds.get(0), T0);
+        recorder.flush();
+        recorder.record(userIds.get(0), T0.plusSeconds(1));
+
+        assertEquals(1, meterRegistry.get("user.last.login.pending").gauge().value());
+        reset(failing);
+        when(failing.batchUpdate(anyString(), anyList())).thenAnswer(invocation ->
+                jdbcTemplate.batchUpdate(invocation.<String>getArgument(0), invocation.<List<Object[]>>getArgument(1)));
+        recorder.flush();
+
+        assertLogins(userIds.get(0), T0.plusSeconds(1), 2);
+    }
+
+    private LastLoginRecorder recorder(JdbcTemplate template, int batchSize) {
+        return new LastLoginRecorder(template, transactionManager, meterRegistry, batchSize);
+    }
+
+    private Long insertUser(String username) {
+        return jdbcTemplate.queryForObject("INSERT INTO users (username, password_hash, role) "
+                + "VALUES (?, 'x', 'ROLE_USER') RETURNING id", Long.class, username);
+    }
+
+    private void assertLogins(Long userId, Instant lastLoginAt, long loginCount) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT last_login_at, login_count FROM users WHERE id = ?", userId);
+        assertEquals(lastLoginAt, ((Timestamp) row.get("last_login_at")).toInstant().truncatedTo(ChronoUnit.MICROS));
+        assertEquals(loginCount, ((Number) row.get("login_count")).longValue());
+    }
+}
@@ -0,0 +1,116 @@
+package com.subash.user.management.service;
+
+import com.subash.user.management.model.OutboxEvent;
+import com.subash.user.management.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link OutboxRelay}.
+ * <p>
+ * The repository, sink and transaction manager are mocked, so the tests cover the batching, deletion
+ * and metric logic without a database.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxSink outboxSink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OutboxRelay outboxRelay;
+
+    /**
+     * Creates the relay with a small batch size and a fresh meter registry.
+     */
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxSink, transactionManager, meterRegistry,
+                BATCH_SIZE, 10);
+    }
+
+    /**
+     * Test to verify that full batches are drained within one poll and deleted after publishing.
+     */
+    @Test
+    void testPoll_whenBatchesAreFull_shouldDrainUntilPartialBatch() throws Exception {
+        List<OutboxEvent> first = events(1, 2);
+        List<OutboxEvent> second = events(3);
+        when(outboxEventRepository.claimBatch(BATCH_SIZE)).thenReturn(first, second);
+
+        outboxRelay.poll();
+
+        verify(outboxSink).publish(first);
+        verify(outboxSink).publish(second);
+        verify(outboxEventRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteByIdIn(List.of(3L));
+        assertEquals(3, meterRegistry.counter("outbox.relay.events").count());
+        assertEquals(2, meterRegistry.summary("outbox.relay.batch.size").count());
+    }
+
+    /**
+     * Test to verify that a rejected batch is not deleted and is counted as a failure.
+     */
+    @Test
+    void testPoll_whenSinkFails_shouldKeepEvents() throws Exception {
+        when(outboxEventRepository.claimBatch(anyInt())).thenReturn(events(1));
+        doThrow(new IllegalStateException("sink down")).when(outboxSink).publish(any());
+
+        outboxRelay.poll();
+
+        verify(outboxEventRepository, never()).deleteByIdIn(any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1, meterRegistry.counter("outbox.relay.failures").count());
+    }
+
+    /**
+     * Test to verify that the lag gauge reflects the oldest pending event.
+     */
+    @Test
+    void testPoll_whenEventsPending_shouldReportLag() {
+        when(outboxEventRepository.claimBatch(anyInt())).thenReturn(List.of());
+        when(outboxEventRepository.findOldestCreatedAt()).thenReturn(Instant.now().minusSeconds(30));
+
+        outboxRelay.poll();
+
+        double lag = meterRegistry.get("outbox.relay.lag").gauge().value();
+        assertEquals(30, lag, 1);
+    }
+
+    private static List<OutboxEvent> events(long... ids) {
+        return LongStream.of(ids).mapToObj(id -> {
+            OutboxEvent event = new OutboxEvent();
+            event.setId(id);
+            event.setAggregateId("user" + id);
+            event.setEventType("USER_CREATED");
+            event.setPayload("{}");
+            event.setCreatedAt(Instant.now());
+            return event;
+        }).toList();
+    }
+}
@@ -0,0 +1,137 @@
+package com.subash.user.management.service;
+
+import com.subash.user.management.model.UserChangeLogEntry;
+import com.subash.user.management.repository.UserChangeLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link UserChangeBroadcaster}.
+ * <p>
+ * The dispatcher thread is not started; {@code dispatch()} is invoked directly and the subscriber
+ * buffers are drained by the executor given to the broadcaster.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class UserChangeBroadcasterTest {
+
+    private static final int BUFFER_SIZE = 2;
+
+    @Mock
+    private UserChangeLogRepository userChangeLogRepository;
+
+    @Mock
+    private UserChangeLogService userChangeLogService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    /**
+     * Creates a fresh meter registry for each test.
+     */
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Test to verify that every change is read once and delivered to every subscriber.
+     */
+    @Test
+    void testDispatch_whenSeveralSubscribers_shouldFanOutEveryChange() throws Exception {
+        UserChangeBroadcaster broadcaster = broadcaster(Runnable::run);
+        when(userChangeLogRepository.findMaxSeq()).thenReturn(10L);
+        broadcaster.subscribe(null);
+        broadcaster.subscribe(null);
+        when(userChangeLogRepository.findBySeqGreaterThanOrderBySeqAsc(10L, Limit.of(BUFFER_SIZE)))
+                .thenReturn(entries(11));
+
+        broadcaster.dispatch();
+
+        assertEquals(2, broadcaster.subscriberCount());
+        assertEquals(2, meterRegistry.counter("user.change.stream.frames").count());
+    }
+
+    /**
+     * Test to verify that a subscriber whose buffer overflows is disconnected.
+     */
+    @Test
+    void testDispatch_whenSubscriberTooSlow_shouldDisconnect() throws Exception {
+        Executor neverDrains = task -> {
+        };
+        UserChangeBroadcaster broadcaster = broadcaster(neverDrains);
+        when(userChangeLogRepository.findMaxSeq()).thenReturn(0L);
+        broadcaster.subscribe(null);
+        when(userChangeLogRepository.findBySeqGreaterThanOrderBySeqAsc(anyLong(), any(Limit.class)))
+                .thenReturn(entries(1, 2), entries(3));
+
+        broadcaster.dispatch();
+        broadcaster.dispatch();
+
+        assertEquals(0, broadcaster.subscriberCount());
+        assertEquals(1, meterRegistry.counter("user.change.stream.slow.disconnects").count());
+    }
+
+    /**
+     * Test to verify that a reconnecting subscriber gets the missed changes replayed.
+     */
+    @Test
+    void testSubscribe_whenResuming_shouldReplayMissedChanges() throws Exception {
+        UserChangeBroadcaster broadcaster = broadcaster(Runnable::run);
+        when(userChangeLogRepository.findMaxSeq()).thenReturn(7L);
+        when(userChangeLogRepository.findBySeqGreaterThanOrderBySeqAsc(5L, Limit.of(BUFFER_SIZE + 1)))
+                .thenReturn(entries(6, 7));
+
+        broadcaster.subscribe(5L);
+
+        assertEquals(1, broadcaster.subscriberCount());
+        assertEquals(2, meterRegistry.counter("user.change.stream.frames").count());
+    }
+
+    /**
+     * Test to verify that a subscriber too far behind is told to resync instead of being replayed.
+     */
+    @Test
+    void testSubscribe_whenTooFarBehind_shouldRequestResync() throws Exception {
+        UserChangeBroadcaster broadcaster = broadcaster(Runnable::run);
+        when(userChangeLogRepository.findMaxSeq()).thenReturn(9L);
+        when(userChangeLogRepository.findBySeqGreaterThanOrderBySeqAsc(1L, Limit.of(BUFFER_SIZE + 1)))
+                .thenReturn(entries(2, 3, 4));
+
+        broadcaster.subscribe(1L);
+
+        assertEquals(0, broadcaster.subscriberCount());
+        assertEquals(0, meterRegistry.counter("user.change.stream.frames").count());
+    }
+
+    private UserChangeBroadcaster broadcaster(Executor executor) {
+        return new UserChangeBroadcaster(userChangeLogRepository, userChangeLogService,
+                Jackson2ObjectMapperBuilder.json().build(), meterRegistry, executor, BUFFER_SIZE, 1000, 0);
+    }
+
+    private static List<UserChangeLogEntry> entries(long... seqs) {
+        return LongStream.of(seqs).mapToObj(seq -> {
+            UserChangeLogEntry entry = new UserChangeLogEntry();
+            entry.setSeq(seq);
+            entry.setUsername("subi_" + seq);
+            entry.setChangeType("REMOVED");
+            entry.setChangedAt(Instant.now());
+            return entry;
+        }).toList();
+    }
+}
@@ -0,0 +1,119 @@
+package com.subash.user.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.model.UserChange;
+import com.subash.user.management.model.UserChangeFeedResponse;
+import com.subash.user.management.model.UserChangeLogEntry;
+import com.subash.user.management.repository.UserChangeLogRepository;
+import com.subash.user.management.util.GenericLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link UserChangeFeedServiceImpl}.
+ * <p>
+ * Covers paging, cursor handling, tombstones and the resync signal after compaction.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class UserChangeFeedServiceImplTest {
+
+    @Mock
+    private UserChangeLogRepository userChangeLogRepository;
+
+    @Mock
+    private UserChangeLogService userChangeLogService;
+
+    @Mock
+    private GenericLogger genericLogger;
+
+    private UserChangeFeedServiceImpl userChangeFeedService;
+
+    /**
+     * Creates the service with a maximum page size of 2.
+     */
+    @BeforeEach
+    void setup() {
+        userChangeFeedService = new UserChangeFeedServiceImpl(userChangeLogRepository, userChangeLogService,
+                genericLogger, new ObjectMapper(), 2);
+    }
+
+    /**
+     * Test to verify that a full page reports more changes and the cursor of its last entry.
+     */
+    @Test
+    void testGetChanges_whenMoreThanPage_shouldReturnPageAndCursor() throws Exception {
+        when(userChangeLogRepository.findBySeqGreaterThanOrderBySeqAsc(10L, Limit.of(3)))
+                .thenReturn(List.of(created(11, "subi_1"), removed(12, "subi_2"), created(13, "subi_3")));
+
+        ResponseEntity<UserChangeFeedResponse> response = userChangeFeedService.getChanges(10L, 50);
+
+        UserChangeFeedResponse body = response.getBody();
+        assertEquals(2, body.getChanges().size());
+        assertTrue(body.getHasMore());
+        assertEquals(12L, body.getNextSince());
+        assertEquals("subi_1", body.getChanges().get(0).getUser().getUsername());
+        assertEquals(UserChange.ChangeTypeEnum.REMOVED, body.getChanges().get(1).getChangeType());
+        assertNull(body.getChanges().get(1).getUser());
+        assertFalse(body.getResyncRequired());
+    }
+
+    /**
+     * Test to verify that an empty page keeps the cursor where it was.
+     */
+    @Test
+    void testGetChanges_whenNoChanges_shouldKeepCursor() throws Exception {
+        when(userChangeLogRepository.findBySeqGreaterThanOrderBySeqAsc(anyLong(), any(Limit.class)))
+                .thenReturn(List.of());
+
+        UserChangeFeedResponse body = userChangeFeedService.getChanges(42L, 10).getBody();
+
+        assertTrue(body.getChanges().isEmpty());
+        assertFalse(body.getHasMore());
+        assertEquals(42L, body.getNextSince());
+    }
+
+    /**
+     * Test to verify that a consumer behind the purged tombstones is told to resync.
+     */
+    @Test
+    void testGetChanges_whenCursorBehindHorizon_shouldRequireResync() throws Exception {
+        when(userChangeLogRepository.findBySeqGreaterThanOrderBySeqAsc(anyLong(), any(Limit.class)))
+                .thenReturn(List.of());
+        when(userChangeLogService.purgedThroughSeq()).thenReturn(100L);
+
+        assertTrue(userChangeFeedService.getChanges(5L, 10).getBody().getResyncRequired());
+        assertFalse(userChangeFeedService.getChanges(0L, 10).getBody().getResyncRequired());
+    }
+
+    private static UserChangeLogEntry created(long seq, String username) {
+        UserChangeLogEntry entry = entry(seq, username, "CREATED");
+        entry.setPayload("{\"username\":\"" + username + "\",\"role\":\"USER\"}");
+        return entry;
+    }
+
+    private static UserChangeLogEntry removed(long seq, String username) {
+        return entry(seq, username, "REMOVED");
+    }
+
+    private static UserChangeLogEntry entry(long seq, String username, String changeType) {
+        UserChangeLogEntry entry = new UserChangeLogEntry();
+        entry.setSeq(seq);
+        entry.setUsername(username);
+        entry.setChangeType(changeType);
+        entry.setChangedAt(Instant.now());
+        return entry;
+    }
+}
@@ -0,0 +1,210 @@
+package com.subash.user.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.model.Role;
+import com.subash.user.management.model.UserImportResponse;
+import com.subash.user.management.repository.UserBulkLoader;
+import com.subash.user.management.repository.UserBulkLoader.Conflict;
+import com.subash.user.management.repository.UserBulkLoader.StagedUser;
+import com.subash.user.management.util.GenericLogger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link UserImportServiceImpl}.
+ * <p>
+ * The bulk loader is mocked, so the tests cover parsing, validation, hashing and reject reporting
+ * without a database. Jobs are run synchronously through {@code runImport}.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private UserBulkLoader userBulkLoader;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private GenericLogger genericLogger;
+
+    private ValidatorFactory validatorFactory;
+    private SimpleMeterRegistry meterRegistry;
+    private UserImportServiceImpl userImportService;
+
+    /**
+     * Creates the service with a small chunk size and a real validator.
+     */
+    @BeforeEach
+    void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        meterRegistry = new SimpleMeterRegistry();
+        userImportService = new UserImportServiceImpl(userBulkLoader, passwordEncoder, validatorFactory.getValidator(),
+                new ObjectMapper(), genericLogger, meterRegistry, tempDir.resolve("imports").toString(),
+                tempDir.resolve("rejects").toString(), 2, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.shutdown();
+        validatorFactory.close();
+    }
+
+    /**
+     * Test to verify that valid CSV rows are hashed and loaded in chunks, and invalid rows are reported; a chunk
+     * without valid rows is not loaded.
+     */
+    @Test
+    void testRunImport_whenCsvHasInvalidRows_shouldLoadValidRowsAndReportRejects() throws Exception {
+        Path source = Files.writeString(tempDir.resolve("users.csv"), """
+                username,password,role,emailId,phoneNumber
+                alice_01,password_1,USER,alice@example.com,9876543210
+                "bob_002",password_2,admin,,
+                x,password_3,USER,,
+                carol_03,,USER,,
+                """);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "$2a$10$" + invocation.getArgument(0));
+        List<StagedUser> staged = loadInto();
+
+        UserImportServiceImpl.ImportJob job = new UserImportServiceImpl.ImportJob("job-1", tempDir);
+        userImportService.runImport(job, source, "csv", false);
+
+        assertEquals(UserImportResponse.StatusEnum.COMPLETED, job.status);
+        assertEquals(4, job.processed.get());
+        assertEquals(2, job.imported.get());
+        assertEquals(2, job.rejected.get());
+        assertEquals(List.of("alice_01", "bob_002"), staged.stream().map(StagedUser::username).toList());
+        assertEquals(Role.ROLE_ADMIN, staged.get(1).role());
+        assertEquals("$2a$10$password_1", staged.get(0).passwordHash());
+        assertNull(staged.get(1).emailId());
+        assertEquals(2.0, meterRegistry.counter("user.import.rows", "outcome", "imported").count());
+
+        List<String> rejects = Files.readAllLines(job.rejectFile);
+        assertEquals(3, rejects.size());
+        assertTrue(rejects.get(1).startsWith("4,\"username: "));
+        assertTrue(rejects.get(2).startsWith("5,\"password: either password or passwordHash is required\""));
+        verify(userBulkLoader).load(anyList());
+    }
+
+    /**
+     * Test to verify that NDJSON rows with BCrypt hashes are loaded without re-hashing and conflicts are reported.
+     */
+    @Test
+    void testRunImport_whenNdjsonHasHashesAndConflicts_shouldKeepHashAndReportConflicts() throws Exception {
+        Path source = Files.writeString(tempDir.resolve("users.ndjson"), """
+                {"username":"alice_01","passwordHash":"$2a$10$abcdefghijklmnopqrstuv","role":"USER"}
+                {"username":"alice_01","password":"password_2","role":"USER"}
+                {"username":"dave_004","passwordHash":"plain","role":"USER"}
+                not json
+                """);
+        when(passwordEncoder.encode("password_2")).thenReturn("$2a$10$hashed");
+        List<StagedUser> staged = loadInto(new Conflict(2, "alice_01"));
+
+        UserImportServiceImpl.ImportJob job = new UserImportServiceImpl.ImportJob("job-2", tempDir);
+        userImportService.runImport(job, source, "ndjson", false);
+
+        assertEquals(UserImportResponse.StatusEnum.COMPLETED, job.status);
+        assertEquals(1, job.imported.get());
+        assertEquals(3, job.rejected.get());
+        assertEquals(3.0, meterRegistry.counter("user.import.rows", "outcome", "rejected").count());
+        assertEquals("$2a$10$abcdefghijklmnopqrstuv", staged.get(0).passwordHash());
+        verify(passwordEncoder, times(1)).encode(anyString());
+
+        String rejects = Files.readString(job.rejectFile);
+        assertTrue(rejects.contains("3,\"passwordHash: must be a BCrypt hash\""));
+        assertTrue(rejects.contains("4,\"Malformed row: "));
+        assertTrue(rejects.contains("2,\"Username or email already exists\",\"alice_01\""));
+    }
+
+    /**
+     * Test to verify that a failing load marks the job as failed and keeps the chunks committed before it.
+     */
+    @Test
+    void testRunImport_whenLoadFails_shouldMarkJobFailedAndKeepCommittedChunks() throws Exception {
+        Path source = Files.writeString(tempDir.resolve("users.csv"), """
+                username,password,role
+                alice_01,password_1,USER
+                bob_002,password_2,USER
+                carol_03,password_3,USER
+                """);
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashed");
+        when(userBulkLoader.load(anyList()))
+                .thenReturn(List.of())
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        UserImportServiceImpl.ImportJob job = new UserImportServiceImpl.ImportJob("job-3", tempDir);
+        userImportService.runImport(job, source, "csv", false);
+
+        assertEquals(UserImportResponse.StatusEnum.FAILED, job.status);
+        assertEquals("connection lost", job.failure);
+        assertEquals(2, job.processed.get());
+        assertEquals(2, job.imported.get());
+        assertEquals(2.0, meterRegistry.counter("user.import.rows", "outcome", "imported").count());
+    }
+
+    /**
+     * Test to verify that paths outside the import directory are refused.
+     */
+    @Test
+    void testStartImport_whenPathEscapesImportDirectory_shouldReturnBadRequest() throws Exception {
+        Files.createDirectories(tempDir.resolve("imports"));
+        Files.writeString(tempDir.resolve("secret.csv"), "username\n");
+
+        ResponseEntity<UserImportResponse> response =
+                userImportService.startImport(null, "../secret.csv", null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(userBulkLoader);
+    }
+
+    /**
+     * Test to verify that an unknown job id returns not found.
+     */
+    @Test
+    void testGetImportStatus_whenJobUnknown_shouldReturnNotFound() throws Exception {
+        ResponseEntity<UserImportResponse> response = userImportService.getImportStatus("missing");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    /**
+     * Collects the users loaded across chunks; each chunk reports the given conflicts among its rows.
+     */
+    private List<StagedUser> loadInto(Conflict... conflicts) throws Exception {
+        List<StagedUser> loaded = new ArrayList<>();
+        when(userBulkLoader.load(anyList())).thenAnswer(invocation -> {
+            List<StagedUser> chunk = invocation.getArgument(0);
+            loaded.addAll(chunk);
+            return Arrays.stream(conflicts)
+                    .filter(conflict -> chunk.stream().anyMatch(user -> user.lineNo() == conflict.lineNo()))
+                    .toList();
+        });
+        return loaded;
+    }
+}
@@ -1,18 +1,31 @@
 package com.subash.user.management.service;
 
+import com.subash.user.management.exception.UserConflictException;
+import com.subash.user.management.exception.UserExistsException;
+import com.subash.user.management.exception.UserNotFoundException;
 import com.subash.user.management.model.*;
+import com.subash.user.management.repository.UserFallbackCache;
 import com.subash.user.management.repository.UserRepository;
+import com.subash.user.management.security.CustomUserDetails;
 import com.subash.user.management.util.GenericLogger;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +45,8 @@ import static org.mockito.Mockito.*;
  *     <li>{@link UserRepository} - for user data persistence</li>
  *     <li>{@link PasswordEncoder} - for encoding user passwords</li>
  *     <li>{@link GenericLogger} - for logging structured response data</li>
+ *     <li>{@link OutboxService} - for recording user lifecycle events</li>
+ *     <li>{@link UserChangeLogService} - for appending to the user change feed</li>
  * </ul>
  *
  * <p>
@@ -57,10 +72,16 @@ class UserServiceImplTest {
     @Mock
     private GenericLogger genericLogger;
 
-    @InjectMocks
-    private UserServiceImpl userService;
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private UserChangeLogService userChangeLogService;
 
-    private final String uuid = "test-uuid";
+    @Mock
+    private UserFallbackCache userFallbackCache;
+
+    private UserServiceImpl userService;
 
     private final String username = "subi";
     private UserView userView;
@@ -69,10 +90,13 @@ class UserServiceImplTest {
 
     /**
      * Initializes test data before each test.
-     * Sets up a default {@link UserView} and {@link User} instance.
+     * Sets up the service with a maximum page size of 1000 and a default {@link UserView} and {@link User} instance.
      */
     @BeforeEach
     void setup() {
+        userService = new UserServiceImpl(userRepository, passwordEncoder, genericLogger, outboxService,
+                userChangeLogService, userFallbackCache, 1000);
+
         userView = new UserView();
         userView.setUsername(username);
         userView.setPassword("plainPassword");
@@ -88,6 +112,14 @@ class UserServiceImplTest {
         user.setPhoneNumber("8293738321");
     }
 
+    /**
+     * Clears the authentication set by the self-lookup tests.
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     /**
      * Test to verify that a new user is created successfully
      * when the username does not already exist.
@@ -99,25 +131,49 @@ class UserServiceImplTest {
         when(passwordEncoder.encode("plainPassword")).thenReturn("encryptPassword");
         when(userRepository.save(any())).thenReturn(user);
 
-        ResponseEntity<UserResponse> response = userService.createUser(uuid, userView);
+        ResponseEntity<UserResponse> response = userService.createUser(userView);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(5001, response.getBody().getCode());
+        verify(outboxService).record("USER_CREATED", user);
+        verify(userChangeLogService).record("CREATED", user);
     }
 
     /**
      * Test to verify that when a user already exists with the given username,
-     * the service returns an appropriate response without creating a new user.
+     * the service throws the exists exception without creating a new user.
      */
     @Test
-    void testCreateUser_whenUserExists_shouldReturnExistCode() throws Exception {
+    void testCreateUser_whenUserExists_shouldReturnExistCode() {
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(new User()));
 
-        ResponseEntity<UserResponse> response = userService.createUser(uuid, userView);
+        UserExistsException exception =
+                assertThrows(UserExistsException.class, () -> userService.createUser(userView));
 
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(5002, response.getBody().getCode());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(5002, exception.getCode());
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(outboxService);
+        verifyNoInteractions(genericLogger);
+    }
+
+    /**
+     * Test to verify that a unique constraint violation on insert, e.g. a concurrent registration,
+     * is reported as a conflict.
+     */
+    @Test
+    void testCreateUser_whenInsertViolatesConstraint_shouldThrowConflict() {
+        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+        when(passwordEncoder.encode("plainPassword")).thenReturn("encryptPassword");
+        when(userRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        UserConflictException exception =
+                assertThrows(UserConflictException.class, () -> userService.createUser(userView));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(5010, exception.getCode());
+        verifyNoInteractions(outboxService);
     }
 
     /**
@@ -127,37 +183,104 @@ class UserServiceImplTest {
     void testGetUser_whenUserExists_shouldReturnUser() throws Exception {
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
 
-        ResponseEntity<UserResponse> response = userService.getUser(uuid, username);
+        ResponseEntity<UserResponse> response = userService.getUser(username);
 
         assertEquals(5004, response.getBody().getCode());
         assertNotNull(response.getBody().getUser());
     }
 
+    /**
+     * Test to verify that a user looking up their own record is served from the authenticated principal.
+     */
+    @Test
+    void testGetUser_whenSelfLookup_shouldUseAuthenticatedUser() throws Exception {
+        authenticateAs(user);
+
+        ResponseEntity<UserResponse> response = userService.getUser(username);
+
+        assertEquals(5004, response.getBody().getCode());
+        assertEquals(username, response.getBody().getUser().getUsername());
+        verifyNoInteractions(userRepository);
+    }
+
+    /**
+     * Test to verify that a lookup of another user's record still queries the repository.
+     */
+    @Test
+    void testGetUser_whenAdminLooksUpOtherUser_shouldQueryRepository() throws Exception {
+        User admin = new User();
+        admin.setUsername("admin_1");
+        admin.setRole(Role.ROLE_ADMIN);
+        authenticateAs(admin);
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+
+        ResponseEntity<UserResponse> response = userService.getUser(username);
+
+        assertEquals(username, response.getBody().getUser().getUsername());
+        verify(userRepository).findByUsername(username);
+    }
+
     /**
      * Test to verify that when a username is not found,
-     * the service responds with a "not found" code and no user data.
+     * the service throws the not found exception.
      */
     @Test
-    void testGetUser_whenNotFound_shouldReturnNotFoundCode() throws Exception {
+    void testGetUser_whenNotFound_shouldReturnNotFoundCode() {
         when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
 
-        ResponseEntity<UserResponse> response = userService.getUser(uuid, username);
+        UserNotFoundException exception =
+                assertThrows(UserNotFoundException.class, () -> userService.getUser(username));
 
-        assertEquals(5003, response.getBody().getCode());
-        assertNull(response.getBody().getUser());
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals(5003, exception.getCode());
     }
 
     /**
-     * Test to verify that all users are fetched correctly
-     * from the repository.
+     * Test to verify that a page of users is fetched from the repository
+     * with the requested page, a clamped size and whether more users match.
      */
     @Test
-    void testGetAllUser_shouldReturnList() throws Exception {
-        when(userRepository.findAll()).thenReturn(List.of(user));
-        ResponseEntity<AllUserResponse> response = userService.getAllUser(uuid);
+    void testGetAllUser_shouldReturnPage() throws Exception {
+        when(userRepository.findBy(any(Specification.class), any()))
+                .thenReturn(new SliceImpl<>(List.of(user), PageRequest.of(2, 1000), true));
+
+        ResponseEntity<AllUserResponse> response = userService.getAllUser(UserView.RoleEnum.USER, true,
+                OffsetDateTime.parse("2026-01-01T00:00:00Z"), null, "registeredAt,desc", 2, 5000);
 
         assertEquals(5004, response.getBody().getCode());
         assertEquals(1, response.getBody().getUsers().size());
+        assertEquals(2, response.getBody().getPage());
+        assertEquals(1000, response.getBody().getSize());
+        assertTrue(response.getBody().getHasMore());
+    }
+
+    /**
+     * Test to verify that an unsupported sort or a negative page is rejected
+     * without querying the repository.
+     */
+    @Test
+    void testGetAllUser_whenSortOrPageInvalid_shouldReturnBadRequest() throws Exception {
+        ResponseEntity<AllUserResponse> unknownProperty =
+                userService.getAllUser(null, null, null, null, "passwordHash", 0, 100);
+        ResponseEntity<AllUserResponse> negativePage =
+                userService.getAllUser(null, null, null, null, "username", -1, 100);
+
+        assertEquals(HttpStatus.BAD_REQUEST, unknownProperty.getStatusCode());
+        assertEquals(5014, unknownProperty.getBody().getCode());
+        assertEquals(HttpStatus.BAD_REQUEST, negativePage.getStatusCode());
+        verifyNoInteractions(userRepository);
+    }
+
+    /**
+     * Test to verify the supported sorts of the user listing.
+     */
+    @Test
+    void testParseSort_shouldSupportUsernameAndRegistrationTime() {
+        assertEquals(Sort.by("username"), UserServiceImpl.parseSort(null));
+        assertEquals(Sort.by(Sort.Direction.DESC, "username"), UserServiceImpl.parseSort("username,DESC"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "registeredAt", "id"), UserServiceImpl.parseSort("registeredAt"));
+        assertNull(UserServiceImpl.parseSort("registeredAt,sideways"));
+        assertNull(UserServiceImpl.parseSort("username,asc,id"));
     }
 
     /**
@@ -168,27 +291,31 @@ class UserServiceImplTest {
         User user = new User();
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
 
-        ResponseEntity<UserResponse> response = userService.removeUser(uuid, username);
+        ResponseEntity<UserResponse> response = userService.removeUser(username);
 
         assertEquals(5005, response.getBody().getCode());
         verify(userRepository).delete(user);
+        verify(outboxService).record("USER_REMOVED", user);
+        verify(userChangeLogService).record("REMOVED", user);
+        verify(userFallbackCache).evict(username);
     }
 
     /**
      * Test to verify that attempting to delete a non-existing user
-     * returns the appropriate not-found response and avoids repository delete call.
+     * throws the not found exception and avoids repository delete call.
      */
     @Test
-    void testRemoveUser_whenNotFound_shouldReturnNotFoundCode() throws Exception {
+    void testRemoveUser_whenNotFound_shouldReturnNotFoundCode() {
         when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
 
-        ResponseEntity<UserResponse> response = userService.removeUser(uuid, username);
+        UserNotFoundException exception =
+                assertThrows(UserNotFoundException.class, () -> userService.removeUser(username));
 
-        assertEquals(5003, response.getBody().getCode());
-        verify(userRepository, never()).delete(any());
+        assertEquals(5003, exception.getCode());
+        verify(userRepository, never()).delete(any(User.class));
+        verifyNoInteractions(outboxService);
     }
 
-
     /**
      * Test to verify that exceptions thrown during user creation
      * are handled and logged appropriately.
@@ -198,7 +325,16 @@ class UserServiceImplTest {
 
         when(userRepository.findByUsername(anyString())).thenThrow(new RuntimeException("DB error"));
 
-        assertThrows(Exception.class, () -> userService.createUser(uuid, userView));
-        verify(genericLogger).logResponse(any(), eq(uuid), eq("ERROR"), any());
+        assertThrows(Exception.class, () -> userService.createUser(userView));
+        verify(genericLogger).logResponse(any(), eq("ERROR"), any());
+    }
+
+    /**
+     * Sets an authentication for the given user, as HTTP Basic authentication would.
+     */
+    private static void authenticateAs(User authenticated) {
+        CustomUserDetails details = new CustomUserDetails(authenticated);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
     }
 }
@@ -0,0 +1,185 @@
+package com.subash.user.management.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subash.user.management.model.AllUserResponse;
+import com.subash.user.management.model.UserResponse;
+import com.subash.user.management.model.UserView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link GenericLogger} with {@link BodyLogPolicy} and {@link JsonRedactor}.
+ * <p>
+ * Each test runs inside a mock request, as the controllers do, and checks which bodies reach the log.
+ * </p>
+ */
+class GenericLoggerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL).build();
+    private final Logger logger = mock(Logger.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BodyLogPolicy policy;
+    private GenericLogger genericLogger;
+
+    @BeforeEach
+    void setUp() {
+        when(logger.isInfoEnabled()).thenReturn(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("print.log.sampling.rates.getAllUser", "0.0");
+        policy = new BodyLogPolicy(true, true, 1.0, 0, Duration.ofSeconds(1),
+                Set.of("password", "emailId", "phoneNumber"), environment);
+        genericLogger = new GenericLogger(objectMapper, new UserModelHttpMessageConverter(objectMapper), policy,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Test to verify that sensitive fields are masked in logged request and response bodies.
+     */
+    @Test
+    void testLog_shouldRedactSensitiveFields() {
+        UserView userView = userView("subi_01");
+        userView.setPassword("password_1");
+        UserResponse userResponse = new UserResponse();
+        userResponse.setUser(userView("subi_01"));
+        userResponse.setCode(5001);
+
+        genericLogger.logRequest(logger, Constants.CREATE_USER, Constants.POST_METHOD, userView);
+        genericLogger.logResponse(logger, HttpStatus.OK.name(), new ResponseEntity<>(userResponse, HttpStatus.CREATED));
+
+        List<String> bodies = loggedBodies();
+        assertEquals(2, bodies.size());
+        assertEquals("{\"username\":\"subi_01\",\"password\":\"***\",\"role\":\"ADMIN\",\"emailId\":\"***\","
+                + "\"phoneNumber\":\"***\"}", bodies.get(0));
+        assertEquals("{\"user\":{\"username\":\"subi_01\",\"role\":\"ADMIN\",\"emailId\":\"***\","
+                + "\"phoneNumber\":\"***\"},\"code\":5001}", bodies.get(1));
+    }
+
+    /**
+     * Test to verify that an operation sampled at rate 0 is not logged.
+     */
+    @Test
+    void testLog_whenNotSampled_shouldSkipBodies() {
+        genericLogger.logRequest(logger, Constants.GET_ALL_USER, Constants.GET_METHOD, null);
+        genericLogger.logResponse(logger, HttpStatus.OK.name(), new ResponseEntity<>(allUserResponse(3), HttpStatus.OK));
+
+        assertTrue(loggedBodies().isEmpty());
+        assertEquals(2, meterRegistry.counter("log.body.lines", "outcome", "sampled_out").count());
+    }
+
+    /**
+     * Test to verify that a failure is logged with the held back request body even when not sampled.
+     */
+    @Test
+    void testLog_whenFailedAndNotSampled_shouldLogRequestAndResponse() {
+        genericLogger.logRequest(logger, Constants.GET_ALL_USER, Constants.GET_METHOD, "all");
+        genericLogger.logResponse(logger, Constants.LOG_STATUS_ERROR, Constants.API_PROCESSED_FAILURE);
+
+        assertEquals(List.of("\"all\"", "\"" + Constants.API_PROCESSED_FAILURE + "\""), loggedBodies());
+    }
+
+    /**
+     * Test to verify that a slow request is logged even when not sampled.
+     */
+    @Test
+    void testLog_whenSlowAndNotSampled_shouldLogRequestAndResponse() {
+        policy.setSlowThreshold(Duration.ZERO);
+
+        genericLogger.logRequest(logger, Constants.GET_ALL_USER, Constants.GET_METHOD, null);
+        genericLogger.logResponse(logger, HttpStatus.OK.name(), new ResponseEntity<>(allUserResponse(1), HttpStatus.OK));
+
+        assertEquals(2, loggedBodies().size());
+    }
+
+    /**
+     * Test to verify that bodies beyond the byte budget are skipped until the budget refills.
+     */
+    @Test
+    void testLog_whenOverBudget_shouldSkipBodies() {
+        policy.setBudgetBytesPerSecond(500);
+
+        genericLogger.logResponse(logger, HttpStatus.OK.name(), new ResponseEntity<>(allUserResponse(2), HttpStatus.OK));
+        genericLogger.logResponse(logger, HttpStatus.OK.name(), new ResponseEntity<>(allUserResponse(50), HttpStatus.OK));
+
+        assertEquals(1, loggedBodies().size());
+        assertEquals(1, meterRegistry.counter("log.body.lines", "outcome", "over_budget").count());
+    }
+
+    /**
+     * Test to verify that object and array values of redacted fields are masked as a whole.
+     */
+    @Test
+    void testRedact_shouldMaskNestedValues() throws Exception {
+        String json = "{\"a\":[{\"password\":{\"x\":[1,2]}},{\"emailId\":null}],\"phoneNumber\":[\"1\",\"2\"],\"b\":1}";
+
+        assertEquals("{\"a\":[{\"password\":\"***\"},{\"emailId\":\"***\"}],\"phoneNumber\":\"***\",\"b\":1}",
+                JsonRedactor.redact(objectMapper.getFactory(), json.getBytes(), policy.getRedactedFields()));
+    }
+
+    /**
+     * Test to verify that sampling rates outside 0 to 1 are rejected.
+     */
+    @Test
+    void testSetSampleRate_whenOutOfRange_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> policy.setSampleRate(Constants.GET_USER, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> policy.setDefaultSampleRate(Double.NaN));
+    }
+
+    private List<String> loggedBodies() {
+        ArgumentCaptor<Object> requestBodies = ArgumentCaptor.forClass(Object.class);
+        ArgumentCaptor<Object> responseBodies = ArgumentCaptor.forClass(Object.class);
+        verify(logger, atLeast(0)).info(anyString(), any(), any(), requestBodies.capture());
+        verify(logger, atLeast(0)).info(anyString(), any(), responseBodies.capture());
+        List<String> bodies = new ArrayList<>();
+        requestBodies.getAllValues().forEach(body -> bodies.add((String) body));
+        responseBodies.getAllValues().forEach(body -> bodies.add((String) body));
+        return bodies;
+    }
+
+    private static AllUserResponse allUserResponse(int users) {
+        AllUserResponse allUserResponse = new AllUserResponse();
+        for (int i = 0; i < users; i++) {
+            allUserResponse.addUsersItem(userView("user_" + i));
+        }
+        allUserResponse.setCode(5004);
+        return allUserResponse;
+    }
+
+    private static UserView userView(String username) {
+        UserView userView = new UserView();
+        userView.setUsername(username);
+        userView.setRole(UserView.RoleEnum.ADMIN);
+        userView.setEmailId(username + "@example.com");
+        userView.setPhoneNumber("9876543210");
+        return userView;
+    }
+}
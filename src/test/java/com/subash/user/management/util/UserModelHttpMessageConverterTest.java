@@ -0,0 +1,156 @@
+package com.subash.user.management.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.subash.user.management.model.AllUserResponse;
+import com.subash.user.management.model.UserResponse;
+import com.subash.user.management.model.UserView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link UserModelHttpMessageConverter} and {@link UserModelJsonWriter}.
+ * <p>
+ * The streaming output is compared with what Jackson data binding produces for the same models,
+ * for both the {@code non_null} inclusion used by the application and the Jackson default. Dates are
+ * written as ISO-8601 strings in both cases, as Spring Boot configures the application mapper.
+ * </p>
+ */
+class UserModelHttpMessageConverterTest {
+
+    private final ObjectMapper nonNullMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final ObjectMapper defaultMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Test to verify that the streaming output matches data binding with {@code non_null} inclusion.
+     */
+    @Test
+    void testToBytes_whenNonNullInclusion_shouldMatchDataBinding() throws Exception {
+        UserModelHttpMessageConverter converter = new UserModelHttpMessageConverter(nonNullMapper);
+
+        for (Object model : models()) {
+            assertEquals(nonNullMapper.writeValueAsString(model),
+                    new String(converter.toBytes(model), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Test to verify that null properties are written when the mapper includes them.
+     */
+    @Test
+    void testToBytes_whenDefaultInclusion_shouldWriteNulls() throws Exception {
+        UserModelHttpMessageConverter converter = new UserModelHttpMessageConverter(defaultMapper);
+
+        for (Object model : models()) {
+            assertEquals(defaultMapper.writeValueAsString(model),
+                    new String(converter.toBytes(model), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Test to verify that a body serialized for the log is written to the response without serializing again.
+     */
+    @Test
+    void testWrite_whenBodyWasLogged_shouldReuseBytes() throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        UserModelHttpMessageConverter converter = new UserModelHttpMessageConverter(nonNullMapper);
+        UserResponse body = userResponse();
+        byte[] logged = converter.toResponseBytes(body);
+        body.setMessage("changed after logging");
+
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(body, MediaType.APPLICATION_JSON, outputMessage);
+
+        assertArrayEquals(logged, outputMessage.getBodyAsBytes());
+        assertEquals(logged.length, outputMessage.getHeaders().getContentLength());
+    }
+
+    /**
+     * Test to verify that only the user response models are handled and nothing is read.
+     */
+    @Test
+    void testCanReadAndWrite_shouldOnlyWriteUserModels() {
+        UserModelHttpMessageConverter converter = new UserModelHttpMessageConverter(nonNullMapper);
+
+        assertTrue(converter.canWrite(AllUserResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(String.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(UserView.class, MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Test to verify that a direct read is delegated to the object mapper and reads what the converter writes.
+     */
+    @Test
+    void testRead_shouldDelegateToObjectMapper() throws Exception {
+        UserModelHttpMessageConverter converter = new UserModelHttpMessageConverter(nonNullMapper);
+        UserResponse response = new UserResponse();
+        response.setUser(userView("subi_01", "subi@example.com"));
+        response.setCode(5001);
+
+        Object read = converter.read(UserResponse.class, new MockHttpInputMessage(converter.toBytes(response)));
+
+        assertEquals(nonNullMapper.writeValueAsString(response), nonNullMapper.writeValueAsString(read));
+    }
+
+    private static List<Object> models() {
+        AllUserResponse allUserResponse = new AllUserResponse();
+        allUserResponse.setUsers(List.of(userView("subi_01", "a\"quoted\" <name>"), userView("user_02", null)));
+        allUserResponse.setCode(5004);
+        allUserResponse.setMessage("User details found");
+
+        UserResponse notFound = new UserResponse();
+        notFound.setCode(5003);
+
+        UserView request = userView("subi_01", "subi@example.com");
+        request.setPassword("password_1");
+        allUserResponse.getUsers().get(0).setLastLoginAt(OffsetDateTime.of(2026, 3, 1, 8, 30, 0, 120_000_000, ZoneOffset.UTC));
+        allUserResponse.getUsers().get(0).setLoginCount(42L);
+        allUserResponse.getUsers().get(1).setLastLoginAt(OffsetDateTime.of(2026, 3, 1, 8, 30, 0, 0, ZoneOffset.UTC));
+        allUserResponse.getUsers().get(1).setRegisteredAt(OffsetDateTime.of(2025, 12, 24, 23, 59, 59, 0, ZoneOffset.UTC));
+        allUserResponse.setPage(0);
+        allUserResponse.setSize(100);
+        allUserResponse.setHasMore(false);
+
+        return List.of(userResponse(), notFound, allUserResponse, new AllUserResponse(), request);
+    }
+
+    private static UserResponse userResponse() {
+        UserResponse userResponse = new UserResponse();
+        userResponse.setUser(userView("subi_01", "subi@example.com"));
+        userResponse.setCode(5004);
+        userResponse.setMessage("User details found");
+        return userResponse;
+    }
+
+    private static UserView userView(String username, String emailId) {
+        UserView userView = new UserView();
+        userView.setUsername(username);
+        userView.setRole(UserView.RoleEnum.ADMIN);
+        userView.setEmailId(emailId);
+        userView.setPhoneNumber("9876543210");
+        return userView;
+    }
+}